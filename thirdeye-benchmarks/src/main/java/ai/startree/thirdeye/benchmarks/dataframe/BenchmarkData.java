@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
+import java.util.Random;
+
+/**
+ * Synthetic data generators for the DataFrame benchmarks. Data is deterministic for a given
+ * seed so that results are comparable across runs and branches.
+ */
+public class BenchmarkData {
+
+  public static final String COL_TIME = "timestamp";
+  public static final String COL_VALUE = "value";
+  public static final String COL_DIMENSION = "dimension";
+  public static final String COL_DIMENSION_2 = "dimension2";
+
+  public static final long SEED = 1234567L;
+  public static final long MINUTE_MILLIS = 60_000L;
+  // 2024-01-01T00:00:00Z
+  public static final long START_MILLIS = 1_704_067_200_000L;
+
+  /**
+   * Sorted minute-granularity timestamps starting at {@link #START_MILLIS}.
+   */
+  public static long[] minuteTimestamps(final int rows) {
+    final long[] values = new long[rows];
+    for (int i = 0; i < rows; i++) {
+      values[i] = START_MILLIS + i * MINUTE_MILLIS;
+    }
+    return values;
+  }
+
+  /**
+   * Metric values with a daily seasonality, noise and a fraction of nulls.
+   */
+  public static double[] metricValues(final int rows, final double nullRatio, final long seed) {
+    final Random random = new Random(seed);
+    final double[] values = new double[rows];
+    for (int i = 0; i < rows; i++) {
+      if (random.nextDouble() < nullRatio) {
+        values[i] = DoubleSeries.NULL;
+        continue;
+      }
+      final double daily = Math.sin(2 * Math.PI * (i % 1440) / 1440.0);
+      values[i] = 1000 + 200 * daily + random.nextGaussian() * 25;
+    }
+    return values;
+  }
+
+  /**
+   * Dimension values drawn from {@code cardinality} distinct values. Each row holds its own
+   * String instance, as is the case for values decoded from a datasource response.
+   */
+  public static String[] dimensionValues(final int rows, final int cardinality, final long seed) {
+    final Random random = new Random(seed);
+    final String[] values = new String[rows];
+    for (int i = 0; i < rows; i++) {
+      values[i] = "dimension_value_" + random.nextInt(cardinality);
+    }
+    return values;
+  }
+
+  /**
+   * Returns a permutation of {@code [0, size)}.
+   */
+  public static int[] shuffledIndex(final int size, final long seed) {
+    final Random random = new Random(seed);
+    final int[] index = new int[size];
+    for (int i = 0; i < size; i++) {
+      index[i] = i;
+    }
+    for (int i = size - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final int tmp = index[i];
+      index[i] = index[j];
+      index[j] = tmp;
+    }
+    return index;
+  }
+
+  /**
+   * Minute-granularity time series: {@code timestamp, value}. Indexed by timestamp.
+   */
+  public static DataFrame timeseries(final int rows, final long seed) {
+    return new DataFrame()
+        .addSeries(COL_TIME, LongSeries.buildFrom(minuteTimestamps(rows)))
+        .addSeries(COL_VALUE, DoubleSeries.buildFrom(metricValues(rows, 0.01, seed)))
+        .setIndex(COL_TIME);
+  }
+
+  /**
+   * Minute-granularity time series split by two string dimensions: {@code timestamp, dimension,
+   * dimension2, value}. Rows are ordered by timestamp. Indexed by timestamp.
+   */
+  public static DataFrame dimensionalTimeseries(final int rows, final int cardinality,
+      final long seed) {
+    return new DataFrame()
+        .addSeries(COL_TIME, LongSeries.buildFrom(minuteTimestamps(rows)))
+        .addSeries(COL_DIMENSION, StringSeries.buildFrom(dimensionValues(rows, cardinality, seed)))
+        .addSeries(COL_DIMENSION_2,
+            StringSeries.buildFrom(dimensionValues(rows, Math.max(cardinality / 10, 1), seed + 1)))
+        .addSeries(COL_VALUE, DoubleSeries.buildFrom(metricValues(rows, 0.01, seed)))
+        .setIndex(COL_TIME);
+  }
+}
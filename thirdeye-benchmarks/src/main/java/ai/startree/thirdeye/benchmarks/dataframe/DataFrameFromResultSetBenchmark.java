@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.SEED;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of a JDBC ResultSet into a DataFrame, as performed on every SQL engine query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DataFrameFromResultSetBenchmark {
+
+  @Param({"100000", "1000000", "10000000"})
+  public int rows;
+
+  @Param({"1000"})
+  public int cardinality;
+
+  private long[] timestamps;
+  private String[] dimensions;
+  private double[] values;
+
+  @Setup
+  public void setUp() {
+    timestamps = BenchmarkData.minuteTimestamps(rows);
+    dimensions = BenchmarkData.dimensionValues(rows, cardinality, SEED);
+    values = BenchmarkData.metricValues(rows, 0.01, SEED);
+  }
+
+  @Benchmark
+  public DataFrame fromResultSet() throws SQLException {
+    return DataFrame.fromResultSet(new SyntheticResultSet(timestamps, dimensions, values));
+  }
+}
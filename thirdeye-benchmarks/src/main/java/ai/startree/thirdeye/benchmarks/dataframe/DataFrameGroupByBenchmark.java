@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_DIMENSION;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_DIMENSION_2;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_TIME;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_VALUE;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.SEED;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.Series;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Value groupings as used by breakdowns and contributor computations: group by one or two
+ * string dimensions, or by timestamp, then aggregate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DataFrameGroupByBenchmark {
+
+  @Param({"100000", "1000000", "10000000"})
+  public int rows;
+
+  @Param({"100", "10000"})
+  public int cardinality;
+
+  private DataFrame data;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkData.dimensionalTimeseries(rows, cardinality, SEED);
+  }
+
+  @Benchmark
+  public DataFrame groupByDimensionAggregateExpressions() {
+    return data.groupByValue(COL_DIMENSION)
+        .aggregate(COL_VALUE + ":sum", COL_VALUE + ":mean:mean", COL_VALUE + ":max:max");
+  }
+
+  @Benchmark
+  public DataFrame groupByDimensionAggregateFunction() {
+    return data.groupByValue(COL_DIMENSION).aggregate(new String[]{COL_VALUE},
+        new Series.Function[]{DoubleSeries.SUM});
+  }
+
+  @Benchmark
+  public DataFrame groupByTwoDimensionsAggregate() {
+    return data.groupByValue(COL_DIMENSION, COL_DIMENSION_2).aggregate(COL_VALUE + ":sum");
+  }
+
+  @Benchmark
+  public DataFrame groupByTimestampAggregate() {
+    return data.groupByValue(COL_TIME).aggregate(COL_VALUE + ":sum");
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_DIMENSION;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_TIME;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_VALUE;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.SEED;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Joins as performed for baseline alignment (current vs. baseline timeseries, joined on the
+ * timestamp) and for dimension lookups (breakdown joined against a small table on a string key).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DataFrameJoinBenchmark {
+
+  @Param({"100000", "1000000", "10000000"})
+  public int rows;
+
+  @Param({"1000"})
+  public int cardinality;
+
+  private DataFrame current;
+  private DataFrame baseline;
+  private DataFrame breakdown;
+  private DataFrame breakdownBaseline;
+  private DataFrame lookup;
+
+  @Setup
+  public void setUp() {
+    current = BenchmarkData.timeseries(rows, SEED);
+    // baseline overlaps the second half of the current series
+    baseline = BenchmarkData.timeseries(rows, SEED + 1).sliceFrom(rows / 2);
+
+    breakdown = BenchmarkData.dimensionalTimeseries(rows, cardinality, SEED);
+    breakdownBaseline = new DataFrame(breakdown)
+        .renameSeries(COL_VALUE, "baseline")
+        .dropSeries(BenchmarkData.COL_DIMENSION_2);
+    final String[] keys = new String[cardinality];
+    final double[] weights = new double[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      keys[i] = "dimension_value_" + i;
+      weights[i] = i;
+    }
+    lookup = new DataFrame()
+        .addSeries(COL_DIMENSION, StringSeries.buildFrom(keys))
+        .addSeries("weight", DoubleSeries.buildFrom(weights));
+  }
+
+  @Benchmark
+  public DataFrame joinInnerOnTimestamp() {
+    return current.joinInner(baseline, COL_TIME);
+  }
+
+  @Benchmark
+  public DataFrame joinLeftOnTimestamp() {
+    return current.joinLeft(baseline, COL_TIME);
+  }
+
+  @Benchmark
+  public DataFrame joinOuterOnTimestamp() {
+    return current.joinOuter(baseline, COL_TIME);
+  }
+
+  @Benchmark
+  public DataFrame joinLeftOnDimension() {
+    return breakdown.joinLeft(lookup, COL_DIMENSION);
+  }
+
+  @Benchmark
+  public DataFrame joinInnerOnTimestampAndDimension() {
+    return breakdown.joinInner(breakdownBaseline, COL_TIME, COL_DIMENSION);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_DIMENSION;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_TIME;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.SEED;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting of shuffled timeseries (typical for datasource responses without ORDER BY) and of
+ * dimensional breakdowns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DataFrameSortBenchmark {
+
+  @Param({"100000", "1000000", "10000000"})
+  public int rows;
+
+  @Param({"1000"})
+  public int cardinality;
+
+  private DataFrame shuffled;
+  private DataFrame sorted;
+
+  @Setup
+  public void setUp() {
+    sorted = BenchmarkData.dimensionalTimeseries(rows, cardinality, SEED);
+    shuffled = sorted.project(BenchmarkData.shuffledIndex(rows, SEED));
+  }
+
+  @Benchmark
+  public DataFrame sortByTimestamp() {
+    return shuffled.sortedBy(COL_TIME);
+  }
+
+  @Benchmark
+  public DataFrame sortByTimestampAlreadySorted() {
+    return sorted.sortedBy(COL_TIME);
+  }
+
+  @Benchmark
+  public DataFrame sortByDimension() {
+    return shuffled.sortedBy(COL_DIMENSION);
+  }
+
+  @Benchmark
+  public DataFrame sortByDimensionAndTimestamp() {
+    return shuffled.sortedBy(COL_DIMENSION, COL_TIME);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.SEED;
+
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.Series;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Row-wise evaluation of DoubleSeries with user functions and built-in operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DoubleSeriesMapBenchmark {
+
+  @Param({"100000", "1000000", "10000000"})
+  public int rows;
+
+  private DoubleSeries current;
+  private DoubleSeries baseline;
+
+  @Setup
+  public void setUp() {
+    current = DoubleSeries.buildFrom(BenchmarkData.metricValues(rows, 0.01, SEED));
+    baseline = DoubleSeries.buildFrom(BenchmarkData.metricValues(rows, 0.01, SEED + 1));
+  }
+
+  @Benchmark
+  public DoubleSeries mapUnary() {
+    return current.map((Series.DoubleFunction) values -> values[0] * 2 + 1);
+  }
+
+  @Benchmark
+  public DoubleSeries mapBinary() {
+    return DoubleSeries.map((Series.DoubleFunction) values -> values[0] - values[1], current,
+        baseline);
+  }
+
+  @Benchmark
+  public DoubleSeries operationAddConstant() {
+    return current.add(1.0d);
+  }
+
+  @Benchmark
+  public DoubleSeries operationSubtractSeries() {
+    return current.subtract(baseline);
+  }
+}
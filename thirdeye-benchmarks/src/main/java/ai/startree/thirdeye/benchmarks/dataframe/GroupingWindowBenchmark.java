@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.COL_VALUE;
+import static ai.startree.thirdeye.benchmarks.dataframe.BenchmarkData.SEED;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.Series;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moving and expanding window aggregations over minute-granularity series, as used for
+ * smoothing by detectors and index fillers. Window sizes are one hour and one day of minutes.
+ *
+ * <br/><b>NOTE:</b> window aggregations other than SUM cost O(rows * window) when no streaming
+ * implementation exists. The default row counts are kept lower than for the other suites so that
+ * a full run stays practical; pass {@code -p rows=10000000} to measure larger series.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GroupingWindowBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int rows;
+
+  @Param({"60", "1440"})
+  public int window;
+
+  private DataFrame data;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkData.timeseries(rows, SEED);
+  }
+
+  @Benchmark
+  public DataFrame movingWindowSum() {
+    return data.groupByMovingWindow(window).aggregate(COL_VALUE + ":sum");
+  }
+
+  @Benchmark
+  public DataFrame movingWindowMean() {
+    return data.groupByMovingWindow(window).aggregate(COL_VALUE + ":mean");
+  }
+
+  @Benchmark
+  public DataFrame movingWindowStd() {
+    return data.groupByMovingWindow(window).aggregate(COL_VALUE + ":std");
+  }
+
+  @Benchmark
+  public DataFrame movingWindowMinMax() {
+    return data.groupByMovingWindow(window)
+        .aggregate(COL_VALUE + ":min:min", COL_VALUE + ":max:max");
+  }
+
+  @Benchmark
+  public DataFrame movingWindowMedian() {
+    return data.groupByMovingWindow(window).aggregate(COL_VALUE + ":median");
+  }
+
+  @Benchmark
+  public DataFrame movingWindowQuantileFunction() {
+    return data.groupByMovingWindow(window)
+        .aggregate(new String[]{COL_VALUE},
+            new Series.Function[]{new DoubleSeries.DoubleQuantile(0.9)});
+  }
+
+  @Benchmark
+  public DataFrame expandingWindowMean() {
+    return data.groupByExpandingWindow().aggregate(COL_VALUE + ":mean");
+  }
+}
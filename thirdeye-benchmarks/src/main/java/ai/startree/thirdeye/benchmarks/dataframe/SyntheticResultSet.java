@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.benchmarks.dataframe;
+
+import ai.startree.thirdeye.spi.dataframe.AbstractTestResultSet;
+import ai.startree.thirdeye.spi.dataframe.AbstractTestResultSetMetaData;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * In-memory ResultSet over pre-generated columns {@code timestamp BIGINT, dimension VARCHAR,
+ * value DOUBLE}. Mimics a JDBC driver: values are returned through the typed getters and nulls
+ * are reported through {@link #wasNull()}.
+ */
+public class SyntheticResultSet extends AbstractTestResultSet {
+
+  private static final String[] LABELS = {"TIMESTAMP", "DIMENSION", "VALUE"};
+  private static final int[] TYPES = {Types.BIGINT, Types.VARCHAR, Types.DOUBLE};
+
+  private final long[] timestamps;
+  private final String[] dimensions;
+  private final double[] values;
+
+  private int cursor = -1;
+  private boolean wasNull;
+
+  public SyntheticResultSet(final long[] timestamps, final String[] dimensions,
+      final double[] values) {
+    this.timestamps = timestamps;
+    this.dimensions = dimensions;
+    this.values = values;
+  }
+
+  @Override
+  public boolean next() {
+    return ++cursor < timestamps.length;
+  }
+
+  @Override
+  public boolean wasNull() {
+    return wasNull;
+  }
+
+  @Override
+  public long getLong(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex, 1);
+    wasNull = false;
+    return timestamps[cursor];
+  }
+
+  @Override
+  public String getString(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex, 2);
+    final String value = dimensions[cursor];
+    wasNull = value == null;
+    return value;
+  }
+
+  @Override
+  public double getDouble(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex, 3);
+    final double value = values[cursor];
+    wasNull = Double.isNaN(value);
+    return wasNull ? 0 : value;
+  }
+
+  @Override
+  public boolean getBoolean(final int columnIndex) throws SQLException {
+    throw new SQLException("No boolean column");
+  }
+
+  @Override
+  public Object getObject(final int columnIndex) throws SQLException {
+    switch (columnIndex) {
+      case 1:
+        return getLong(columnIndex);
+      case 2:
+        return getString(columnIndex);
+      case 3:
+        final double value = getDouble(columnIndex);
+        return wasNull ? null : value;
+      default:
+        throw new SQLException("Unknown column " + columnIndex);
+    }
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() {
+    return new AbstractTestResultSetMetaData() {
+      @Override
+      public int getColumnCount() {
+        return LABELS.length;
+      }
+
+      @Override
+      public String getColumnLabel(final int column) {
+        return LABELS[column - 1];
+      }
+
+      @Override
+      public String getColumnName(final int column) {
+        return LABELS[column - 1];
+      }
+
+      @Override
+      public int getColumnType(final int column) {
+        return TYPES[column - 1];
+      }
+    };
+  }
+
+  private static void checkColumn(final int columnIndex, final int expected) throws SQLException {
+    if (columnIndex != expected) {
+      throw new SQLException(String.format("Column %d is not of the requested type",
+          columnIndex));
+    }
+  }
+}
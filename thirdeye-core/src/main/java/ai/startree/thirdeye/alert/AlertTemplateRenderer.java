@@ -27,13 +27,19 @@ import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
 import ai.startree.thirdeye.spi.template.TemplatePropertyMetadata;
-import ai.startree.thirdeye.util.StringTemplateUtils;
+import ai.startree.thirdeye.util.TemplateRenderPlan;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.joda.time.Interval;
@@ -41,8 +47,15 @@ import org.joda.time.Interval;
 @Singleton
 public class AlertTemplateRenderer {
 
+  private static final int MAX_CACHED_RENDER_PLANS = 1024;
+
   private final AlertManager alertManager;
   private final AlertTemplateManager alertTemplateManager;
+  private final Cache<List<Object>, TemplateRenderPlan<AlertTemplateDTO>> renderPlans =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_RENDER_PLANS)
+          .recordStats()
+          .build();
 
   @Inject
   public AlertTemplateRenderer(
@@ -181,16 +194,35 @@ public class AlertTemplateRenderer {
 
     properties.put("startTime", detectionInterval.getStartMillis());
     properties.put("endTime", detectionInterval.getEndMillis());
+
+    final AlertTemplateDTO renderedTemplate = renderPlan(template).render(properties);
     // add source metadata to each node
-    if (template.getNodes() != null) {
-      template.getNodes().stream()
+    if (renderedTemplate.getNodes() != null) {
+      renderedTemplate.getNodes().stream()
           // TODO spyne remove magic string. This was done to remove dependency of AnomalyDetector.TYPE on the renderer
-          .filter(node -> node.getType().equals("AnomalyDetector"))
+          .filter(node -> "AnomalyDetector".equals(node.getType()))
           .forEach(node -> node.getParams()
               .putValue("anomaly.source", String.format("%s/%s", alertName, node.getName())));
     }
+    return renderedTemplate;
+  }
+
+  private TemplateRenderPlan<AlertTemplateDTO> renderPlan(final AlertTemplateDTO template) {
+    if (template.getId() == null) {
+      return TemplateRenderPlan.compile(template);
+    }
+    // a persisted template is compiled once per update
+    final List<Object> key = Arrays.asList(template.getId(), template.getUpdateTime());
+    try {
+      return renderPlans.get(key, () -> TemplateRenderPlan.compile(template));
+    } catch (final ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
 
-    return StringTemplateUtils.applyContext(template, properties);
+  @VisibleForTesting
+  CacheStats renderPlanStats() {
+    return renderPlans.stats();
   }
 
   private @NonNull Map<String, Object> defaultProperties(
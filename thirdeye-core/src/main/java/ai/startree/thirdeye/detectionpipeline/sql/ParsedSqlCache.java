@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.sql;
+
+import static ai.startree.thirdeye.util.CalciteUtils.queryToNode;
+
+import ai.startree.thirdeye.spi.datasource.macro.SqlLanguage;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParser;
+
+/**
+ * Process-wide cache of parsed and rewritten SQL queries.
+ *
+ * Alerts run the same templated query on every run, so parsing is done once per query text and
+ * SqlLanguage. Cached SqlNode trees are shared between threads: they must not be mutated. Use a
+ * SqlShuttle that copies the nodes it changes.
+ */
+public class ParsedSqlCache {
+
+  private static final int MAX_CACHED_QUERIES = 4096;
+
+  private static final Cache<SqlLanguage, TranslatedSqlLanguage> TRANSLATED_LANGUAGES =
+      CacheBuilder.newBuilder()
+          // SqlLanguage instances are owned by the datasources
+          .weakKeys()
+          .build();
+
+  private static final Cache<List<Object>, SqlNode> PARSED_QUERIES = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_QUERIES)
+      .build();
+
+  private static final Cache<List<Object>, String> REWRITTEN_QUERIES = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_QUERIES)
+      .build();
+
+  public static SqlParser.Config parserConfig(final SqlLanguage sqlLanguage) {
+    return translated(sqlLanguage).parserConfig;
+  }
+
+  public static SqlDialect dialect(final SqlLanguage sqlLanguage) {
+    return translated(sqlLanguage).dialect;
+  }
+
+  private static TranslatedSqlLanguage translated(final SqlLanguage sqlLanguage) {
+    return get(TRANSLATED_LANGUAGES, sqlLanguage, () -> new TranslatedSqlLanguage(
+        SqlLanguageTranslator.translate(sqlLanguage.getSqlParserConfig()),
+        SqlLanguageTranslator.translate(sqlLanguage.getSqlDialect())));
+  }
+
+  /**
+   * Returns the parsed query. The returned tree is shared and must not be mutated.
+   */
+  public static SqlNode parseQuery(final SqlLanguage sqlLanguage, final String query) {
+    return get(PARSED_QUERIES,
+        List.of(sqlLanguage, query),
+        () -> queryToNode(query, parserConfig(sqlLanguage)));
+  }
+
+  /**
+   * Returns the query rewritten by the rewriter. The rewriter is only called the first time a
+   * query is rewritten with a given context.
+   *
+   * @param context the text representation of everything the rewriter depends on, apart from
+   *     the query and the language.
+   */
+  public static String rewriteQuery(final SqlLanguage sqlLanguage, final String query,
+      final String context, final Callable<String> rewriter) {
+    return get(REWRITTEN_QUERIES, List.of(sqlLanguage, query, context), rewriter);
+  }
+
+  private static <K, V> V get(final Cache<K, V> cache, final K key,
+      final Callable<V> loader) {
+    try {
+      return cache.get(key, loader);
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      // propagate the original exception - eg ThirdEyeException for invalid SQL
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static class TranslatedSqlLanguage {
+
+    private final SqlParser.Config parserConfig;
+    private final SqlDialect dialect;
+
+    private TranslatedSqlLanguage(final SqlParser.Config parserConfig, final SqlDialect dialect) {
+      this.parserConfig = parserConfig;
+      this.dialect = dialect;
+    }
+  }
+}
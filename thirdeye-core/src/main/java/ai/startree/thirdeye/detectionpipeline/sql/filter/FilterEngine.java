@@ -19,7 +19,7 @@ import static ai.startree.thirdeye.util.CalciteUtils.queryToNode;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import ai.startree.thirdeye.datasource.query.QueryPredicate;
-import ai.startree.thirdeye.detectionpipeline.sql.SqlLanguageTranslator;
+import ai.startree.thirdeye.detectionpipeline.sql.ParsedSqlCache;
 import ai.startree.thirdeye.spi.datalayer.Predicate.OPER;
 import ai.startree.thirdeye.spi.datasource.macro.SqlLanguage;
 import java.util.List;
@@ -47,6 +47,7 @@ public class FilterEngine {
   private static final List<OPER> SUPPORTED_FILTER_OPERATIONS = List.of(OPER.EQ, OPER.NEQ, OPER.IN);
   public static final boolean QUOTE_IDENTIFIERS = true;
 
+  private final SqlLanguage sqlLanguage;
   private final SqlParser.Config sqlParserConfig;
   private final SqlDialect sqlDialect;
   private final String query;
@@ -54,18 +55,25 @@ public class FilterEngine {
 
   public FilterEngine(final SqlLanguage sqlLanguage, final String query,
       List<QueryPredicate> filters) {
-    this.sqlParserConfig = SqlLanguageTranslator.translate(sqlLanguage.getSqlParserConfig());
-    this.sqlDialect = SqlLanguageTranslator.translate(sqlLanguage.getSqlDialect());
+    this.sqlLanguage = sqlLanguage;
+    this.sqlParserConfig = ParsedSqlCache.parserConfig(sqlLanguage);
+    this.sqlDialect = ParsedSqlCache.dialect(sqlLanguage);
     this.query = query;
     this.filters = filters;
   }
 
   public String prepareQuery() {
-    final SqlNode rootNode = queryToNode(query, sqlParserConfig);
-    final SqlNode rootNodeWithFilters = rootNode.accept(new FilterVisitor());
-    final String preparedQuery = nodeToQuery(rootNodeWithFilters, sqlDialect, QUOTE_IDENTIFIERS);
-
-    return preparedQuery;
+    final List<SqlNode> predicates = getCalcitePredicates();
+    // the injection only depends on the query and the predicates - cache the rewritten query
+    final String predicatesContext = predicates.stream()
+        .map(p -> nodeToQuery(p, sqlDialect, QUOTE_IDENTIFIERS))
+        .collect(Collectors.joining(" AND "));
+    return ParsedSqlCache.rewriteQuery(sqlLanguage, query, predicatesContext, () -> {
+      // the FilterVisitor mutates the tree - parse a new one
+      final SqlNode rootNode = queryToNode(query, sqlParserConfig);
+      final SqlNode rootNodeWithFilters = rootNode.accept(new FilterVisitor(predicates));
+      return nodeToQuery(rootNodeWithFilters, sqlDialect, QUOTE_IDENTIFIERS);
+    });
   }
 
   private List<SqlNode> getCalcitePredicates() {
@@ -75,7 +83,13 @@ public class FilterEngine {
         .map(QueryPredicate::toSqlNode).collect(Collectors.toList());
   }
 
-  private class FilterVisitor extends SqlShuttle {
+  private static class FilterVisitor extends SqlShuttle {
+
+    private final List<SqlNode> predicates;
+
+    private FilterVisitor(final List<SqlNode> predicates) {
+      this.predicates = predicates;
+    }
 
     @Override
     public SqlNode visit(SqlCall call) {
@@ -116,8 +130,7 @@ public class FilterEngine {
       }
 
       SqlNode whereNode = Objects.requireNonNull(selectNode.getWhere());
-      List<SqlNode> newPredicates = getCalcitePredicates();
-      SqlNode whereNodeWithPredicates = addPredicates(whereNode, newPredicates);
+      SqlNode whereNodeWithPredicates = addPredicates(whereNode, predicates);
       selectNode.setWhere(whereNodeWithPredicates);
 
       return call;
@@ -17,9 +17,8 @@ import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.QUERY;
 import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static ai.startree.thirdeye.util.CalciteUtils.expressionToNode;
 import static ai.startree.thirdeye.util.CalciteUtils.nodeToQuery;
-import static ai.startree.thirdeye.util.CalciteUtils.queryToNode;
 
-import ai.startree.thirdeye.detectionpipeline.sql.SqlLanguageTranslator;
+import ai.startree.thirdeye.detectionpipeline.sql.ParsedSqlCache;
 import ai.startree.thirdeye.detectionpipeline.sql.macro.function.TimeFilterFunction;
 import ai.startree.thirdeye.detectionpipeline.sql.macro.function.TimeGroupFunction;
 import ai.startree.thirdeye.detectionpipeline.sql.macro.function.TimeGroupKeyFunction;
@@ -55,6 +54,7 @@ public class MacroEngine {
   );
   public static final boolean QUOTE_IDENTIFIERS = false;
 
+  private final SqlLanguage sqlLanguage;
   private final SqlParser.Config sqlParserConfig;
   private final SqlDialect sqlDialect;
   private final String tableName;
@@ -66,8 +66,9 @@ public class MacroEngine {
   public MacroEngine(final SqlLanguage sqlLanguage, final SqlExpressionBuilder sqlExpressionBuilder,
       final Interval detectionInterval,
       @Nullable final DatasetConfigDTO datasetConfigDTO, String query) {
-    this.sqlParserConfig = SqlLanguageTranslator.translate(sqlLanguage.getSqlParserConfig());
-    this.sqlDialect = SqlLanguageTranslator.translate(sqlLanguage.getSqlDialect());
+    this.sqlLanguage = sqlLanguage;
+    this.sqlParserConfig = ParsedSqlCache.parserConfig(sqlLanguage);
+    this.sqlDialect = ParsedSqlCache.dialect(sqlLanguage);
     this.tableName = optional(datasetConfigDTO).map(DatasetConfigDTO::getDataset).orElse(null);
     this.query = query;
     this.properties = new HashMap<>();
@@ -85,7 +86,8 @@ public class MacroEngine {
   }
 
   public DataSourceRequest prepareRequest() {
-    final SqlNode rootNode = queryToNode(query, sqlParserConfig);
+    // the parsed query is shared - the MacroVisitor copies the nodes it changes
+    final SqlNode rootNode = ParsedSqlCache.parseQuery(sqlLanguage, query);
     final SqlNode appliedMacrosNode = applyMacros(rootNode);
     final String preparedQuery = nodeToQuery(appliedMacrosNode, sqlDialect, QUOTE_IDENTIFIERS);
 
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.util;
+
+import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_TEMPLATE_MISSING_PROPERTY;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import ai.startree.thirdeye.spi.ThirdEyeException;
+import ai.startree.thirdeye.spi.datalayer.Templatable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.apache.commons.text.StringSubstitutor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A template compiled for rendering.
+ *
+ * The template is serialized once to a json tree, and the locations of the properties are
+ * recorded: String values containing a variable and {@link Templatable} fields with a templated
+ * value. Rendering only copies the containers on the path of these locations, applies the
+ * properties and deserializes the tree. A plan is immutable and can be rendered concurrently.
+ *
+ * Do not use for API or persistence.
+ */
+public class TemplateRenderPlan<T> {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String VARIABLE_PREFIX = "${";
+
+  private final Class<T> templateClass;
+  private final JsonNode tree;
+  private final List<Placeholder> placeholders;
+
+  private TemplateRenderPlan(final Class<T> templateClass, final JsonNode tree,
+      final List<Placeholder> placeholders) {
+    this.templateClass = templateClass;
+    this.tree = tree;
+    this.placeholders = placeholders;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> TemplateRenderPlan<T> compile(final T template) {
+    final JsonNode tree = OBJECT_MAPPER.valueToTree(template);
+    final List<Placeholder> placeholders = new ArrayList<>();
+    collectPlaceholders(tree, new ArrayList<>(), placeholders);
+    return new TemplateRenderPlan<>((Class<T>) template.getClass(), tree, placeholders);
+  }
+
+  /**
+   * Returns a new object with the properties applied. Throws if a property is missing.
+   */
+  public T render(final Map<String, Object> valuesMap) throws JsonProcessingException {
+    final Renderer renderer = new Renderer(valuesMap);
+    JsonNode rendered = tree;
+    final IdentityHashMap<JsonNode, JsonNode> copies = new IdentityHashMap<>();
+    try {
+      for (final Placeholder placeholder : placeholders) {
+        final JsonNode replacement = renderer.render(placeholder.node);
+        rendered = replace(tree, placeholder.path, 0, replacement, copies);
+      }
+    } catch (final ThirdEyeException | IllegalArgumentException e) {
+      throw new JsonMappingException(null, e.getMessage(), e);
+    }
+    return OBJECT_MAPPER.treeToValue(rendered, templateClass);
+  }
+
+  /**
+   * Replaces the node at the given path. Containers on the path are copied once per render,
+   * other nodes are shared with the compiled tree.
+   */
+  private static JsonNode replace(final JsonNode compiledNode, final List<Object> path,
+      final int depth, final JsonNode replacement,
+      final IdentityHashMap<JsonNode, JsonNode> copies) {
+    if (depth == path.size()) {
+      return replacement;
+    }
+    final JsonNode copy = copies.computeIfAbsent(compiledNode, TemplateRenderPlan::shallowCopy);
+    final Object step = path.get(depth);
+    if (step instanceof Integer) {
+      final int index = (Integer) step;
+      final ArrayNode array = (ArrayNode) copy;
+      array.set(index, replace(compiledNode.get(index), path, depth + 1, replacement, copies));
+    } else {
+      final String field = (String) step;
+      final ObjectNode object = (ObjectNode) copy;
+      object.set(field, replace(compiledNode.get(field), path, depth + 1, replacement, copies));
+    }
+    return copy;
+  }
+
+  private static JsonNode shallowCopy(final JsonNode node) {
+    if (node.isArray()) {
+      final ArrayNode copy = JsonNodeFactory.instance.arrayNode(node.size());
+      node.forEach(copy::add);
+      return copy;
+    }
+    final ObjectNode copy = JsonNodeFactory.instance.objectNode();
+    copy.setAll((ObjectNode) node);
+    return copy;
+  }
+
+  private static void collectPlaceholders(final JsonNode node, final List<Object> path,
+      final List<Placeholder> placeholders) {
+    if (isPlaceholder(node)) {
+      placeholders.add(new Placeholder(List.copyOf(path), node));
+    } else if (node.isObject()) {
+      final Iterator<Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        final Entry<String, JsonNode> field = fields.next();
+        path.add(field.getKey());
+        collectPlaceholders(field.getValue(), path, placeholders);
+        path.remove(path.size() - 1);
+      }
+    } else if (node.isArray()) {
+      for (int i = 0; i < node.size(); i++) {
+        path.add(i);
+        collectPlaceholders(node.get(i), path, placeholders);
+        path.remove(path.size() - 1);
+      }
+    }
+  }
+
+  private static boolean isPlaceholder(final JsonNode node) {
+    return (node.isTextual() && node.textValue().contains(VARIABLE_PREFIX))
+        || templatedValue(node) != null;
+  }
+
+  private static @Nullable String templatedValue(final JsonNode node) {
+    if (!node.isObject()) {
+      return null;
+    }
+    final JsonNode templatedValue = node.get("templatedValue");
+    return templatedValue != null && templatedValue.isTextual() ? templatedValue.textValue() : null;
+  }
+
+  private static class Placeholder {
+
+    private final List<Object> path;
+    private final JsonNode node;
+
+    private Placeholder(final List<Object> path, final JsonNode node) {
+      this.path = path;
+      this.node = node;
+    }
+  }
+
+  private static class Renderer {
+
+    private final Map<String, Object> valuesMap;
+    private final StringSubstitutor sub;
+
+    private Renderer(final Map<String, Object> valuesMap) {
+      this.valuesMap = valuesMap;
+      this.sub = new StringSubstitutor(valuesMap).setDisableSubstitutionInValues(true)
+          .setEnableUndefinedVariableException(true);
+    }
+
+    private JsonNode render(final JsonNode placeholder) {
+      final String templatedValue = templatedValue(placeholder);
+      if (templatedValue == null) {
+        return TextNode.valueOf(renderString(placeholder.textValue()));
+      }
+      final String property = templatedValue.substring(2, templatedValue.length() - 1);
+      checkArgument(valuesMap.containsKey(property),
+          "Property not provided for templatable value: %s",
+          property);
+      final @Nullable Object value = valuesMap.get(property);
+      final ObjectNode templatable = JsonNodeFactory.instance.objectNode();
+      if (value != null) {
+        // properties are applied on the value too
+        templatable.set(Templatable.VALUE_FIELD_STRING,
+            renderTree(OBJECT_MAPPER.valueToTree(value)));
+      }
+      return templatable;
+    }
+
+    private JsonNode renderTree(final JsonNode node) {
+      if (isPlaceholder(node)) {
+        return render(node);
+      }
+      if (node.isObject()) {
+        final ObjectNode object = (ObjectNode) node;
+        final Iterator<Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+          final Entry<String, JsonNode> field = fields.next();
+          field.setValue(renderTree(field.getValue()));
+        }
+      } else if (node.isArray()) {
+        final ArrayNode array = (ArrayNode) node;
+        for (int i = 0; i < array.size(); i++) {
+          array.set(i, renderTree(array.get(i)));
+        }
+      }
+      return node;
+    }
+
+    private String renderString(final String stringField) {
+      try {
+        return sub.replace(stringField);
+      } catch (final IllegalArgumentException e) {
+        throw new ThirdEyeException(ERR_TEMPLATE_MISSING_PROPERTY, e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertTemplateManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import org.joda.time.Interval;
+import org.testng.annotations.Test;
+
+public class AlertTemplateRendererTest {
+
+  private static final long TEMPLATE_ID = 12L;
+  private static final Interval DETECTION_INTERVAL = new Interval(1L, 2L);
+
+  private static AlertTemplateDTO persistedTemplate(final String dataset, final long updateTime) {
+    final PlanNodeBean node = new PlanNodeBean()
+        .setName("anomalyDetector")
+        .setType("AnomalyDetector")
+        .setParams(TemplatableMap.fromValueMap(Map.of("dataset", dataset, "start", "${startTime}")));
+    final AlertTemplateDTO template = new AlertTemplateDTO().setNodes(List.of(node));
+    template.setId(TEMPLATE_ID);
+    template.setUpdateTime(new Timestamp(updateTime));
+    return template;
+  }
+
+  private static AlertDTO alert(final String name, final String dataset) {
+    final AlertDTO alert = new AlertDTO()
+        .setTemplate((AlertTemplateDTO) new AlertTemplateDTO().setId(TEMPLATE_ID))
+        .setTemplateProperties(Map.of("dataset", dataset));
+    alert.setName(name);
+    return alert;
+  }
+
+  private static Map<String, Object> renderedParams(final AlertTemplateDTO rendered) {
+    return rendered.getNodes().get(0).getParams().valueMap();
+  }
+
+  @Test
+  public void testRenderAlertReusesPlanOfPersistedTemplate() throws Exception {
+    final AlertTemplateManager alertTemplateManager = mock(AlertTemplateManager.class);
+    when(alertTemplateManager.findById(TEMPLATE_ID))
+        .thenReturn(persistedTemplate("${dataset}", 1L));
+    final AlertTemplateRenderer renderer = new AlertTemplateRenderer(mock(AlertManager.class),
+        alertTemplateManager);
+
+    final AlertTemplateDTO rendered1 = renderer.renderAlert(alert("alert1", "d1"),
+        DETECTION_INTERVAL);
+    final AlertTemplateDTO rendered2 = renderer.renderAlert(alert("alert2", "d2"),
+        DETECTION_INTERVAL);
+
+    assertThat(renderedParams(rendered1)).isEqualTo(Map.of("dataset", "d1",
+        "start", "1",
+        "anomaly.source", "alert1/anomalyDetector"));
+    assertThat(renderedParams(rendered2)).isEqualTo(Map.of("dataset", "d2",
+        "start", "1",
+        "anomaly.source", "alert2/anomalyDetector"));
+    // the template is read for each render but compiled only once
+    verify(alertTemplateManager, times(2)).findById(TEMPLATE_ID);
+    assertThat(renderer.renderPlanStats().missCount()).isEqualTo(1);
+    assertThat(renderer.renderPlanStats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRenderAlertRecompilesUpdatedTemplate() throws Exception {
+    final AlertTemplateManager alertTemplateManager = mock(AlertTemplateManager.class);
+    when(alertTemplateManager.findById(TEMPLATE_ID))
+        .thenReturn(persistedTemplate("${dataset}", 1L))
+        .thenReturn(persistedTemplate("constant", 2L));
+    final AlertTemplateRenderer renderer = new AlertTemplateRenderer(mock(AlertManager.class),
+        alertTemplateManager);
+
+    renderer.renderAlert(alert("alert1", "d1"), DETECTION_INTERVAL);
+    final AlertTemplateDTO rendered = renderer.renderAlert(alert("alert1", "d1"),
+        DETECTION_INTERVAL);
+
+    assertThat(renderedParams(rendered).get("dataset")).isEqualTo("constant");
+  }
+}
@@ -186,7 +186,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
     @Override
     public Builder addSeries(Collection<Series> series) {
       for (Series s : series) {
-        this.addValues(s.getBooleans().values);
+        this.addValues(s.getBooleans().values());
       }
       return this;
     }
@@ -252,10 +252,25 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
   }
 
   // CAUTION: The array is final, but values are inherently modifiable
+  // NOTE: the array may be shared with other series, see slice(int, int)
   private final byte[] values;
+  private final int offset;
+  private final int size;
+  // true if the array is shared with the series this one was sliced from
+  private final boolean view;
+
+  // lazily compacted values of a view
+  private volatile byte[] compacted;
 
   private BooleanSeries(byte... values) {
+    this(values, 0, values.length, false);
+  }
+
+  private BooleanSeries(byte[] values, int offset, int size, boolean view) {
     this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.view = view;
   }
 
   @Override
@@ -270,7 +285,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public double getDouble(int index) {
-    return getDouble(this.values[index]);
+    return getDouble(this.values[this.offset + index]);
   }
 
   public static double getDouble(byte value) {
@@ -282,7 +297,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public long getLong(int index) {
-    return getLong(this.values[index]);
+    return getLong(this.values[this.offset + index]);
   }
 
   public static long getLong(byte value) {
@@ -294,7 +309,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public byte getBoolean(int index) {
-    return getBoolean(this.values[index]);
+    return getBoolean(this.values[this.offset + index]);
   }
 
   public static byte getBoolean(byte value) {
@@ -303,7 +318,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public String getString(int index) {
-    return getString(this.values[index]);
+    return getString(this.values[this.offset + index]);
   }
 
   public static String getString(byte value) {
@@ -315,7 +330,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public Object getObject(int index) {
-    return getObject(this.values[index]);
+    return getObject(this.values[this.offset + index]);
   }
 
   public static Object getObject(byte value) {
@@ -326,17 +341,17 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
   }
 
   public byte get(int index) {
-    return this.values[index];
+    return this.values[this.offset + index];
   }
 
   @Override
   public boolean isNull(int index) {
-    return isNull(this.values[index]);
+    return isNull(this.values[this.offset + index]);
   }
 
   @Override
   public int size() {
-    return this.values.length;
+    return this.size;
   }
 
   @Override
@@ -344,14 +359,36 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
     return SeriesType.BOOLEAN;
   }
 
+  /**
+   * Returns the series values as array. If the series is a view sharing the array of the series
+   * it was sliced from, the values are copied into a new array once on first access: the shared
+   * array is never returned, even for a full-range slice.
+   *
+   * <br/><b>NOTE:</b> the array must not be modified if the series is a view.
+   *
+   * @return series values
+   * @see BooleanSeries#slice(int, int)
+   */
   public byte[] values() {
-    return this.values;
+    if (!this.isView()) {
+      return this.values;
+    }
+    byte[] compacted = this.compacted;
+    if (compacted == null) {
+      compacted = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+      this.compacted = compacted;
+    }
+    return compacted;
+  }
+
+  boolean isView() {
+    return this.view;
   }
 
   public boolean[] valuesBoolean() {
-    boolean[] values = new boolean[this.values.length];
+    boolean[] values = new boolean[this.size];
     int i = 0;
-    for (byte v : this.values) {
+    for (byte v : this.values()) {
       if (!isNull(v)) {
         values[i++] = isTrue(v);
       }
@@ -363,14 +400,14 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
     if (this.size() != 1) {
       throw new IllegalStateException("Series must contain exactly one element");
     }
-    return this.values[0];
+    return this.values[this.offset];
   }
 
   public boolean valueBoolean() {
     if (this.size() != 1) {
       throw new IllegalStateException("Series must contain exactly one element");
     }
-    return isTrue(this.values[0]);
+    return isTrue(this.values[this.offset]);
   }
 
   /**
@@ -379,10 +416,10 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
    * @return list of series elements
    */
   public List<Boolean> toList() {
-    Boolean[] values = new Boolean[this.values.length];
-    for (int i = 0; i < this.values.length; i++) {
+    Boolean[] values = new Boolean[this.size];
+    for (int i = 0; i < this.size; i++) {
       if (!this.isNull(i)) {
-        values[i] = booleanValueOf(this.values[i]);
+        values[i] = booleanValueOf(this.values[this.offset + i]);
       }
     }
     return Arrays.asList(values);
@@ -420,7 +457,26 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
   public BooleanSeries slice(int from, int to) {
     from = Math.max(Math.min(this.size(), from), 0);
     to = Math.max(Math.min(this.size(), to), 0);
-    return buildFrom(Arrays.copyOfRange(this.values, from, to));
+    if (from > to) {
+      throw new IllegalArgumentException(String.format("from (%d) must be <= to (%d)", from, to));
+    }
+    if ((long) (to - from) * SLICE_COPY_FRACTION < this.values.length) {
+      // copy small slices so that they do not retain the whole array
+      return buildFrom(Arrays.copyOfRange(this.values, this.offset + from, this.offset + to));
+    }
+    // NOTE: zero-copy view on the same array
+    return new BooleanSeries(this.values, this.offset + from, to - from, true);
+  }
+
+  /**
+   * Returns a copy of the series backed by a new array. Unlike {@code slice()}, the copy does
+   * not share its values with this series and may be modified safely.
+   *
+   * @return series copy
+   */
+  @Override
+  public BooleanSeries copy() {
+    return buildFrom(Arrays.copyOfRange(this.values, this.offset, this.offset + this.size));
   }
 
   public boolean allTrue() {
@@ -595,8 +651,8 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
     }
     assertSameLength(this, mask, other);
 
-    byte[] values = Arrays.copyOf(this.values, this.values.length);
-    for (int i = 0; i < this.values.length; i++) {
+    byte[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+    for (int i = 0; i < this.size; i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = other.getBoolean(i);
       }
@@ -606,12 +662,12 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   public BooleanSeries set(BooleanSeries mask, byte value) {
     assertSameLength(this, mask);
-    byte[] values = new byte[this.values.length];
+    byte[] values = new byte[this.size];
     for (int i = 0; i < mask.size(); i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = valueOf(value);
       } else {
-        values[i] = this.values[i];
+        values[i] = this.values[this.offset + i];
       }
     }
     return buildFrom(values);
@@ -622,7 +678,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
   }
 
   public BooleanSeries set(int index, byte value) {
-    byte[] values = Arrays.copyOf(this.values, this.values.length);
+    byte[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     values[index] = valueOf(value);
     return buildFrom(values);
   }
@@ -637,7 +693,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   public int count(byte value) {
     int count = 0;
-    for (byte v : this.values) {
+    for (byte v : this.values()) {
       if (v == valueOf(value)) {
         count++;
       }
@@ -675,7 +731,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
     boolean hasTrue = false;
     boolean hasFalse = false;
 
-    for (byte v : this.values) {
+    for (byte v : this.values()) {
       hasNull |= isNull(v);
       hasFalse |= isFalse(v);
       hasTrue |= isTrue(v);
@@ -699,7 +755,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("BooleanSeries{");
-    for (byte b : this.values) {
+    for (byte b : this.values()) {
       if (isNull(b)) {
         builder.append("null ");
       } else {
@@ -712,10 +768,10 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public String toString(int index) {
-    if (isNull(this.values[index])) {
+    if (isNull(this.values[this.offset + index])) {
       return TOSTRING_NULL;
     }
-    if (isFalse(this.values[index])) {
+    if (isFalse(this.values[this.offset + index])) {
       return "false";
     }
     return "true";
@@ -734,7 +790,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
    * @return series copy without nulls
    */
   public BooleanSeries fillNull(byte value) {
-    byte[] values = Arrays.copyOf(this.values, this.values.length);
+    byte[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     for (int i = 0; i < values.length; i++) {
       if (isNull(values[i])) {
         values[i] = value;
@@ -745,13 +801,13 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
   @Override
   public BooleanSeries shift(int offset) {
-    byte[] values = new byte[this.values.length];
+    byte[] values = new byte[this.size];
     if (offset >= 0) {
       Arrays.fill(values, 0, Math.min(offset, values.length), NULL);
-      System.arraycopy(this.values, 0, values, Math.min(offset, values.length),
+      System.arraycopy(this.values, this.offset, values, Math.min(offset, values.length),
           Math.max(values.length - offset, 0));
     } else {
-      System.arraycopy(this.values, Math.min(-offset, values.length), values, 0,
+      System.arraycopy(this.values, this.offset + Math.min(-offset, values.length), values, 0,
           Math.max(values.length + offset, 0));
       Arrays.fill(values, Math.max(values.length + offset, 0), values.length, NULL);
     }
@@ -765,7 +821,7 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
       if (fromIndex[i] == -1) {
         values[i] = NULL;
       } else {
-        values[i] = this.values[fromIndex[i]];
+        values[i] = this.values[this.offset + fromIndex[i]];
       }
     }
     return buildFrom(values);
@@ -777,44 +833,44 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
     int countFalse = 0;
     // countTrue is rest
 
-    for (int i = 0; i < this.values.length; i++) {
-      if (isNull(this.values[i])) {
+    for (int i = 0; i < this.size; i++) {
+      if (isNull(this.values[this.offset + i])) {
         countNull++;
-      } else if (isFalse(this.values[i])) {
+      } else if (isFalse(this.values[this.offset + i])) {
         countFalse++;
       }
     }
 
-    byte[] values = new byte[this.values.length];
+    byte[] values = new byte[this.size];
     Arrays.fill(values, 0, countNull, NULL);
     Arrays.fill(values, countNull, countNull + countFalse, FALSE);
-    Arrays.fill(values, countNull + countFalse, this.values.length, TRUE);
+    Arrays.fill(values, countNull + countFalse, this.size, TRUE);
 
     return buildFrom(values);
   }
 
   @Override
   int[] sortedIndex() {
-    int[] fromIndex = new int[this.values.length];
+    int[] fromIndex = new int[this.size];
     int j = 0;
 
     // first null
-    for (int i = 0; i < this.values.length; i++) {
-      if (isNull(this.values[i])) {
+    for (int i = 0; i < this.size; i++) {
+      if (isNull(this.values[this.offset + i])) {
         fromIndex[j++] = i;
       }
     }
 
     // then false
-    for (int i = 0; i < this.values.length; i++) {
-      if (isFalse(this.values[i])) {
+    for (int i = 0; i < this.size; i++) {
+      if (isFalse(this.values[this.offset + i])) {
         fromIndex[j++] = i;
       }
     }
 
     // then true
-    for (int i = 0; i < this.values.length; i++) {
-      if (isTrue(this.values[i])) {
+    for (int i = 0; i < this.size; i++) {
+      if (isTrue(this.values[this.offset + i])) {
         fromIndex[j++] = i;
       }
     }
@@ -833,22 +889,22 @@ public final class BooleanSeries extends TypedSeries<BooleanSeries> {
 
     BooleanSeries that = (BooleanSeries) o;
 
-    return Arrays.equals(this.values, that.values);
+    return Arrays.equals(this.values(), that.values());
   }
 
   @Override
   int compare(Series that, int indexThis, int indexThat) {
-    return Byte.compare(this.values[indexThis], that.getBoolean(indexThat));
+    return Byte.compare(this.values[this.offset + indexThis], that.getBoolean(indexThat));
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.values);
+    return Arrays.hashCode(this.values());
   }
 
   @Override
   int hashCode(int index) {
-    return this.values[index];
+    return this.values[this.offset + index];
   }
 
   /**
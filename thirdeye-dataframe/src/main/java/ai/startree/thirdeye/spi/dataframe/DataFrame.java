@@ -17,7 +17,6 @@ import ai.startree.thirdeye.spi.dataframe.Series.SeriesType;
 import java.io.IOException;
 import java.io.Reader;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -29,7 +28,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -408,9 +406,11 @@ public class DataFrame {
       rightSeries[i] = right.get(onSeriesRight.get(i));
     }
 
-    // perform join, generate row pairs
-    Series.JoinPairs pairs = filterJoinPairs(Series.hashJoinOuter(leftSeries, rightSeries),
-        joinType);
+    // perform join, generate row pairs - merge join on sorted keys, hash join otherwise
+    Series.JoinPairs pairs = Series.mergeJoin(leftSeries, rightSeries, joinType);
+    if (pairs == null) {
+      pairs = filterJoinPairs(Series.hashJoinOuter(leftSeries, rightSeries), joinType);
+    }
 
     // extract projection indices
     int[] fromIndexLeft = new int[pairs.size()];
@@ -577,50 +577,20 @@ public class DataFrame {
     }
   }
 
+  /**
+   * Reads a JDBC result set into a DataFrame. Values are loaded column by column into primitive
+   * buffers based on the result set metadata.
+   *
+   * @param resultSet result set
+   * @return DataFrame with lower-case column labels as series names
+   * @throws SQLException if the result set cannot be read
+   * @see ResultSetLoader
+   */
   public static DataFrame fromResultSet(final ResultSet resultSet) throws SQLException {
-    final List<String> columns = new ArrayList<>();
-    final List<SeriesType> columnTypes = new ArrayList<>();
-    final ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-    final int columnCount = resultSetMetaData.getColumnCount();
-
-    for (int i = 0; i < columnCount; i++) {
-      columns.add(resultSetMetaData.getColumnLabel(i + 1).toLowerCase(Locale.ENGLISH));
-      columnTypes.add(jdbcTypeToSeriesType(resultSetMetaData.getColumnType(i + 1)));
-    }
-    final DataFrame.Builder builder = DataFrame.builder(columns);
-    while (resultSet.next()) {
-      final Object[] rowData = new Object[columnCount];
-      for (int i = 0; i < columnCount; i++) {
-        final SeriesType columnType = columnTypes.get(i);
-        switch (columnType) {
-          case DOUBLE:
-            rowData[i] = resultSet.getDouble(i + 1);
-            break;
-          case LONG:
-            rowData[i] = resultSet.getLong(i + 1);
-            break;
-          case STRING:
-            rowData[i] = resultSet.getString(i + 1);
-            break;
-          case BOOLEAN:
-            rowData[i] = resultSet.getBoolean(i + 1);
-            break;
-          case OBJECT:
-            rowData[i] = resultSet.getObject(i + 1);
-            break;
-          default:
-            throw new RuntimeException("Unrecognized data type - " + columnTypes.get(i + 1));
-        }
-        if (resultSet.wasNull()) {
-          rowData[i] = null;
-        }
-      }
-      builder.append(rowData);
-    }
-    return builder.build();
+    return ResultSetLoader.load(resultSet);
   }
 
-  private static SeriesType jdbcTypeToSeriesType(final int columnType) {
+  static SeriesType jdbcTypeToSeriesType(final int columnType) {
     switch (columnType) {
       case Types.INTEGER:
       case Types.SMALLINT:
@@ -1691,6 +1661,21 @@ public class DataFrame {
         Grouping.GroupingByValue.from(this.get(seriesName)));
   }
 
+  /**
+   * Returns a DataFrameGrouping based on the labels provided by the series referenced by
+   * {@code seriesName} row by row. If {@code sorted} is {@code false}, groups are returned in
+   * order of first appearance, which avoids sorting the keys.
+   *
+   * @param seriesName series containing grouping labels
+   * @param sorted sort groups by key
+   * @return DataFrameGrouping
+   * @see Grouping.GroupingByValue#from(Series, boolean)
+   */
+  public Grouping.DataFrameGrouping groupByValue(String seriesName, boolean sorted) {
+    return new Grouping.DataFrameGrouping(seriesName, this,
+        Grouping.GroupingByValue.from(this.get(seriesName), sorted));
+  }
+
   /**
    * Returns a DataFrameGrouping based on the labels provided by the series referenced by
    * {@code seriesNames} row by row.  The method can group across multiple columns.  It returns
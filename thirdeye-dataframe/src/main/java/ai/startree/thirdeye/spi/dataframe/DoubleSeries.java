@@ -309,7 +309,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
     @Override
     public Builder addSeries(Collection<Series> series) {
       for (Series s : series) {
-        this.addValues(s.getDoubles().values);
+        this.addValues(s.getDoubles().values());
       }
       return this;
     }
@@ -361,10 +361,25 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   }
 
   // CAUTION: The array is final, but values are inherently modifiable
+  // NOTE: the array may be shared with other series, see slice(int, int)
   private final double[] values;
+  private final int offset;
+  private final int size;
+  // true if the array is shared with the series this one was sliced from
+  private final boolean view;
+
+  // lazily compacted values of a view
+  private volatile double[] compacted;
 
   private DoubleSeries(double... values) {
+    this(values, 0, values.length, false);
+  }
+
+  private DoubleSeries(double[] values, int offset, int size, boolean view) {
     this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.view = view;
   }
 
   @Override
@@ -379,7 +394,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public double getDouble(int index) {
-    return getDouble(this.values[index]);
+    return getDouble(this.values[this.offset + index]);
   }
 
   public static double getDouble(double value) {
@@ -388,7 +403,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public long getLong(int index) {
-    return getLong(this.values[index]);
+    return getLong(this.values[this.offset + index]);
   }
 
   public static long getLong(double value) {
@@ -403,7 +418,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public byte getBoolean(int index) {
-    return getBoolean(this.values[index]);
+    return getBoolean(this.values[this.offset + index]);
   }
 
   public static byte getBoolean(double value) {
@@ -415,7 +430,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public String getString(int index) {
-    return getString(this.values[index]);
+    return getString(this.values[this.offset + index]);
   }
 
   public static String getString(double value) {
@@ -427,7 +442,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public Object getObject(int index) {
-    return getObject(this.values[index]);
+    return getObject(this.values[this.offset + index]);
   }
 
   public static Object getObject(double value) {
@@ -438,17 +453,17 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   }
 
   public double get(int index) {
-    return this.values[index];
+    return this.values[this.offset + index];
   }
 
   @Override
   public boolean isNull(int index) {
-    return isNull(this.values[index]);
+    return isNull(this.values[this.offset + index]);
   }
 
   @Override
   public int size() {
-    return this.values.length;
+    return this.size;
   }
 
   @Override
@@ -456,15 +471,37 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
     return SeriesType.DOUBLE;
   }
 
+  /**
+   * Returns the series values as array. If the series is a view sharing the array of the series
+   * it was sliced from, the values are copied into a new array once on first access: the shared
+   * array is never returned, even for a full-range slice.
+   *
+   * <br/><b>NOTE:</b> the array must not be modified if the series is a view.
+   *
+   * @return series values
+   * @see DoubleSeries#slice(int, int)
+   */
   public double[] values() {
-    return this.values;
+    if (!this.isView()) {
+      return this.values;
+    }
+    double[] compacted = this.compacted;
+    if (compacted == null) {
+      compacted = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+      this.compacted = compacted;
+    }
+    return compacted;
+  }
+
+  boolean isView() {
+    return this.view;
   }
 
   public double value() {
     if (this.size() != 1) {
       throw new IllegalStateException("Series must contain exactly one element");
     }
-    return this.values[0];
+    return this.values[this.offset];
   }
 
   /**
@@ -473,10 +510,10 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
    * @return list of series elements
    */
   public List<Double> toList() {
-    Double[] values = new Double[this.values.length];
-    for (int i = 0; i < this.values.length; i++) {
+    Double[] values = new Double[this.size];
+    for (int i = 0; i < this.size; i++) {
       if (!this.isNull(i)) {
-        values[i] = this.values[i];
+        values[i] = this.values[this.offset + i];
       }
     }
     return Arrays.asList(values);
@@ -486,14 +523,33 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   public DoubleSeries slice(int from, int to) {
     from = Math.max(Math.min(this.size(), from), 0);
     to = Math.max(Math.min(this.size(), to), 0);
-    return buildFrom(Arrays.copyOfRange(this.values, from, to));
+    if (from > to) {
+      throw new IllegalArgumentException(String.format("from (%d) must be <= to (%d)", from, to));
+    }
+    if ((long) (to - from) * SLICE_COPY_FRACTION < this.values.length) {
+      // copy small slices so that they do not retain the whole array
+      return buildFrom(Arrays.copyOfRange(this.values, this.offset + from, this.offset + to));
+    }
+    // NOTE: zero-copy view on the same array
+    return new DoubleSeries(this.values, this.offset + from, to - from, true);
+  }
+
+  /**
+   * Returns a copy of the series backed by a new array. Unlike {@code slice()}, the copy does
+   * not share its values with this series and may be modified safely.
+   *
+   * @return series copy
+   */
+  @Override
+  public DoubleSeries copy() {
+    return buildFrom(Arrays.copyOfRange(this.values, this.offset, this.offset + this.size));
   }
 
   @Override
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("DoubleSeries{");
-    for (double d : this.values) {
+    for (double d : this.values()) {
       if (isNull(d)) {
         builder.append("null");
       } else {
@@ -510,7 +566,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
     if (this.isNull(index)) {
       return TOSTRING_NULL;
     }
-    return String.valueOf(this.values[index]);
+    return String.valueOf(this.values[this.offset + index]);
   }
 
   @Override
@@ -929,8 +985,8 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
     }
     assertSameLength(this, mask, other);
 
-    double[] values = Arrays.copyOf(this.values, this.values.length);
-    for (int i = 0; i < this.values.length; i++) {
+    double[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+    for (int i = 0; i < this.size; i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = other.getDouble(i);
       }
@@ -940,12 +996,12 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   public DoubleSeries set(BooleanSeries mask, double value) {
     assertSameLength(this, mask);
-    double[] values = new double[this.values.length];
+    double[] values = new double[this.size];
     for (int i = 0; i < mask.size(); i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = value;
       } else {
-        values[i] = this.values[i];
+        values[i] = this.values[this.offset + i];
       }
     }
     return buildFrom(values);
@@ -953,7 +1009,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   public int count(double value) {
     int count = 0;
-    for (double v : this.values) {
+    for (double v : this.values()) {
       if (nullSafeDoubleComparator(v, value) == 0) {
         count++;
       }
@@ -977,10 +1033,10 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   }
 
   public int find(double value, double epsilon, int startOffset) {
-    for (int i = startOffset; i < this.values.length; i++) {
-      if ((this.values[i] >= value - epsilon
-          && this.values[i] <= value + epsilon)
-          || isNull(this.values[i]) && isNull(value)) {
+    for (int i = startOffset; i < this.size; i++) {
+      if ((this.values[this.offset + i] >= value - epsilon
+          && this.values[this.offset + i] <= value + epsilon)
+          || isNull(this.values[this.offset + i]) && isNull(value)) {
         return i;
       }
     }
@@ -1005,7 +1061,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
    * @return series copy without nulls
    */
   public DoubleSeries fillNull(double value) {
-    double[] values = Arrays.copyOf(this.values, this.values.length);
+    double[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     for (int i = 0; i < values.length; i++) {
       if (isNull(values[i])) {
         values[i] = value;
@@ -1015,7 +1071,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   }
 
   public DoubleSeries fillInfinite(double value) {
-    double[] values = Arrays.copyOf(this.values, this.values.length);
+    double[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     for (int i = 0; i < values.length; i++) {
       if (Double.isInfinite(values[i])) {
         values[i] = value;
@@ -1031,7 +1087,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
       if (fromIndex[i] == -1) {
         values[i] = NULL;
       } else {
-        values[i] = this.values[fromIndex[i]];
+        values[i] = this.values[this.offset + fromIndex[i]];
       }
     }
     return buildFrom(values);
@@ -1048,17 +1104,18 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
     DoubleSeries that = (DoubleSeries) o;
 
-    return Arrays.equals(this.values, that.values);
+    return Arrays.equals(this.values(), that.values());
   }
 
   @Override
   int compare(Series that, int indexThis, int indexThat) {
-    return nullSafeDoubleComparator(this.values[indexThis], that.getDouble(indexThat));
+    return nullSafeDoubleComparator(this.values[this.offset + indexThis],
+        that.getDouble(indexThat));
   }
 
   @Override
   int hashCode(int index) {
-    return (int) Double.doubleToRawLongBits(this.values[index]);
+    return (int) Double.doubleToRawLongBits(this.values[this.offset + index]);
   }
 
   /**
@@ -1172,7 +1229,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
    * @see Series#aggregate(Function)
    */
   public static DoubleSeries aggregate(DoubleFunction function, Series series) {
-    return buildFrom(function.apply(series.dropNull().getDoubles().values));
+    return buildFrom(function.apply(series.dropNull().getDoubles().values()));
   }
 
   /**
@@ -1180,7 +1237,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
    */
   public static BooleanSeries aggregate(DoubleConditional function, Series series) {
     return BooleanSeries.builder()
-        .addBooleanValues(function.apply(series.dropNull().getDoubles().values)).build();
+        .addBooleanValues(function.apply(series.dropNull().getDoubles().values())).build();
   }
 
   public static double corr(Series a, Series b) {
@@ -1212,7 +1269,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.values);
+    return Arrays.hashCode(this.values());
   }
 
   public static double valueOf(Double value) {
@@ -1235,13 +1292,13 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public DoubleSeries shift(int offset) {
-    double[] values = new double[this.values.length];
+    double[] values = new double[this.size];
     if (offset >= 0) {
       Arrays.fill(values, 0, Math.min(offset, values.length), NULL);
-      System.arraycopy(this.values, 0, values, Math.min(offset, values.length),
+      System.arraycopy(this.values, this.offset, values, Math.min(offset, values.length),
           Math.max(values.length - offset, 0));
     } else {
-      System.arraycopy(this.values, Math.min(-offset, values.length), values, 0,
+      System.arraycopy(this.values, this.offset + Math.min(-offset, values.length), values, 0,
           Math.max(values.length + offset, 0));
       Arrays.fill(values, Math.max(values.length + offset, 0), values.length, NULL);
     }
@@ -1250,7 +1307,7 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   public DoubleSeries sorted() {
-    double[] values = Arrays.copyOf(this.values, this.values.length);
+    double[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     Arrays.sort(values);
 
     // order NaNs first
@@ -1273,8 +1330,8 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   @Override
   int[] sortedIndex() {
     List<DoubleSortTuple> tuples = new ArrayList<>();
-    for (int i = 0; i < this.values.length; i++) {
-      tuples.add(new DoubleSortTuple(this.values[i], i));
+    for (int i = 0; i < this.size; i++) {
+      tuples.add(new DoubleSortTuple(this.values[this.offset + i], i));
     }
 
     Collections.sort(tuples, new Comparator<DoubleSortTuple>() {
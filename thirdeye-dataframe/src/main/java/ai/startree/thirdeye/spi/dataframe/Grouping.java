@@ -16,12 +16,17 @@ package ai.startree.thirdeye.spi.dataframe;
 import ai.startree.thirdeye.spi.dataframe.Series.LongConditional;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
 import org.apache.commons.lang3.ArrayUtils;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -42,11 +47,24 @@ public abstract class Grouping {
   public static final String OP_MEDIAN = "MEDIAN";
   public static final String OP_STD = "STD";
 
+  // minimum number of rows for parallel aggregation by default
+  public static final int PARALLEL_MIN_ROWS = 100_000;
+
   // TODO generate keys on-demand only
   final Series keys;
 
+  // pool for parallel aggregation, null if serial
+  final ForkJoinPool pool;
+  final int parallelMinRows;
+
   Grouping(Series keys) {
+    this(keys, null, Integer.MAX_VALUE);
+  }
+
+  Grouping(Series keys, ForkJoinPool pool, int parallelMinRows) {
     this.keys = keys;
+    this.pool = pool;
+    this.parallelMinRows = parallelMinRows;
   }
 
   /**
@@ -62,11 +80,7 @@ public abstract class Grouping {
    * @return grouped aggregation series
    */
   GroupingDataFrame aggregate(Series s, Series.Function function) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).aggregate(function));
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.aggregate(function));
   }
 
   /**
@@ -85,11 +99,7 @@ public abstract class Grouping {
   }
 
   GroupingDataFrame sum(Series s) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).sum());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.sum());
   }
 
   GroupingDataFrame sum(DataFrame source, String groupBySeriesName, String sumSeriesName) {
@@ -121,67 +131,111 @@ public abstract class Grouping {
   }
 
   GroupingDataFrame product(Series s) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).product());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.product());
   }
 
   GroupingDataFrame min(Series s) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).min());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.min());
   }
 
   GroupingDataFrame max(Series s) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).max());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.max());
   }
 
   GroupingDataFrame first(Series s) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).first());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.first());
   }
 
   GroupingDataFrame last(Series s) {
-    Series.Builder builder = s.getBuilder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).last());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, s.getBuilder(), group -> group.last());
   }
 
   GroupingDataFrame mean(Series s) {
-    Series.Builder builder = DoubleSeries.builder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).mean());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, DoubleSeries.builder(), group -> group.mean());
   }
 
   GroupingDataFrame median(Series s) {
-    Series.Builder builder = DoubleSeries.builder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).median());
-    }
-    return makeResult(builder.build());
+    return this.aggregateGroups(s, DoubleSeries.builder(), group -> group.median());
   }
 
   GroupingDataFrame std(Series s) {
-    Series.Builder builder = DoubleSeries.builder();
-    for (int i = 0; i < this.size(); i++) {
-      builder.addSeries(this.apply(s, i).std());
+    return this.aggregateGroups(s, DoubleSeries.builder(), group -> group.std());
+  }
+
+  /**
+   * Applies {@code operation} to each group and concatenates the results. In parallel mode,
+   * ranges of groups are processed on the grouping's pool.
+   */
+  private GroupingDataFrame aggregateGroups(Series s, Series.Builder builder,
+      UnaryOperator<Series> operation) {
+    final Series[] results = new Series[this.size()];
+    if (this.isParallel(s)) {
+      this.partitioned(this.size(), (from, to) -> {
+        for (int i = from; i < to; i++) {
+          results[i] = operation.apply(this.apply(s, i));
+        }
+        return null;
+      });
+    } else {
+      for (int i = 0; i < this.size(); i++) {
+        results[i] = operation.apply(this.apply(s, i));
+      }
     }
-    return makeResult(builder.build());
+    return makeResult(builder.addSeries(results).build());
+  }
+
+  /**
+   * Returns a grouping with the same groups that aggregates series with at least
+   * {@code minRows} rows in parallel on {@code pool}. Groupings without support for parallel
+   * aggregation return themselves.
+   *
+   * @param pool pool to run aggregations on
+   * @param minRows minimum series size for parallel aggregation
+   * @return parallel grouping
+   */
+  Grouping parallel(ForkJoinPool pool, int minRows) {
+    return this;
+  }
+
+  boolean isParallel(Series s) {
+    return this.pool != null && s.size() >= this.parallelMinRows && this.size() > 1;
+  }
+
+  /**
+   * Splits {@code [0, size)} into one contiguous range per worker of the pool, applies
+   * {@code function} to each range in parallel and returns the results in range order.
+   */
+  <T> List<T> partitioned(int size, RangeFunction<T> function) {
+    final int partitions = Math.max(1, Math.min(this.pool.getParallelism(), size));
+    final int step = (size + partitions - 1) / partitions;
+
+    final List<Callable<T>> tasks = new ArrayList<>(partitions);
+    for (int from = 0; from < size; from += step) {
+      final int start = from;
+      final int end = Math.min(size, from + step);
+      tasks.add(() -> function.apply(start, end));
+    }
+
+    final List<T> results = new ArrayList<>(tasks.size());
+    try {
+      for (Future<T> future : this.pool.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during parallel aggregation", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+    return results;
+  }
+
+  interface RangeFunction<T> {
+
+    T apply(int from, int to);
   }
 
   /**
@@ -231,6 +285,22 @@ public abstract class Grouping {
     return new GroupingDataFrame(keyName, GROUP_VALUE, this.keys, s);
   }
 
+  private static GroupingDataFrame longToBoolean(GroupingDataFrame gdf) {
+    return new GroupingDataFrame(gdf.keyName, gdf.valueName, gdf.getKeys(),
+        gdf.getValues().getBooleans());
+  }
+
+  private static boolean isNumeric(Series s) {
+    switch (s.type()) {
+      case BOOLEAN:
+      case LONG:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   /**
    * Grouping container referencing a single series. Holds group keys and the indices of group
    * elements in the source series. Enables aggregation with custom user functions.
@@ -253,6 +323,30 @@ public abstract class Grouping {
       return this.grouping.isEmpty();
     }
 
+    /**
+     * Returns a copy of this grouping that aggregates source series with at least
+     * {@code PARALLEL_MIN_ROWS} rows on the common ForkJoinPool.
+     *
+     * @return parallel grouping
+     * @see SeriesGrouping#parallel(ForkJoinPool, int)
+     */
+    public SeriesGrouping parallel() {
+      return this.parallel(ForkJoinPool.commonPool(), PARALLEL_MIN_ROWS);
+    }
+
+    /**
+     * Returns a copy of this grouping that aggregates source series with at least
+     * {@code minRows} rows on {@code pool}. Only groupings by value support parallel
+     * aggregation, other groupings remain serial.
+     *
+     * @param pool pool to run aggregations on
+     * @param minRows minimum series size for parallel aggregation
+     * @return parallel grouping
+     */
+    public SeriesGrouping parallel(ForkJoinPool pool, int minRows) {
+      return new SeriesGrouping(this.source, this.grouping.parallel(pool, minRows));
+    }
+
     /**
      * Returns the SeriesGrouping's source series.
      *
@@ -341,6 +435,35 @@ public abstract class Grouping {
       return this.grouping.isEmpty();
     }
 
+    /**
+     * Returns a copy of this grouping that aggregates source series with at least
+     * {@code PARALLEL_MIN_ROWS} rows on the common ForkJoinPool.
+     *
+     * @return parallel grouping
+     * @see DataFrameGrouping#parallel(ForkJoinPool, int)
+     */
+    public DataFrameGrouping parallel() {
+      return this.parallel(ForkJoinPool.commonPool(), PARALLEL_MIN_ROWS);
+    }
+
+    /**
+     * Returns a copy of this grouping that aggregates source series with at least
+     * {@code minRows} rows on {@code pool}. Rows are partitioned into one range per worker,
+     * partial aggregates are computed per range and merged in row order. Only groupings by
+     * value support parallel aggregation, other groupings remain serial.
+     *
+     * <br/><b>NOTE:</b> double sums and means may differ from serial results in the last bits,
+     * as partial sums are added in a different order.
+     *
+     * @param pool pool to run aggregations on
+     * @param minRows minimum series size for parallel aggregation
+     * @return parallel grouping
+     */
+    public DataFrameGrouping parallel(ForkJoinPool pool, int minRows) {
+      return new DataFrameGrouping(this.keyName, this.source,
+          this.grouping.parallel(pool, minRows));
+    }
+
     /**
      * Returns the DataFrameGrouping's source DataFrame.
      *
@@ -623,97 +746,554 @@ public abstract class Grouping {
    */
   public static final class GroupingByValue extends Grouping {
 
-    private final List<int[]> buckets;
+    // lazily built from group ids, if any. volatile for parallel aggregation
+    private volatile List<int[]> buckets;
+
+    // group id of each row and first row of each group. null for multi-series groupings
+    private final int[] groupIds;
+    private final int[] firstRows;
 
     private GroupingByValue(Series keys, List<int[]> buckets) {
       super(keys);
       this.buckets = buckets;
+      this.groupIds = null;
+      this.firstRows = null;
+    }
+
+    private GroupingByValue(Series keys, int[] groupIds, int[] firstRows) {
+      super(keys);
+      this.groupIds = groupIds;
+      this.firstRows = firstRows;
+    }
+
+    private GroupingByValue(GroupingByValue grouping, ForkJoinPool pool, int parallelMinRows) {
+      super(grouping.keys, pool, parallelMinRows);
+      this.buckets = grouping.buckets;
+      this.groupIds = grouping.groupIds;
+      this.firstRows = grouping.firstRows;
+    }
+
+    @Override
+    Grouping parallel(ForkJoinPool pool, int minRows) {
+      return new GroupingByValue(this, pool, minRows);
     }
 
     @Override
     Series apply(Series s, int groupIndex) {
-      return s.project(this.buckets.get(groupIndex));
+      return s.project(this.buckets().get(groupIndex));
     }
 
+    private List<int[]> buckets() {
+      if (this.buckets == null) {
+        this.buckets = bucketsFromGroupIds(this.groupIds, this.firstRows.length);
+      }
+      return this.buckets;
+    }
+
+    /**
+     * Returns a grouping by the distinct values of the series, with keys sorted in ascending
+     * order.
+     *
+     * @param series grouping labels
+     * @return grouping by value
+     * @see GroupingByValue#from(Series, boolean)
+     */
     public static GroupingByValue from(Series series) {
+      return from(series, !Series.SeriesType.OBJECT.equals(series.type()));
+    }
+
+    /**
+     * Returns a grouping by the distinct values of the series. Rows are assigned group ids in a
+     * single hash-based pass. If {@code sorted} is {@code true}, groups are ordered by key in
+     * ascending order (only the distinct keys are sorted), otherwise by first appearance.
+     *
+     * <br/><b>NOTE:</b> object series do not support sorting.
+     *
+     * @param series grouping labels
+     * @param sorted sort groups by key
+     * @return grouping by value
+     */
+    public static GroupingByValue from(Series series, boolean sorted) {
       if (series.isEmpty()) {
         return new GroupingByValue(series.getBuilder().build(), new ArrayList<int[]>());
       }
-      if (Series.SeriesType.OBJECT.equals(series.type())) {
-        return from(series.getObjects());
+      if (sorted && Series.SeriesType.OBJECT.equals(series.type())) {
+        throw new IllegalArgumentException("Object series do not support sorted grouping");
       }
 
-      List<int[]> buckets = new ArrayList<>();
-      int[] sref = series.sortedIndex();
+      final int[] groupIds = new int[series.size()];
+      final int groupCount = assignGroupIds(series, groupIds);
 
-      int bucketOffset = 0;
-      for (int i = 1; i < sref.length; i++) {
-        if (!series.equals(series, sref[i - 1], sref[i])) {
-          int[] fromIndex = Arrays.copyOfRange(sref, bucketOffset, i);
-          buckets.add(fromIndex);
-          bucketOffset = i;
+      final int[] firstRows = new int[groupCount];
+      Arrays.fill(firstRows, -1);
+      for (int i = 0; i < groupIds.length; i++) {
+        if (firstRows[groupIds[i]] < 0) {
+          firstRows[groupIds[i]] = i;
         }
       }
 
-      int[] fromIndex = Arrays.copyOfRange(sref, bucketOffset, sref.length);
-      buckets.add(fromIndex);
+      final Series keys = series.project(firstRows);
+      if (!sorted) {
+        return new GroupingByValue(keys, groupIds, firstRows);
+      }
 
-      return new GroupingByValue(series.project(keysFromBuckets(buckets)), buckets);
+      // sort the distinct keys only and re-map group ids to their rank
+      final int[] order = keys.sortedIndex();
+      final int[] rank = new int[groupCount];
+      final int[] sortedFirstRows = new int[groupCount];
+      for (int i = 0; i < groupCount; i++) {
+        rank[order[i]] = i;
+        sortedFirstRows[i] = firstRows[order[i]];
+      }
+      for (int i = 0; i < groupIds.length; i++) {
+        groupIds[i] = rank[groupIds[i]];
+      }
+
+      return new GroupingByValue(keys.project(order), groupIds, sortedFirstRows);
     }
 
     public static GroupingByValue from(ObjectSeries series) {
-      Map<Object, List<Integer>> dynBuckets = new LinkedHashMap<>();
+      return from(series, false);
+    }
+
+    /**
+     * Writes the group id of each row into {@code groupIds}, assigned in order of first
+     * appearance. Equal values as defined by {@code Series.equals(Series, int, int)} share a
+     * group.
+     *
+     * @return number of groups
+     */
+    static int assignGroupIds(Series series, int[] groupIds) {
+      switch (series.type()) {
+        case LONG: {
+          final LongSeries s = series.getLongs();
+          final LongGroupMap map = new LongGroupMap(Math.min(s.size(), 1024));
+          for (int i = 0; i < groupIds.length; i++) {
+            groupIds[i] = map.groupId(s.get(i));
+          }
+          return map.size();
+        }
+        case DOUBLE: {
+          final DoubleSeries s = series.getDoubles();
+          final LongGroupMap map = new LongGroupMap(Math.min(s.size(), 1024));
+          for (int i = 0; i < groupIds.length; i++) {
+            // canonical NaN (null), distinct -0.0 and 0.0: same as Double.compare()
+            groupIds[i] = map.groupId(Double.doubleToLongBits(s.get(i)));
+          }
+          return map.size();
+        }
+        case BOOLEAN: {
+          final BooleanSeries s = series.getBooleans();
+          final LongGroupMap map = new LongGroupMap(3);
+          for (int i = 0; i < groupIds.length; i++) {
+            groupIds[i] = map.groupId(s.get(i));
+          }
+          return map.size();
+        }
+        case STRING: {
+          final StringSeries s = (StringSeries) series;
+          if (s.isEncoded()) {
+            // dictionary codes are dense already - offset by one for null
+            final int[] codes = s.codes();
+            final int[] codeToGroup = new int[s.dictionary().length + 1];
+            Arrays.fill(codeToGroup, -1);
+            int groupCount = 0;
+            for (int i = 0; i < groupIds.length; i++) {
+              final int slot = codes[i] + 1;
+              if (codeToGroup[slot] < 0) {
+                codeToGroup[slot] = groupCount++;
+              }
+              groupIds[i] = codeToGroup[slot];
+            }
+            return groupCount;
+          }
+          return assignGroupIdsByObject(series, groupIds);
+        }
+        case OBJECT:
+          return assignGroupIdsByObject(series, groupIds);
+        default:
+          throw new IllegalArgumentException(
+              String.format("Unsupported series type '%s'", series.type()));
+      }
+    }
+
+    private static int assignGroupIdsByObject(Series series, int[] groupIds) {
+      final Map<Object, Integer> map = new HashMap<>();
+      for (int i = 0; i < groupIds.length; i++) {
+        final Object key = series.getObject(i);
+        Integer groupId = map.get(key);
+        if (groupId == null) {
+          groupId = map.size();
+          map.put(key, groupId);
+        }
+        groupIds[i] = groupId;
+      }
+      return map.size();
+    }
+
+    private static List<int[]> bucketsFromGroupIds(int[] groupIds, int groupCount) {
+      // counting sort - row indices stay in ascending order within each group
+      final int[] sizes = new int[groupCount];
+      for (int groupId : groupIds) {
+        sizes[groupId]++;
+      }
+      final int[][] buckets = new int[groupCount][];
+      for (int g = 0; g < groupCount; g++) {
+        buckets[g] = new int[sizes[g]];
+      }
+      final int[] offsets = new int[groupCount];
+      for (int i = 0; i < groupIds.length; i++) {
+        final int groupId = groupIds[i];
+        buckets[groupId][offsets[groupId]++] = i;
+      }
+      return Arrays.asList(buckets);
+    }
+
+    /* *************************************************************************
+     * Aggregation kernels - single pass over group ids
+     * *************************************************************************/
+
+    @Override
+    GroupingDataFrame count(Series s) {
+      if (this.groupIds == null) {
+        return super.count(s);
+      }
+      final long[] counts = this.reduceRows(s, (from, to) -> {
+        final long[] partial = new long[this.size()];
+        for (int i = from; i < to; i++) {
+          partial[this.groupIds[i]]++;
+        }
+        return partial;
+      }, (a, b) -> {
+        for (int g = 0; g < a.length; g++) {
+          a[g] += b[g];
+        }
+        return a;
+      });
+      return new GroupingDataFrame(GROUP_KEY, GROUP_VALUE, this.keys, LongSeries.buildFrom(counts));
+    }
+
+    @Override
+    GroupingDataFrame sum(Series s) {
+      if (this.groupIds == null) {
+        return super.sum(s);
+      }
+      switch (s.type()) {
+        case LONG:
+          return this.reduceLong(s.getLongs(), LongReducer.SUM);
+        case DOUBLE:
+          return this.reduceDouble(s.getDoubles(), DoubleReducer.SUM);
+        default:
+          return super.sum(s);
+      }
+    }
+
+    @Override
+    GroupingDataFrame min(Series s) {
+      if (this.groupIds == null) {
+        return super.min(s);
+      }
+      switch (s.type()) {
+        case LONG:
+          return this.reduceLong(s.getLongs(), LongReducer.MIN);
+        case DOUBLE:
+          return this.reduceDouble(s.getDoubles(), DoubleReducer.MIN);
+        default:
+          return super.min(s);
+      }
+    }
+
+    @Override
+    GroupingDataFrame max(Series s) {
+      if (this.groupIds == null) {
+        return super.max(s);
+      }
+      switch (s.type()) {
+        case LONG:
+          return this.reduceLong(s.getLongs(), LongReducer.MAX);
+        case DOUBLE:
+          return this.reduceDouble(s.getDoubles(), DoubleReducer.MAX);
+        default:
+          return super.max(s);
+      }
+    }
+
+    @Override
+    GroupingDataFrame mean(Series s) {
+      if (this.groupIds == null || (s.type() != Series.SeriesType.LONG
+          && s.type() != Series.SeriesType.DOUBLE)) {
+        return super.mean(s);
+      }
+      final DoublePartial partial = this.reduceDoublePartial(s.getDoubles(), DoubleReducer.SUM);
+      final double[] sums = partial.results;
+      for (int g = 0; g < sums.length; g++) {
+        sums[g] = partial.counts[g] > 0 ? sums[g] / partial.counts[g] : DoubleSeries.NULL;
+      }
+      return new GroupingDataFrame(GROUP_KEY, GROUP_VALUE, this.keys, DoubleSeries.buildFrom(sums));
+    }
+
+    @Override
+    GroupingDataFrame first(Series s) {
+      if (this.groupIds == null) {
+        return super.first(s);
+      }
+      return new GroupingDataFrame(GROUP_KEY, GROUP_VALUE, this.keys, s.project(this.firstRows));
+    }
 
-      for (int i = 0; i < series.size(); i++) {
-        Object key = series.getObject(i);
-        if (!dynBuckets.containsKey(key)) {
-          dynBuckets.put(key, new ArrayList<Integer>());
+    @Override
+    GroupingDataFrame last(Series s) {
+      if (this.groupIds == null) {
+        return super.last(s);
+      }
+      final int[] lastRows = this.reduceRows(s, (from, to) -> {
+        final int[] partial = new int[this.size()];
+        Arrays.fill(partial, -1);
+        for (int i = from; i < to; i++) {
+          partial[this.groupIds[i]] = i;
+        }
+        return partial;
+      }, (a, b) -> {
+        for (int g = 0; g < a.length; g++) {
+          if (b[g] >= 0) {
+            a[g] = b[g];
+          }
+        }
+        return a;
+      });
+      return new GroupingDataFrame(GROUP_KEY, GROUP_VALUE, this.keys, s.project(lastRows));
+    }
+
+    /**
+     * Reduces the non-null values of each group in index order. Groups without non-null values
+     * are null, like {@link LongSeries#aggregate(Series.LongFunction, Series)}.
+     */
+    private GroupingDataFrame reduceLong(LongSeries values, LongReducer reducer) {
+      final LongPartial partial = this.reduceRows(values,
+          (from, to) -> {
+            final LongPartial p = new LongPartial(this.size());
+            for (int i = from; i < to; i++) {
+              if (!values.isNull(i)) {
+                p.add(this.groupIds[i], values.get(i), reducer);
+              }
+            }
+            return p;
+          },
+          (x, y) -> x.merge(y, reducer));
+
+      final long[] results = partial.results;
+      for (int g = 0; g < results.length; g++) {
+        if (partial.counts[g] <= 0) {
+          results[g] = LongSeries.NULL;
         }
-        dynBuckets.get(key).add(i);
       }
+      return new GroupingDataFrame(GROUP_KEY, GROUP_VALUE, this.keys, LongSeries.buildFrom(results));
+    }
 
-      List<int[]> buckets = new ArrayList<>();
-      for (Map.Entry<Object, List<Integer>> entry : dynBuckets.entrySet()) {
-        buckets.add(ArrayUtils.toPrimitive(
-            entry.getValue().toArray(new Integer[0])));
+    /**
+     * Reduces the non-null values of each group in index order. Groups without non-null values
+     * are null, like {@link DoubleSeries#aggregate(Series.DoubleFunction, Series)}.
+     */
+    private GroupingDataFrame reduceDouble(DoubleSeries values, DoubleReducer reducer) {
+      final DoublePartial partial = this.reduceDoublePartial(values, reducer);
+      final double[] results = partial.results;
+      for (int g = 0; g < results.length; g++) {
+        if (partial.counts[g] <= 0) {
+          results[g] = DoubleSeries.NULL;
+        }
       }
+      return new GroupingDataFrame(GROUP_KEY, GROUP_VALUE, this.keys,
+          DoubleSeries.buildFrom(results));
+    }
 
-      return new GroupingByValue(series.project(keysFromBuckets(buckets)), buckets);
+    private DoublePartial reduceDoublePartial(DoubleSeries values, DoubleReducer reducer) {
+      return this.reduceRows(values,
+          (from, to) -> {
+            final DoublePartial p = new DoublePartial(this.size());
+            for (int i = from; i < to; i++) {
+              if (!values.isNull(i)) {
+                p.add(this.groupIds[i], values.get(i), reducer);
+              }
+            }
+            return p;
+          },
+          (x, y) -> x.merge(y, reducer));
     }
 
+    /**
+     * Computes a partial result per range of rows and merges the partial results in row order.
+     * Runs as a single range unless the grouping is parallel and the partial results of all
+     * ranges hold no more entries than there are rows.
+     */
+    private <T> T reduceRows(Series s, RangeFunction<T> function, BinaryOperator<T> merge) {
+      final int rows = this.groupIds.length;
+      if (!this.isParallel(s) || (long) this.size() * this.pool.getParallelism() > rows) {
+        return function.apply(0, rows);
+      }
+      final List<T> partials = this.partitioned(rows, function);
+      T result = partials.get(0);
+      for (int i = 1; i < partials.size(); i++) {
+        result = merge.apply(result, partials.get(i));
+      }
+      return result;
+    }
+
+    private static final class LongPartial {
+
+      final long[] results;
+      final int[] counts;
+
+      LongPartial(int size) {
+        this.results = new long[size];
+        this.counts = new int[size];
+      }
+
+      void add(int groupId, long value, LongReducer reducer) {
+        this.results[groupId] =
+            this.counts[groupId] > 0 ? reducer.apply(this.results[groupId], value) : value;
+        this.counts[groupId]++;
+      }
+
+      LongPartial merge(LongPartial other, LongReducer reducer) {
+        for (int g = 0; g < this.results.length; g++) {
+          if (other.counts[g] > 0) {
+            this.add(g, other.results[g], reducer);
+            this.counts[g] += other.counts[g] - 1;
+          }
+        }
+        return this;
+      }
+    }
+
+    private static final class DoublePartial {
+
+      final double[] results;
+      final int[] counts;
+
+      DoublePartial(int size) {
+        this.results = new double[size];
+        this.counts = new int[size];
+      }
+
+      void add(int groupId, double value, DoubleReducer reducer) {
+        this.results[groupId] =
+            this.counts[groupId] > 0 ? reducer.apply(this.results[groupId], value) : value;
+        this.counts[groupId]++;
+      }
+
+      DoublePartial merge(DoublePartial other, DoubleReducer reducer) {
+        for (int g = 0; g < this.results.length; g++) {
+          if (other.counts[g] > 0) {
+            this.add(g, other.results[g], reducer);
+            this.counts[g] += other.counts[g] - 1;
+          }
+        }
+        return this;
+      }
+    }
+
+    private enum LongReducer {
+      SUM {
+        @Override
+        long apply(long a, long b) {
+          return a + b;
+        }
+      },
+      MIN {
+        @Override
+        long apply(long a, long b) {
+          return Math.min(a, b);
+        }
+      },
+      MAX {
+        @Override
+        long apply(long a, long b) {
+          return Math.max(a, b);
+        }
+      };
+
+      abstract long apply(long a, long b);
+    }
+
+    private enum DoubleReducer {
+      SUM {
+        @Override
+        double apply(double a, double b) {
+          return a + b;
+        }
+      },
+      MIN {
+        @Override
+        double apply(double a, double b) {
+          return Math.min(a, b);
+        }
+      },
+      MAX {
+        @Override
+        double apply(double a, double b) {
+          return Math.max(a, b);
+        }
+      };
+
+      abstract double apply(double a, double b);
+    }
+
+    /**
+     * Returns a grouping by the distinct value combinations of multiple series, in order of
+     * first appearance. Keys are returned as object series of {@code Tuples}, one per group.
+     *
+     * @param series grouping labels
+     * @return grouping by value
+     * @see GroupingByValue#assignGroupIds(Series[], int[])
+     */
     public static GroupingByValue from(Series[] series) {
       Series.assertSameLength(series);
+      if (series[0].isEmpty()) {
+        return new GroupingByValue(ObjectSeries.empty(), new ArrayList<int[]>());
+      }
 
-      List<int[]> buckets = new ArrayList<>();
-      PrimitiveMultimap m = new PrimitiveMultimap(series);
-      BitSet b = new BitSet(series[0].size());
+      final int[] groupIds = new int[series[0].size()];
+      final int groupCount = assignGroupIds(series, groupIds);
 
-      for (int i = 0; i < series[0].size(); i++) {
-        if (!b.get(i)) {
-          int[] keys = m.get(series, i, series);
-          for (int k : keys) {
-            b.set(k);
-          }
-          buckets.add(keys);
+      final int[] firstRows = new int[groupCount];
+      Arrays.fill(firstRows, -1);
+      for (int i = 0; i < groupIds.length; i++) {
+        if (firstRows[groupIds[i]] < 0) {
+          firstRows[groupIds[i]] = i;
         }
       }
 
-      int[] keys = keysFromBuckets(buckets);
-      DataFrame.Tuple[] tuples = new DataFrame.Tuple[keys.length];
-      for (int i = 0; i < keys.length; i++) {
-        tuples[i] = DataFrame.Tuple.buildFrom(series, keys[i]);
+      DataFrame.Tuple[] tuples = new DataFrame.Tuple[groupCount];
+      for (int i = 0; i < groupCount; i++) {
+        tuples[i] = DataFrame.Tuple.buildFrom(series, firstRows[i]);
       }
 
-      return new GroupingByValue(ObjectSeries.buildFrom((Object[]) tuples), buckets);
+      return new GroupingByValue(ObjectSeries.buildFrom((Object[]) tuples), groupIds, firstRows);
     }
 
-    private static int[] keysFromBuckets(List<int[]> buckets) {
-      int[] keyIndex = new int[buckets.size()];
-      int i = 0;
-      for (int[] b : buckets) {
-        keyIndex[i++] = b[0];
+    /**
+     * Writes the group id of each row of a composite key into {@code groupIds}, assigned in order
+     * of first appearance. Each column is mapped to dense ids first, then columns are combined
+     * pairwise into packed long keys: the running group count never exceeds the number of rows,
+     * so {@code id * count + columnId} always fits into a long. No object is created per row.
+     *
+     * @return number of groups
+     */
+    static int assignGroupIds(Series[] series, int[] groupIds) {
+      if (series.length <= 0) {
+        throw new IllegalArgumentException("Must group on at least one series");
       }
-      return keyIndex;
+      int groupCount = assignGroupIds(series[0], groupIds);
+
+      final int[] columnIds = new int[groupIds.length];
+      for (int c = 1; c < series.length; c++) {
+        final int columnCount = assignGroupIds(series[c], columnIds);
+        final LongGroupMap map = new LongGroupMap(Math.min(groupIds.length, 1024));
+        for (int i = 0; i < groupIds.length; i++) {
+          groupIds[i] = map.groupId((long) groupIds[i] * columnCount + columnIds[i]);
+        }
+        groupCount = map.size();
+      }
+      return groupCount;
     }
   }
 
@@ -866,6 +1446,72 @@ public abstract class Grouping {
       return s.slice(start, groupIndex + 1);
     }
 
+    @Override
+    GroupingDataFrame aggregate(Series s, Series.Function function) {
+      Series result = RollingWindow.aggregate(s, function, this.windowSize, false);
+      if (result == null) {
+        return super.aggregate(s, function);
+      }
+      return super.makeResult(result);
+    }
+
+    @Override
+    GroupingDataFrame count(Series s) {
+      return super.makeResult(RollingWindow.count(super.size(), this.windowSize, false));
+    }
+
+    @Override
+    GroupingDataFrame min(Series s) {
+      switch (s.type()) {
+        case BOOLEAN:
+          return longToBoolean(
+              super.makeResult(RollingWindow.min(s.getLongs(), this.windowSize, false)));
+        case LONG:
+          return super.makeResult(RollingWindow.min(s.getLongs(), this.windowSize, false));
+        case DOUBLE:
+          return super.makeResult(RollingWindow.min(s.getDoubles(), this.windowSize, false));
+      }
+      return super.min(s);
+    }
+
+    @Override
+    GroupingDataFrame max(Series s) {
+      switch (s.type()) {
+        case BOOLEAN:
+          return longToBoolean(
+              super.makeResult(RollingWindow.max(s.getLongs(), this.windowSize, false)));
+        case LONG:
+          return super.makeResult(RollingWindow.max(s.getLongs(), this.windowSize, false));
+        case DOUBLE:
+          return super.makeResult(RollingWindow.max(s.getDoubles(), this.windowSize, false));
+      }
+      return super.max(s);
+    }
+
+    @Override
+    GroupingDataFrame mean(Series s) {
+      if (!isNumeric(s)) {
+        return super.mean(s);
+      }
+      return super.makeResult(RollingWindow.mean(s.getDoubles(), this.windowSize, false));
+    }
+
+    @Override
+    GroupingDataFrame median(Series s) {
+      if (!isNumeric(s)) {
+        return super.median(s);
+      }
+      return super.makeResult(RollingWindow.median(s.getDoubles(), this.windowSize, false));
+    }
+
+    @Override
+    GroupingDataFrame std(Series s) {
+      if (!isNumeric(s)) {
+        return super.std(s);
+      }
+      return super.makeResult(RollingWindow.std(s.getDoubles(), this.windowSize, false));
+    }
+
     @Override
     GroupingDataFrame sum(Series s) {
       switch (s.type()) {
@@ -982,6 +1628,44 @@ public abstract class Grouping {
       return s.slice(0, groupIndex + 1);
     }
 
+    @Override
+    GroupingDataFrame aggregate(Series s, Series.Function function) {
+      Series result = RollingWindow.aggregate(s, function, this.size, true);
+      if (result == null) {
+        return super.aggregate(s, function);
+      }
+      return super.makeResult(result);
+    }
+
+    @Override
+    GroupingDataFrame count(Series s) {
+      return super.makeResult(RollingWindow.count(super.size(), this.size, true));
+    }
+
+    @Override
+    GroupingDataFrame mean(Series s) {
+      if (!isNumeric(s)) {
+        return super.mean(s);
+      }
+      return super.makeResult(RollingWindow.mean(s.getDoubles(), this.size, true));
+    }
+
+    @Override
+    GroupingDataFrame median(Series s) {
+      if (!isNumeric(s)) {
+        return super.median(s);
+      }
+      return super.makeResult(RollingWindow.median(s.getDoubles(), this.size, true));
+    }
+
+    @Override
+    GroupingDataFrame std(Series s) {
+      if (!isNumeric(s)) {
+        return super.std(s);
+      }
+      return super.makeResult(RollingWindow.std(s.getDoubles(), this.size, true));
+    }
+
     @Override
     GroupingDataFrame sum(Series s) {
       switch (s.type()) {
@@ -1169,11 +1853,6 @@ public abstract class Grouping {
       return super.makeResult(DoubleSeries.buildFrom(values));
     }
 
-    private static GroupingDataFrame longToBoolean(GroupingDataFrame gdf) {
-      return new GroupingDataFrame(gdf.keyName, gdf.valueName, gdf.getKeys(),
-          gdf.getValues().getBooleans());
-    }
-
     public static GroupingByExpandingWindow from(int size) {
       return new GroupingByExpandingWindow(LongSeries.sequence(0, size), size);
     }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+/**
+ * Custom hash map from primitive long keys to dense group ids, assigned in order of first
+ * appearance. Primitive, append only, open-addressing with linear probing. Grows on demand.
+ */
+final class LongGroupMap {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int EMPTY = 0;
+
+  private long[] keys;
+  // group id + 1, EMPTY indicates an empty slot
+  private int[] ids;
+  private int mask;
+  private int size;
+
+  LongGroupMap(final int expectedSize) {
+    final int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, MIN_CAPACITY) - 1) << 1;
+    this.keys = new long[capacity];
+    this.ids = new int[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Returns the group id of {@code key}. Assigns the next group id if the key is new.
+   *
+   * @param key group key
+   * @return group id
+   */
+  int groupId(final long key) {
+    int index = hash(key) & this.mask;
+    while (this.ids[index] != EMPTY) {
+      if (this.keys[index] == key) {
+        return this.ids[index] - 1;
+      }
+      index = (index + 1) & this.mask;
+    }
+
+    final int id = this.size++;
+    this.keys[index] = key;
+    this.ids[index] = id + 1;
+    if (this.size * 2 > this.ids.length) {
+      this.grow();
+    }
+    return id;
+  }
+
+  /**
+   * Returns the number of distinct keys.
+   *
+   * @return group count
+   */
+  int size() {
+    return this.size;
+  }
+
+  private void grow() {
+    final long[] oldKeys = this.keys;
+    final int[] oldIds = this.ids;
+
+    this.keys = new long[oldKeys.length * 2];
+    this.ids = new int[oldIds.length * 2];
+    this.mask = this.ids.length - 1;
+
+    for (int i = 0; i < oldIds.length; i++) {
+      if (oldIds[i] != EMPTY) {
+        int index = hash(oldKeys[i]) & this.mask;
+        while (this.ids[index] != EMPTY) {
+          index = (index + 1) & this.mask;
+        }
+        this.keys[index] = oldKeys[i];
+        this.ids[index] = oldIds[i];
+      }
+    }
+  }
+
+  private static int hash(final long key) {
+    // murmur3 finalizer - spreads sequential keys such as timestamps
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
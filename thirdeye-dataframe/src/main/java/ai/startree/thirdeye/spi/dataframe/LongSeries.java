@@ -156,7 +156,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     @Override
     public Builder addSeries(Collection<Series> series) {
       for (Series s : series) {
-        this.addValues(s.getLongs().values);
+        this.addValues(s.getLongs().values());
       }
       return this;
     }
@@ -230,10 +230,25 @@ public final class LongSeries extends TypedSeries<LongSeries> {
   }
 
   // CAUTION: The array is final, but values are inherently modifiable
+  // NOTE: the array may be shared with other series, see slice(int, int)
   private final long[] values;
+  private final int offset;
+  private final int size;
+  // true if the array is shared with the series this one was sliced from
+  private final boolean view;
+
+  // lazily compacted values of a view
+  private volatile long[] compacted;
 
   private LongSeries(long... values) {
+    this(values, 0, values.length, false);
+  }
+
+  private LongSeries(long[] values, int offset, int size, boolean view) {
     this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.view = view;
   }
 
   @Override
@@ -248,7 +263,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public double getDouble(int index) {
-    return getDouble(this.values[index]);
+    return getDouble(this.values[this.offset + index]);
   }
 
   public static double getDouble(long value) {
@@ -260,7 +275,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public long getLong(int index) {
-    return getLong(this.values[index]);
+    return getLong(this.values[this.offset + index]);
   }
 
   public static long getLong(long value) {
@@ -269,7 +284,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public byte getBoolean(int index) {
-    return getBoolean(this.values[index]);
+    return getBoolean(this.values[this.offset + index]);
   }
 
   public static byte getBoolean(long value) {
@@ -281,7 +296,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public String getString(int index) {
-    return getString(this.values[index]);
+    return getString(this.values[this.offset + index]);
   }
 
   public static String getString(long value) {
@@ -293,7 +308,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public Object getObject(int index) {
-    return getObject(this.values[index]);
+    return getObject(this.values[this.offset + index]);
   }
 
   public static Object getObject(long value) {
@@ -304,17 +319,17 @@ public final class LongSeries extends TypedSeries<LongSeries> {
   }
 
   public long get(int index) {
-    return this.values[index];
+    return this.values[this.offset + index];
   }
 
   @Override
   public boolean isNull(int index) {
-    return isNull(this.values[index]);
+    return isNull(this.values[this.offset + index]);
   }
 
   @Override
   public int size() {
-    return this.values.length;
+    return this.size;
   }
 
   @Override
@@ -322,15 +337,37 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     return SeriesType.LONG;
   }
 
+  /**
+   * Returns the series values as array. If the series is a view sharing the array of the series
+   * it was sliced from, the values are copied into a new array once on first access: the shared
+   * array is never returned, even for a full-range slice.
+   *
+   * <br/><b>NOTE:</b> the array must not be modified if the series is a view.
+   *
+   * @return series values
+   * @see LongSeries#slice(int, int)
+   */
   public long[] values() {
-    return this.values;
+    if (!this.isView()) {
+      return this.values;
+    }
+    long[] compacted = this.compacted;
+    if (compacted == null) {
+      compacted = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+      this.compacted = compacted;
+    }
+    return compacted;
+  }
+
+  boolean isView() {
+    return this.view;
   }
 
   public long value() {
     if (this.size() != 1) {
       throw new IllegalStateException("Series must contain exactly one element");
     }
-    return this.values[0];
+    return this.values[this.offset];
   }
 
   /**
@@ -339,10 +376,10 @@ public final class LongSeries extends TypedSeries<LongSeries> {
    * @return list of series elements
    */
   public List<Long> toList() {
-    Long[] values = new Long[this.values.length];
-    for (int i = 0; i < this.values.length; i++) {
+    Long[] values = new Long[this.size];
+    for (int i = 0; i < this.size; i++) {
       if (!this.isNull(i)) {
-        values[i] = this.values[i];
+        values[i] = this.values[this.offset + i];
       }
     }
     return Arrays.asList(values);
@@ -352,14 +389,33 @@ public final class LongSeries extends TypedSeries<LongSeries> {
   public LongSeries slice(int from, int to) {
     from = Math.max(Math.min(this.size(), from), 0);
     to = Math.max(Math.min(this.size(), to), 0);
-    return buildFrom(Arrays.copyOfRange(this.values, from, to));
+    if (from > to) {
+      throw new IllegalArgumentException(String.format("from (%d) must be <= to (%d)", from, to));
+    }
+    if ((long) (to - from) * SLICE_COPY_FRACTION < this.values.length) {
+      // copy small slices so that they do not retain the whole array
+      return buildFrom(Arrays.copyOfRange(this.values, this.offset + from, this.offset + to));
+    }
+    // NOTE: zero-copy view on the same array
+    return new LongSeries(this.values, this.offset + from, to - from, true);
+  }
+
+  /**
+   * Returns a copy of the series backed by a new array. Unlike {@code slice()}, the copy does
+   * not share its values with this series and may be modified safely.
+   *
+   * @return series copy
+   */
+  @Override
+  public LongSeries copy() {
+    return buildFrom(Arrays.copyOfRange(this.values, this.offset, this.offset + this.size));
   }
 
   @Override
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("LongSeries{");
-    for (long l : this.values) {
+    for (long l : this.values()) {
       if (isNull(l)) {
         builder.append("null");
       } else {
@@ -376,7 +432,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     if (this.isNull(index)) {
       return TOSTRING_NULL;
     }
-    return String.valueOf(this.values[index]);
+    return String.valueOf(this.values[this.offset + index]);
   }
 
   public LongSeries sum() {
@@ -663,8 +719,8 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     }
     assertSameLength(this, mask, other);
 
-    long[] values = Arrays.copyOf(this.values, this.values.length);
-    for (int i = 0; i < this.values.length; i++) {
+    long[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+    for (int i = 0; i < this.size; i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = other.getLong(i);
       }
@@ -674,12 +730,12 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   public LongSeries set(BooleanSeries mask, long value) {
     assertSameLength(this, mask);
-    long[] values = new long[this.values.length];
+    long[] values = new long[this.size];
     for (int i = 0; i < mask.size(); i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = value;
       } else {
-        values[i] = this.values[i];
+        values[i] = this.values[this.offset + i];
       }
     }
     return buildFrom(values);
@@ -687,7 +743,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   public int count(long value) {
     int count = 0;
-    for (long v : this.values) {
+    for (long v : this.values()) {
       if (v == value) {
         count++;
       }
@@ -711,8 +767,8 @@ public final class LongSeries extends TypedSeries<LongSeries> {
   }
 
   public int find(long value, int startOffset) {
-    for (int i = startOffset; i < this.values.length; i++) {
-      if (this.values[i] == value) {
+    for (int i = startOffset; i < this.size; i++) {
+      if (this.values[this.offset + i] == value) {
         return i;
       }
     }
@@ -731,7 +787,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   int hashCode(int index) {
-    return (int) this.values[index];
+    return (int) this.values[this.offset + index];
   }
 
   /**
@@ -742,7 +798,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
    * @return series copy without nulls
    */
   public LongSeries fillNull(long value) {
-    long[] values = Arrays.copyOf(this.values, this.values.length);
+    long[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     for (int i = 0; i < values.length; i++) {
       if (isNull(values[i])) {
         values[i] = value;
@@ -758,7 +814,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
       if (fromIndex[i] == -1) {
         values[i] = NULL;
       } else {
-        values[i] = this.values[fromIndex[i]];
+        values[i] = this.values[this.offset + fromIndex[i]];
       }
     }
     return buildFrom(values);
@@ -775,17 +831,17 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
     LongSeries that = (LongSeries) o;
 
-    return Arrays.equals(this.values, that.values);
+    return Arrays.equals(this.values(), that.values());
   }
 
   @Override
   int compare(Series that, int indexThis, int indexThat) {
-    return Long.compare(this.values[indexThis], that.getLong(indexThat));
+    return Long.compare(this.values[this.offset + indexThis], that.getLong(indexThat));
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.values);
+    return Arrays.hashCode(this.values());
   }
 
   /**
@@ -899,7 +955,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
    * @see Series#aggregate(Function)
    */
   public static LongSeries aggregate(LongFunction function, Series series) {
-    return buildFrom(function.apply(series.dropNull().getLongs().values));
+    return buildFrom(function.apply(series.dropNull().getLongs().values()));
   }
 
   /**
@@ -907,7 +963,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
    */
   public static BooleanSeries aggregate(LongConditional function, Series series) {
     return BooleanSeries.builder()
-        .addBooleanValues(function.apply(series.dropNull().getLongs().values)).build();
+        .addBooleanValues(function.apply(series.dropNull().getLongs().values())).build();
   }
 
   public static long valueOf(Long value) {
@@ -930,13 +986,13 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public LongSeries shift(int offset) {
-    long[] values = new long[this.values.length];
+    long[] values = new long[this.size];
     if (offset >= 0) {
       Arrays.fill(values, 0, Math.min(offset, values.length), NULL);
-      System.arraycopy(this.values, 0, values, Math.min(offset, values.length),
+      System.arraycopy(this.values, this.offset, values, Math.min(offset, values.length),
           Math.max(values.length - offset, 0));
     } else {
-      System.arraycopy(this.values, Math.min(-offset, values.length), values, 0,
+      System.arraycopy(this.values, this.offset + Math.min(-offset, values.length), values, 0,
           Math.max(values.length + offset, 0));
       Arrays.fill(values, Math.max(values.length + offset, 0), values.length, NULL);
     }
@@ -945,7 +1001,7 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public LongSeries sorted() {
-    long[] values = Arrays.copyOf(this.values, this.values.length);
+    long[] values = Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
     Arrays.sort(values);
     return buildFrom(values);
   }
@@ -953,8 +1009,8 @@ public final class LongSeries extends TypedSeries<LongSeries> {
   @Override
   int[] sortedIndex() {
     List<LongSortTuple> tuples = new ArrayList<>();
-    for (int i = 0; i < this.values.length; i++) {
-      tuples.add(new LongSortTuple(this.values[i], i));
+    for (int i = 0; i < this.size; i++) {
+      tuples.add(new LongSortTuple(this.values[this.offset + i], i));
     }
 
     Collections.sort(tuples, new Comparator<LongSortTuple>() {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import ai.startree.thirdeye.spi.dataframe.Series.SeriesType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Columnar loader for JDBC result sets. Reads the result set metadata once and writes values
+ * directly into growable primitive buffers per column, avoiding boxed rows.
+ *
+ * <br/><b>NOTE:</b> the resulting series types are inferred from the loaded values, consistent
+ * with {@link DataFrame.Builder}. For instance, a DOUBLE column with integral values only
+ * results in a LongSeries, and a column with {@code null} values only results in a
+ * BooleanSeries.
+ *
+ * @see DataFrame#fromResultSet(ResultSet)
+ */
+final class ResultSetLoader {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private ResultSetLoader() {
+    // left blank
+  }
+
+  static DataFrame load(final ResultSet resultSet) throws SQLException {
+    final ResultSetMetaData metaData = resultSet.getMetaData();
+    final int columnCount = metaData.getColumnCount();
+
+    final String[] names = new String[columnCount];
+    final ColumnBuffer[] buffers = new ColumnBuffer[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      names[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ENGLISH);
+      buffers[i] = newBuffer(DataFrame.jdbcTypeToSeriesType(metaData.getColumnType(i + 1)));
+    }
+
+    int rowCount = 0;
+    while (resultSet.next()) {
+      for (int i = 0; i < columnCount; i++) {
+        buffers[i].read(resultSet, i + 1, rowCount);
+      }
+      rowCount++;
+    }
+
+    final DataFrame df = new DataFrame();
+    for (int i = 0; i < columnCount; i++) {
+      if (rowCount <= 0) {
+        // consistent with DataFrame.Builder
+        df.addSeries(names[i], ObjectSeries.empty());
+      } else {
+        df.addSeries(names[i], buffers[i].build(rowCount));
+      }
+    }
+    return df;
+  }
+
+  private static ColumnBuffer newBuffer(final SeriesType type) {
+    switch (type) {
+      case DOUBLE:
+        return new DoubleColumnBuffer();
+      case LONG:
+        return new LongColumnBuffer();
+      case STRING:
+        return new StringColumnBuffer();
+      case BOOLEAN:
+        return new BooleanColumnBuffer();
+      case OBJECT:
+        return new ObjectColumnBuffer();
+      default:
+        throw new IllegalArgumentException(String.format("Unknown series type '%s'", type));
+    }
+  }
+
+  private static int grow(final int capacity, final int index) {
+    int newCapacity = Math.max(capacity, INITIAL_CAPACITY);
+    while (newCapacity <= index) {
+      newCapacity *= 2;
+    }
+    return newCapacity;
+  }
+
+  private abstract static class ColumnBuffer {
+
+    int nonNullCount;
+
+    abstract void read(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+    abstract Series build(int size);
+  }
+
+  private static final class DoubleColumnBuffer extends ColumnBuffer {
+
+    double[] values = new double[0];
+    boolean allIntegral = true;
+
+    @Override
+    void read(final ResultSet resultSet, final int columnIndex, final int row)
+        throws SQLException {
+      if (row >= this.values.length) {
+        this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+      }
+      final double value = resultSet.getDouble(columnIndex);
+      if (resultSet.wasNull()) {
+        this.values[row] = DoubleSeries.NULL;
+        return;
+      }
+      this.values[row] = value;
+      this.nonNullCount++;
+      this.allIntegral &= (long) value == value;
+    }
+
+    @Override
+    Series build(final int size) {
+      if (this.nonNullCount <= 0) {
+        return BooleanSeries.nulls(size);
+      }
+      final DoubleSeries series = DoubleSeries.buildFrom(Arrays.copyOf(this.values, size));
+      return this.allIntegral ? series.getLongs() : series;
+    }
+  }
+
+  private static final class LongColumnBuffer extends ColumnBuffer {
+
+    long[] values = new long[0];
+
+    @Override
+    void read(final ResultSet resultSet, final int columnIndex, final int row)
+        throws SQLException {
+      if (row >= this.values.length) {
+        this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+      }
+      final long value = resultSet.getLong(columnIndex);
+      if (resultSet.wasNull()) {
+        this.values[row] = LongSeries.NULL;
+        return;
+      }
+      this.values[row] = value;
+      this.nonNullCount++;
+    }
+
+    @Override
+    Series build(final int size) {
+      if (this.nonNullCount <= 0) {
+        return BooleanSeries.nulls(size);
+      }
+      return LongSeries.buildFrom(Arrays.copyOf(this.values, size));
+    }
+  }
+
+  private static final class BooleanColumnBuffer extends ColumnBuffer {
+
+    byte[] values = new byte[0];
+
+    @Override
+    void read(final ResultSet resultSet, final int columnIndex, final int row)
+        throws SQLException {
+      if (row >= this.values.length) {
+        this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+      }
+      final boolean value = resultSet.getBoolean(columnIndex);
+      if (resultSet.wasNull()) {
+        this.values[row] = BooleanSeries.NULL;
+        return;
+      }
+      this.values[row] = BooleanSeries.valueOf(value);
+      this.nonNullCount++;
+    }
+
+    @Override
+    Series build(final int size) {
+      return BooleanSeries.buildFrom(Arrays.copyOf(this.values, size));
+    }
+  }
+
+  private static final class StringColumnBuffer extends ColumnBuffer {
+
+    String[] values = new String[0];
+
+    @Override
+    void read(final ResultSet resultSet, final int columnIndex, final int row)
+        throws SQLException {
+      if (row >= this.values.length) {
+        this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+      }
+      final String value = resultSet.getString(columnIndex);
+      this.values[row] = resultSet.wasNull() ? StringSeries.NULL : value;
+    }
+
+    @Override
+    Series build(final int size) {
+      return StringSeries.buildFrom(Arrays.copyOf(this.values, size)).toInferredType();
+    }
+  }
+
+  private static final class ObjectColumnBuffer extends ColumnBuffer {
+
+    Object[] values = new Object[0];
+
+    @Override
+    void read(final ResultSet resultSet, final int columnIndex, final int row)
+        throws SQLException {
+      if (row >= this.values.length) {
+        this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+      }
+      final Object value = resultSet.getObject(columnIndex);
+      this.values[row] = resultSet.wasNull() ? ObjectSeries.NULL : value;
+    }
+
+    @Override
+    Series build(final int size) {
+      final ObjectSeries series = ObjectSeries.buildFrom(Arrays.copyOf(this.values, size));
+      return series.get(series.inferType());
+    }
+  }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import java.util.Arrays;
+
+/**
+ * Streaming kernels for aggregations over moving and expanding windows. Each kernel makes a
+ * single pass over the series, adding the value entering the window and removing the value
+ * leaving it, rather than re-aggregating every window from scratch. {@code null} values are
+ * skipped, consistent with {@link Series#aggregate(Series.Function)}.
+ *
+ * <br/><b>NOTE:</b> window {@code i} covers the indices {@code [i - windowSize + 1, i]}. If
+ * {@code partialWindows} is {@code false}, windows that do not fit the series yet (i.e.
+ * {@code i < windowSize - 1}) evaluate to {@code null}, otherwise they are truncated at
+ * index {@code 0}.
+ *
+ * @see Grouping.GroupingByMovingWindow
+ * @see Grouping.GroupingByExpandingWindow
+ */
+final class RollingWindow {
+
+  private RollingWindow() {
+    // left blank
+  }
+
+  /**
+   * Returns the rolling aggregate of {@code s} for a supported {@code function}, or {@code null}
+   * if there is no streaming kernel for the function.
+   *
+   * @param s input series
+   * @param function aggregation function
+   * @param windowSize window size
+   * @param partialWindows evaluate windows truncated at index 0
+   * @return aggregated series with the same size as {@code s}, or {@code null}
+   */
+  static Series aggregate(Series s, Series.Function function, int windowSize,
+      boolean partialWindows) {
+    if (function instanceof DoubleSeries.DoubleMean) {
+      return mean(s.getDoubles(), windowSize, partialWindows);
+    }
+    if (function instanceof DoubleSeries.DoubleStandardDeviation) {
+      return std(s.getDoubles(), windowSize, partialWindows);
+    }
+    if (function instanceof DoubleSeries.DoubleMedian) {
+      return median(s.getDoubles(), windowSize, partialWindows);
+    }
+    if (function instanceof DoubleSeries.DoubleQuantile) {
+      return quantile(s.getDoubles(), windowSize, partialWindows,
+          ((DoubleSeries.DoubleQuantile) function).q);
+    }
+    if (function instanceof DoubleSeries.DoubleMin) {
+      return min(s.getDoubles(), windowSize, partialWindows);
+    }
+    if (function instanceof DoubleSeries.DoubleMax) {
+      return max(s.getDoubles(), windowSize, partialWindows);
+    }
+    if (function instanceof LongSeries.LongMin) {
+      return min(s.getLongs(), windowSize, partialWindows);
+    }
+    if (function instanceof LongSeries.LongMax) {
+      return max(s.getLongs(), windowSize, partialWindows);
+    }
+    return null;
+  }
+
+  static LongSeries count(int size, int windowSize, boolean partialWindows) {
+    long[] values = new long[size];
+    for (int i = 0; i < size; i++) {
+      if (isComplete(i, windowSize, partialWindows)) {
+        values[i] = Math.min(i + 1, windowSize);
+      }
+    }
+    return LongSeries.buildFrom(values);
+  }
+
+  /**
+   * Rolling mean using Welford's online algorithm with removal.
+   */
+  static DoubleSeries mean(DoubleSeries s, int windowSize, boolean partialWindows) {
+    double[] out = new double[s.size()];
+    Moments moments = new Moments();
+    for (int i = 0; i < out.length; i++) {
+      slide(moments, s, i, windowSize);
+      if (!isComplete(i, windowSize, partialWindows) || moments.count <= 0) {
+        out[i] = DoubleSeries.NULL;
+      } else {
+        out[i] = moments.mean();
+      }
+    }
+    return DoubleSeries.buildFrom(out);
+  }
+
+  /**
+   * Rolling sample standard deviation using Welford's online algorithm with removal.
+   */
+  static DoubleSeries std(DoubleSeries s, int windowSize, boolean partialWindows) {
+    double[] out = new double[s.size()];
+    Moments moments = new Moments();
+    for (int i = 0; i < out.length; i++) {
+      slide(moments, s, i, windowSize);
+      if (!isComplete(i, windowSize, partialWindows) || moments.count <= 1) {
+        out[i] = DoubleSeries.NULL;
+      } else {
+        out[i] = moments.std();
+      }
+    }
+    return DoubleSeries.buildFrom(out);
+  }
+
+  private static void slide(Moments moments, DoubleSeries s, int i, int windowSize) {
+    if (!s.isNull(i)) {
+      moments.add(s.getDouble(i));
+    }
+    int leaving = i - windowSize;
+    if (leaving >= 0 && !s.isNull(leaving)) {
+      moments.remove(s.getDouble(leaving));
+    }
+  }
+
+  static DoubleSeries median(DoubleSeries s, int windowSize, boolean partialWindows) {
+    return orderStatistic(s, windowSize, partialWindows, -1);
+  }
+
+  static DoubleSeries quantile(DoubleSeries s, int windowSize, boolean partialWindows,
+      double q) {
+    return orderStatistic(s, windowSize, partialWindows, q);
+  }
+
+  /**
+   * Rolling median ({@code q < 0}) or quantile based on a Fenwick tree over value ranks.
+   * Each step costs O(log n). Interpolation matches {@link DoubleSeries.DoubleQuantile}
+   * and {@link DoubleSeries.DoubleMedian}.
+   */
+  private static DoubleSeries orderStatistic(DoubleSeries s, int windowSize,
+      boolean partialWindows, double q) {
+    int size = s.size();
+    double[] out = new double[size];
+
+    // rank values, ties are broken by position
+    double[] sorted = new double[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (!s.isNull(i)) {
+        sorted[count++] = s.getDouble(i);
+      }
+    }
+    sorted = Arrays.copyOf(sorted, count);
+    Arrays.sort(sorted);
+
+    int[] ranks = new int[size];
+    int[] used = new int[count];
+    for (int i = 0; i < size; i++) {
+      if (!s.isNull(i)) {
+        int first = lowerBound(sorted, s.getDouble(i));
+        ranks[i] = first + used[first]++;
+      }
+    }
+
+    RankTree tree = new RankTree(count);
+    for (int i = 0; i < size; i++) {
+      if (!s.isNull(i)) {
+        tree.add(ranks[i], 1);
+      }
+      int leaving = i - windowSize;
+      if (leaving >= 0 && !s.isNull(leaving)) {
+        tree.add(ranks[leaving], -1);
+      }
+
+      int n = tree.size;
+      if (!isComplete(i, windowSize, partialWindows) || n <= 0) {
+        out[i] = DoubleSeries.NULL;
+      } else if (q < 0) {
+        double mid = sorted[tree.select(n / 2)];
+        out[i] = n % 2 == 1 ? mid : (sorted[tree.select(n / 2 - 1)] + mid) / 2;
+      } else {
+        double index = (n - 1) * q;
+        int lo = (int) Math.floor(index);
+        int hi = (int) Math.ceil(index);
+        double vlo = sorted[tree.select(lo)];
+        double vhi = sorted[tree.select(hi)];
+        out[i] = vlo + (vhi - vlo) * (index - lo);
+      }
+    }
+    return DoubleSeries.buildFrom(out);
+  }
+
+  private static int lowerBound(double[] sorted, double value) {
+    int lo = 0;
+    int hi = sorted.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (Double.compare(sorted[mid], value) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Rolling minimum based on a monotonic deque of indices.
+   */
+  static DoubleSeries min(DoubleSeries s, int windowSize, boolean partialWindows) {
+    return extremum(s, windowSize, partialWindows, true);
+  }
+
+  /**
+   * Rolling maximum based on a monotonic deque of indices.
+   */
+  static DoubleSeries max(DoubleSeries s, int windowSize, boolean partialWindows) {
+    return extremum(s, windowSize, partialWindows, false);
+  }
+
+  private static DoubleSeries extremum(DoubleSeries s, int windowSize, boolean partialWindows,
+      boolean isMin) {
+    double[] out = new double[s.size()];
+    IndexDeque deque = new IndexDeque(Math.min(out.length, windowSize) + 1);
+    for (int i = 0; i < out.length; i++) {
+      if (!s.isNull(i)) {
+        double v = s.getDouble(i);
+        while (!deque.isEmpty() && (isMin ? s.getDouble(deque.last()) >= v
+            : s.getDouble(deque.last()) <= v)) {
+          deque.removeLast();
+        }
+        deque.addLast(i);
+      }
+      evict(deque, i, windowSize);
+
+      if (!isComplete(i, windowSize, partialWindows) || deque.isEmpty()) {
+        out[i] = DoubleSeries.NULL;
+      } else {
+        out[i] = s.getDouble(deque.first());
+      }
+    }
+    return DoubleSeries.buildFrom(out);
+  }
+
+  static LongSeries min(LongSeries s, int windowSize, boolean partialWindows) {
+    return extremum(s, windowSize, partialWindows, true);
+  }
+
+  static LongSeries max(LongSeries s, int windowSize, boolean partialWindows) {
+    return extremum(s, windowSize, partialWindows, false);
+  }
+
+  private static LongSeries extremum(LongSeries s, int windowSize, boolean partialWindows,
+      boolean isMin) {
+    long[] out = new long[s.size()];
+    IndexDeque deque = new IndexDeque(Math.min(out.length, windowSize) + 1);
+    for (int i = 0; i < out.length; i++) {
+      if (!s.isNull(i)) {
+        long v = s.getLong(i);
+        while (!deque.isEmpty() && (isMin ? s.getLong(deque.last()) >= v
+            : s.getLong(deque.last()) <= v)) {
+          deque.removeLast();
+        }
+        deque.addLast(i);
+      }
+      evict(deque, i, windowSize);
+
+      if (!isComplete(i, windowSize, partialWindows) || deque.isEmpty()) {
+        out[i] = LongSeries.NULL;
+      } else {
+        out[i] = s.getLong(deque.first());
+      }
+    }
+    return LongSeries.buildFrom(out);
+  }
+
+  private static void evict(IndexDeque deque, int i, int windowSize) {
+    while (!deque.isEmpty() && deque.first() <= i - windowSize) {
+      deque.removeFirst();
+    }
+  }
+
+  private static boolean isComplete(int i, int windowSize, boolean partialWindows) {
+    return partialWindows || i >= windowSize - 1;
+  }
+
+  /**
+   * Running count, mean and sum of squared differences from the mean. Infinite values are
+   * counted separately and do not enter the Welford updates: once an infinity is added, the
+   * updates would only produce {@code NaN}, and removing it would not recover the finite state.
+   */
+  static final class Moments {
+
+    int count;
+    int positiveInfinities;
+    int negativeInfinities;
+    // mean and m2 of the finite values
+    double mean;
+    double m2;
+
+    void add(double value) {
+      this.count++;
+      if (value == Double.POSITIVE_INFINITY) {
+        this.positiveInfinities++;
+        return;
+      }
+      if (value == Double.NEGATIVE_INFINITY) {
+        this.negativeInfinities++;
+        return;
+      }
+      int finiteCount = finiteCount();
+      double delta = value - this.mean;
+      this.mean += delta / finiteCount;
+      this.m2 += delta * (value - this.mean);
+    }
+
+    void remove(double value) {
+      this.count--;
+      if (value == Double.POSITIVE_INFINITY) {
+        this.positiveInfinities--;
+        return;
+      }
+      if (value == Double.NEGATIVE_INFINITY) {
+        this.negativeInfinities--;
+        return;
+      }
+      int finiteCount = finiteCount();
+      if (finiteCount <= 0) {
+        this.mean = 0;
+        this.m2 = 0;
+        return;
+      }
+      double delta = value - this.mean;
+      this.mean -= delta / finiteCount;
+      this.m2 -= delta * (value - this.mean);
+    }
+
+    /**
+     * Returns the mean, consistent with {@link DoubleSeries.DoubleMean} if the window contains
+     * infinite values.
+     */
+    double mean() {
+      if (this.positiveInfinities > 0 && this.negativeInfinities > 0) {
+        return Double.NaN;
+      }
+      if (this.positiveInfinities > 0) {
+        return Double.POSITIVE_INFINITY;
+      }
+      if (this.negativeInfinities > 0) {
+        return Double.NEGATIVE_INFINITY;
+      }
+      return this.mean;
+    }
+
+    /**
+     * Returns the sample standard deviation, consistent with
+     * {@link DoubleSeries.DoubleStandardDeviation} if the window contains infinite values.
+     */
+    double std() {
+      if (this.positiveInfinities > 0 || this.negativeInfinities > 0) {
+        return Double.NaN;
+      }
+      return Math.sqrt(Math.max(this.m2, 0.0d) / (this.count - 1));
+    }
+
+    private int finiteCount() {
+      return this.count - this.positiveInfinities - this.negativeInfinities;
+    }
+  }
+
+  /**
+   * Fenwick tree over value ranks. Supports insertion, removal and selection of the k-th
+   * smallest rank in O(log n).
+   */
+  static final class RankTree {
+
+    private final int[] tree;
+    private final int highBit;
+    int size;
+
+    RankTree(int capacity) {
+      this.tree = new int[capacity + 1];
+      this.highBit = capacity > 0 ? Integer.highestOneBit(capacity) : 0;
+    }
+
+    void add(int rank, int delta) {
+      this.size += delta;
+      for (int i = rank + 1; i < this.tree.length; i += i & -i) {
+        this.tree[i] += delta;
+      }
+    }
+
+    /**
+     * Returns the k-th (0-based) smallest rank currently contained in the tree.
+     */
+    int select(int k) {
+      int pos = 0;
+      int remaining = k + 1;
+      for (int step = this.highBit; step > 0; step >>= 1) {
+        int next = pos + step;
+        if (next < this.tree.length && this.tree[next] < remaining) {
+          pos = next;
+          remaining -= this.tree[next];
+        }
+      }
+      return pos;
+    }
+  }
+
+  /**
+   * Fixed-capacity ring buffer of indices.
+   */
+  static final class IndexDeque {
+
+    private final int[] buffer;
+    private int head;
+    private int size;
+
+    IndexDeque(int capacity) {
+      this.buffer = new int[Math.max(capacity, 1)];
+    }
+
+    boolean isEmpty() {
+      return this.size <= 0;
+    }
+
+    int first() {
+      return this.buffer[this.head];
+    }
+
+    int last() {
+      return this.buffer[(this.head + this.size - 1) % this.buffer.length];
+    }
+
+    void addLast(int value) {
+      this.buffer[(this.head + this.size) % this.buffer.length] = value;
+      this.size++;
+    }
+
+    void removeFirst() {
+      this.head = (this.head + 1) % this.buffer.length;
+      this.size--;
+    }
+
+    void removeLast() {
+      this.size--;
+    }
+  }
+}
@@ -43,6 +43,10 @@ public abstract class Series {
 
   public static final String TOSTRING_NULL = "null";
 
+  // a slice smaller than 1/SLICE_COPY_FRACTION of the backing array is copied rather than
+  // viewed, so that a small slice does not retain a large array
+  static final int SLICE_COPY_FRACTION = 4;
+
   public enum SeriesType {
     DOUBLE,
     LONG,
@@ -237,7 +241,7 @@ public abstract class Series {
    *
    * @param from start index (inclusive), must be >= 0
    * @param to end index (exclusive), must be <= size
-   * @return sliced series copy
+   * @return sliced series, may share its values with this series unless it is much smaller
    */
   public abstract Series slice(int from, int to);
 
@@ -1252,6 +1256,70 @@ public abstract class Series {
    * Internal interface
    * *************************************************************************/
 
+  /**
+   * Returns a collection of JoinPairs for a join on a single long series on each side, performed
+   * with a linear merge. Only applies if both series are sorted in ascending order - timestamps
+   * usually are. Pairs are emitted directly for the given join type, in the same order as the
+   * filtered pairs of {@link Series#hashJoinOuter(Series[], Series[])}.
+   *
+   * @param left left side of the join
+   * @param right right side of the join
+   * @param joinType type of join to perform
+   * @return JoinPairs, or {@code null} if the merge join does not apply
+   */
+  static JoinPairs mergeJoin(Series[] left, Series[] right, JoinType joinType) {
+    if (left.length != 1 || right.length != 1 || left[0].type() != SeriesType.LONG
+        || right[0].type() != SeriesType.LONG) {
+      return null;
+    }
+    final long[] leftValues = left[0].getLongs().values();
+    final long[] rightValues = right[0].getLongs().values();
+    if (!isSorted(leftValues) || !isSorted(rightValues)) {
+      return null;
+    }
+
+    final boolean withLeftOnly = joinType == JoinType.LEFT || joinType == JoinType.OUTER;
+    final boolean withRightOnly = joinType == JoinType.RIGHT || joinType == JoinType.OUTER;
+
+    final JoinPairs pairs = new JoinPairs(Math.max(leftValues.length, rightValues.length));
+    final BitSet touchedRight = new BitSet(rightValues.length);
+
+    int rightStart = 0;
+    for (int i = 0; i < leftValues.length; i++) {
+      while (rightStart < rightValues.length && rightValues[rightStart] < leftValues[i]) {
+        rightStart++;
+      }
+      // do not move rightStart past matches: the next left value may be a duplicate
+      int j = rightStart;
+      while (j < rightValues.length && rightValues[j] == leftValues[i]) {
+        pairs.add(i, j);
+        touchedRight.set(j);
+        j++;
+      }
+      if (j == rightStart && withLeftOnly) {
+        pairs.add(i, -1);
+      }
+    }
+
+    if (withRightOnly) {
+      for (int j = touchedRight.nextClearBit(0); j < rightValues.length;
+          j = touchedRight.nextClearBit(j + 1)) {
+        pairs.add(-1, j);
+      }
+    }
+
+    return pairs;
+  }
+
+  private static boolean isSorted(long[] values) {
+    for (int i = 1; i < values.length; i++) {
+      if (values[i - 1] > values[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Returns a collection of JoinPairs for an outer join performed based on hash and equality.
    * Can perform joins across multiple columns on both sides.
@@ -1280,6 +1348,15 @@ public abstract class Series {
       rightTyped[i] = right[i].get(left[i].type());
     }
 
+    left = Arrays.copyOf(left, left.length);
+    alignDictionaries(left, rightTyped);
+
+    if (left.length > 1) {
+      Series[] composite = compositeKeys(left, rightTyped);
+      left = new Series[]{composite[0]};
+      rightTyped = new Series[]{composite[1]};
+    }
+
     PrimitiveMultimap hashRight = new PrimitiveMultimap(rightTyped);
 
     for (int i = 0; i < left[0].size(); i++) {
@@ -1331,6 +1408,9 @@ public abstract class Series {
       rightTyped[i] = right[i].get(left[i].type());
     }
 
+    left = Arrays.copyOf(left, left.length);
+    alignDictionaries(left, rightTyped);
+
     Multimap<Integer, Integer> hashRight = ArrayListMultimap.create(right[0].size(), 1);
     for (int j = 0; j < right[0].size(); j++) {
       hashRight.put(PrimitiveMultimap.hashRow(rightTyped, j), j);
@@ -1393,6 +1473,15 @@ public abstract class Series {
       rightTyped[i] = right[i].get(left[i].type());
     }
 
+    left = Arrays.copyOf(left, left.length);
+    alignDictionaries(left, rightTyped);
+
+    if (left.length > 1) {
+      Series[] composite = compositeKeys(left, rightTyped);
+      left = new Series[]{composite[0]};
+      rightTyped = new Series[]{composite[1]};
+    }
+
     PrimitiveMultimap hashRight = new PrimitiveMultimap(rightTyped);
 
     for (int i = 0; i < left[0].size(); i++) {
@@ -1404,6 +1493,64 @@ public abstract class Series {
     return pairs;
   }
 
+  /**
+   * Returns a single long key series for each side of a multi-column join, such that two rows
+   * have equal keys if and only if they are equal across all columns. Values of both sides are
+   * numbered together so no {@code Tuple} or per-row hash combination is required.
+   *
+   * @param left left side of the join
+   * @param right right side of the join, with the same native types
+   * @return array containing the left and right key series
+   * @see Grouping.GroupingByValue#assignGroupIds(Series[], int[])
+   */
+  static LongSeries[] compositeKeys(Series[] left, Series[] right) {
+    int sizeLeft = left[0].size();
+    int sizeRight = right[0].size();
+
+    Series[] combined = new Series[left.length];
+    for (int i = 0; i < left.length; i++) {
+      combined[i] = left[i].append(right[i]);
+    }
+
+    int[] groupIds = new int[sizeLeft + sizeRight];
+    Grouping.GroupingByValue.assignGroupIds(combined, groupIds);
+
+    long[] keysLeft = new long[sizeLeft];
+    long[] keysRight = new long[sizeRight];
+    for (int i = 0; i < sizeLeft; i++) {
+      keysLeft[i] = groupIds[i];
+    }
+    for (int i = 0; i < sizeRight; i++) {
+      keysRight[i] = groupIds[sizeLeft + i];
+    }
+
+    return new LongSeries[]{LongSeries.buildFrom(keysLeft), LongSeries.buildFrom(keysRight)};
+  }
+
+  /**
+   * Re-encodes string series pairs in place to share a dictionary if at least one side of the
+   * pair is dictionary-encoded. Equality checks and hashes then use int codes rather than
+   * strings. Must be applied before hashing both sides of a join.
+   *
+   * @param left left side of the join (modified in place)
+   * @param right right side of the join, with the same native types (modified in place)
+   * @see StringSeries#encode()
+   */
+  static void alignDictionaries(Series[] left, Series[] right) {
+    for (int i = 0; i < left.length; i++) {
+      if (!(left[i] instanceof StringSeries) || !(right[i] instanceof StringSeries)) {
+        continue;
+      }
+      StringSeries l = (StringSeries) left[i];
+      StringSeries r = (StringSeries) right[i];
+      if (l.isEncoded() || r.isEncoded()) {
+        StringSeries[] aligned = StringSeries.withSharedDictionary(l, r);
+        left[i] = aligned[0];
+        right[i] = aligned[1];
+      }
+    }
+  }
+
   static boolean equalsMultiple(Series[] left, Series[] right, int indexLeft, int indexRight) {
     for (int i = 0; i < left.length; i++) {
       if (!left[i].equals(right[i], indexLeft, indexRight)) {
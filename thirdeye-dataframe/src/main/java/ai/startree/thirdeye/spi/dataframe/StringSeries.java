@@ -132,7 +132,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     @Override
     public Builder addSeries(Collection<Series> series) {
       for (Series s : series) {
-        this.addValues(s.getStrings().values);
+        this.addValues(s.getStrings().values());
       }
       return this;
     }
@@ -157,23 +157,59 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     return new StringSeries(values);
   }
 
+  /**
+   * Returns a dictionary-encoded series for the given values. Equal strings share a single
+   * dictionary entry and each row stores an int code only.
+   *
+   * @param values series values
+   * @return dictionary-encoded series
+   * @see StringSeries#encode()
+   */
+  public static StringSeries buildEncodedFrom(String... values) {
+    return encode(values);
+  }
+
   public static StringSeries empty() {
     return new StringSeries();
   }
 
   public static StringSeries nulls(int size) {
-    return builder().fillValues(size, NULL).build();
+    return fillValues(size, NULL);
   }
 
   public static StringSeries fillValues(int size, String value) {
-    return builder().fillValues(size, value).build();
+    int[] codes = new int[size];
+    if (isNull(value)) {
+      Arrays.fill(codes, NULL_CODE);
+      return new StringSeries(new String[0], codes);
+    }
+    return new StringSeries(new String[]{value}, codes);
   }
 
+  static final int NULL_CODE = -1;
+
   // CAUTION: The array is final, but values are inherently modifiable
+  // NOTE: null if the series is dictionary-encoded
   private final String[] values;
 
+  // dictionary-encoding: sorted, distinct, non-null dictionary and one code per row
+  // NOTE: null if the series is not dictionary-encoded
+  private final String[] dictionary;
+  private final int[] codes;
+
+  // lazily decoded values of a dictionary-encoded series
+  private volatile String[] decoded;
+
   private StringSeries(String... values) {
     this.values = values;
+    this.dictionary = null;
+    this.codes = null;
+  }
+
+  private StringSeries(String[] dictionary, int[] codes) {
+    this.values = null;
+    this.dictionary = dictionary;
+    this.codes = codes;
   }
 
   @Override
@@ -188,7 +224,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public double getDouble(int index) {
-    return getDouble(this.values[index]);
+    return getDouble(this.get(index));
   }
 
   public static double getDouble(String value) {
@@ -200,7 +236,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public long getLong(int index) {
-    return getLong(this.values[index]);
+    return getLong(this.get(index));
   }
 
   public static long getLong(String value) {
@@ -216,7 +252,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public byte getBoolean(int index) {
-    return getBoolean(this.values[index]);
+    return getBoolean(this.get(index));
   }
 
   public static byte getBoolean(String value) {
@@ -231,7 +267,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public String getString(int index) {
-    return getString(this.values[index]);
+    return getString(this.get(index));
   }
 
   public static String getString(String string) {
@@ -240,7 +276,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public Object getObject(int index) {
-    return getObject(this.values[index]);
+    return getObject(this.get(index));
   }
 
   public static Object getObject(String value) {
@@ -251,16 +287,26 @@ public final class StringSeries extends TypedSeries<StringSeries> {
   }
 
   public String get(int index) {
+    if (this.codes != null) {
+      int code = this.codes[index];
+      return code == NULL_CODE ? NULL : this.dictionary[code];
+    }
     return this.values[index];
   }
 
   @Override
   public boolean isNull(int index) {
+    if (this.codes != null) {
+      return this.codes[index] == NULL_CODE;
+    }
     return isNull(this.values[index]);
   }
 
   @Override
   public int size() {
+    if (this.codes != null) {
+      return this.codes.length;
+    }
     return this.values.length;
   }
 
@@ -269,24 +315,201 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     return SeriesType.STRING;
   }
 
+  /**
+   * Returns the series values as array. For a dictionary-encoded series the values are decoded
+   * once on first access.
+   *
+   * <br/><b>NOTE:</b> the array must not be modified if the series is dictionary-encoded.
+   *
+   * @return series values
+   */
   public String[] values() {
-    return this.values;
+    if (this.codes == null) {
+      return this.values;
+    }
+    String[] decoded = this.decoded;
+    if (decoded == null) {
+      decoded = new String[this.codes.length];
+      for (int i = 0; i < decoded.length; i++) {
+        decoded[i] = this.get(i);
+      }
+      this.decoded = decoded;
+    }
+    return decoded;
   }
 
   public String value() {
     if (this.size() != 1) {
       throw new IllegalStateException("Series must contain exactly one element");
     }
-    return this.values[0];
+    return this.get(0);
+  }
+
+  /**
+   * Returns {@code true} if the series is dictionary-encoded, {@code false} otherwise.
+   *
+   * @return {@code true} if the series is dictionary-encoded
+   * @see StringSeries#encode()
+   */
+  public boolean isEncoded() {
+    return this.codes != null;
+  }
+
+  String[] dictionary() {
+    return this.dictionary;
+  }
+
+  int[] codes() {
+    return this.codes;
   }
 
   @Override
   public StringSeries unique() {
+    if (this.codes != null) {
+      return StringSeries.buildFrom(this.usedDictionaryValues());
+    }
     Set<String> uniques = new HashSet<>(Arrays.asList(this.values));
     String[] values = new String[uniques.size()];
     return StringSeries.buildFrom(uniques.toArray(values));
   }
 
+  private String[] usedDictionaryValues() {
+    boolean[] used = new boolean[this.dictionary.length];
+    boolean hasNull = false;
+    for (int code : this.codes) {
+      if (code == NULL_CODE) {
+        hasNull = true;
+      } else {
+        used[code] = true;
+      }
+    }
+
+    List<String> uniques = new ArrayList<>();
+    if (hasNull) {
+      uniques.add(NULL);
+    }
+    for (int i = 0; i < used.length; i++) {
+      if (used[i]) {
+        uniques.add(this.dictionary[i]);
+      }
+    }
+    return uniques.toArray(new String[0]);
+  }
+
+  /**
+   * Returns a dictionary-encoded copy of the series. Distinct values are stored once in a sorted
+   * dictionary and each row holds an int code referencing it. Grouping, joins, equality
+   * filters and sorting operate on the codes rather than on the strings themselves.
+   *
+   * <br/><b>NOTE:</b> intended for low-cardinality series, such as dimension values.
+   *
+   * @return dictionary-encoded series
+   */
+  public StringSeries encode() {
+    if (this.codes != null) {
+      return this;
+    }
+    return encode(this.values);
+  }
+
+  private static StringSeries encode(String[] values) {
+    Map<String, Integer> lookup = new HashMap<>();
+    for (String v : values) {
+      if (!isNull(v)) {
+        lookup.putIfAbsent(v, 0);
+      }
+    }
+
+    String[] dictionary = lookup.keySet().toArray(new String[0]);
+    Arrays.sort(dictionary);
+    for (int i = 0; i < dictionary.length; i++) {
+      lookup.put(dictionary[i], i);
+    }
+
+    int[] codes = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      codes[i] = isNull(values[i]) ? NULL_CODE : lookup.get(values[i]);
+    }
+
+    return new StringSeries(dictionary, codes);
+  }
+
+  /**
+   * Returns the dictionary code of {@code value}, {@code NULL_CODE} for {@code null}, or a
+   * negative value less than {@code NULL_CODE} if the value is not contained in the dictionary.
+   */
+  private int lookupCode(String value) {
+    if (isNull(value)) {
+      return NULL_CODE;
+    }
+    int code = Arrays.binarySearch(this.dictionary, value);
+    return code >= 0 ? code : NULL_CODE - 1;
+  }
+
+  /**
+   * Returns a pair of dictionary-encoded series with a shared dictionary, such that equal values
+   * map to equal codes across both series.
+   *
+   * @param a first series
+   * @param b second series
+   * @return array containing re-encoded versions of {@code a} and {@code b}
+   */
+  static StringSeries[] withSharedDictionary(StringSeries a, StringSeries b) {
+    StringSeries encA = a.encode();
+    StringSeries encB = b.encode();
+    if (encA.dictionary == encB.dictionary) {
+      return new StringSeries[]{encA, encB};
+    }
+
+    String[] dictA = encA.dictionary;
+    String[] dictB = encB.dictionary;
+    String[] merged = new String[dictA.length + dictB.length];
+    int[] mapA = new int[dictA.length];
+    int[] mapB = new int[dictB.length];
+
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < dictA.length || j < dictB.length) {
+      int cmp;
+      if (i >= dictA.length) {
+        cmp = 1;
+      } else if (j >= dictB.length) {
+        cmp = -1;
+      } else {
+        cmp = dictA[i].compareTo(dictB[j]);
+      }
+
+      if (cmp <= 0) {
+        merged[k] = dictA[i];
+        mapA[i++] = k;
+      }
+      if (cmp >= 0) {
+        merged[k] = dictB[j];
+        mapB[j++] = k;
+      }
+      k++;
+    }
+    merged = Arrays.copyOf(merged, k);
+
+    return new StringSeries[]{
+        new StringSeries(merged, remapCodes(encA.codes, mapA)),
+        new StringSeries(merged, remapCodes(encB.codes, mapB))};
+  }
+
+  private static int[] remapCodes(int[] codes, int[] map) {
+    int[] remapped = new int[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      remapped[i] = codes[i] == NULL_CODE ? NULL_CODE : map[codes[i]];
+    }
+    return remapped;
+  }
+
+  private boolean sharesDictionary(Series that) {
+    return this.codes != null && that instanceof StringSeries
+        && ((StringSeries) that).dictionary == this.dictionary;
+  }
+
   /**
    * Returns a compressed series via string de-duplication. After applying this method,
    * equal strings in the series reference the same string instance.
@@ -294,6 +517,10 @@ public final class StringSeries extends TypedSeries<StringSeries> {
    * @return compressed string series
    */
   public StringSeries compress() {
+    if (this.codes != null) {
+      return this;
+    }
+
     Map<String, String> map = new HashMap<>();
 
     String[] values = new String[this.values.length];
@@ -314,7 +541,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
    * @return list of series elements
    */
   public List<String> toList() {
-    return Arrays.asList(this.values);
+    return Arrays.asList(this.values());
   }
 
   /**
@@ -332,7 +559,9 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     boolean isLong = true;
     boolean isDouble = true;
 
-    for (String s : this.values) {
+    // NOTE: for dictionary-encoded series it is sufficient to check the dictionary
+    String[] candidates = this.codes != null ? this.dictionary : this.values;
+    for (String s : candidates) {
       isBoolean &= (s == null) || (s.length() <= 0) || (s.compareToIgnoreCase("true") == 0
           || s.compareToIgnoreCase("false") == 0);
       isLong &=
@@ -367,6 +596,9 @@ public final class StringSeries extends TypedSeries<StringSeries> {
   public StringSeries slice(int from, int to) {
     from = Math.max(Math.min(this.size(), from), 0);
     to = Math.max(Math.min(this.size(), to), 0);
+    if (this.codes != null) {
+      return new StringSeries(this.dictionary, Arrays.copyOfRange(this.codes, from, to));
+    }
     return StringSeries.buildFrom(Arrays.copyOfRange(this.values, from, to));
   }
 
@@ -435,6 +667,19 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     if (other.size() == 1) {
       return this.eq(other.getString(0));
     }
+    if (this.sharesDictionary(other)) {
+      assertSameLength(this, other);
+      int[] otherCodes = ((StringSeries) other).codes;
+      byte[] values = new byte[this.codes.length];
+      for (int i = 0; i < values.length; i++) {
+        if (this.codes[i] == NULL_CODE || otherCodes[i] == NULL_CODE) {
+          values[i] = BooleanSeries.NULL;
+        } else {
+          values[i] = BooleanSeries.valueOf(this.codes[i] == otherCodes[i]);
+        }
+      }
+      return BooleanSeries.buildFrom(values);
+    }
     return map(new StringConditional() {
       @Override
       public boolean apply(String... values) {
@@ -447,6 +692,18 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     if (isNull(constant)) {
       return BooleanSeries.nulls(this.size());
     }
+    if (this.codes != null) {
+      int code = this.lookupCode(constant);
+      byte[] values = new byte[this.codes.length];
+      for (int i = 0; i < values.length; i++) {
+        if (this.codes[i] == NULL_CODE) {
+          values[i] = BooleanSeries.NULL;
+        } else {
+          values[i] = BooleanSeries.valueOf(this.codes[i] == code);
+        }
+      }
+      return BooleanSeries.buildFrom(values);
+    }
     return this.map(new StringConditional() {
       @Override
       public boolean apply(String... values) {
@@ -462,8 +719,8 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     }
     assertSameLength(this, mask, other);
 
-    String[] values = Arrays.copyOf(this.values, this.values.length);
-    for (int i = 0; i < this.values.length; i++) {
+    String[] values = Arrays.copyOf(this.values(), this.size());
+    for (int i = 0; i < values.length; i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = other.getString(i);
       }
@@ -473,18 +730,40 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   public StringSeries set(BooleanSeries mask, String value) {
     assertSameLength(this, mask);
-    String[] values = new String[this.values.length];
+    if (this.codes != null) {
+      int code = this.lookupCode(value);
+      if (code >= NULL_CODE) {
+        int[] codes = new int[this.codes.length];
+        for (int i = 0; i < codes.length; i++) {
+          codes[i] = BooleanSeries.isTrue(mask.getBoolean(i)) ? code : this.codes[i];
+        }
+        return new StringSeries(this.dictionary, codes);
+      }
+    }
+
+    String[] values = new String[this.size()];
     for (int i = 0; i < mask.size(); i++) {
       if (BooleanSeries.isTrue(mask.getBoolean(i))) {
         values[i] = value;
       } else {
-        values[i] = this.values[i];
+        values[i] = this.get(i);
       }
     }
     return buildFrom(values);
   }
 
   public int count(String value) {
+    if (this.codes != null) {
+      int code = this.lookupCode(value);
+      int count = 0;
+      for (int c : this.codes) {
+        if (c == code) {
+          count++;
+        }
+      }
+      return count;
+    }
+
     int count = 0;
     for (String v : this.values) {
       if (nullSafeStringComparator(v, value) == 0) {
@@ -514,7 +793,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("StringSeries{");
-    for (String s : this.values) {
+    for (String s : this.values()) {
       if (isNull(s)) {
         builder.append("null ");
       } else {
@@ -532,7 +811,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     if (this.isNull(index)) {
       return TOSTRING_NULL;
     }
-    return this.values[index];
+    return this.get(index);
   }
 
   @Override
@@ -548,7 +827,20 @@ public final class StringSeries extends TypedSeries<StringSeries> {
    * @return series copy without nulls
    */
   public StringSeries fillNull(String value) {
-    String[] values = Arrays.copyOf(this.values, this.values.length);
+    if (this.codes != null) {
+      int code = this.lookupCode(value);
+      if (code >= NULL_CODE) {
+        int[] codes = Arrays.copyOf(this.codes, this.codes.length);
+        for (int i = 0; i < codes.length; i++) {
+          if (codes[i] == NULL_CODE) {
+            codes[i] = code;
+          }
+        }
+        return new StringSeries(this.dictionary, codes);
+      }
+    }
+
+    String[] values = Arrays.copyOf(this.values(), this.size());
     for (int i = 0; i < values.length; i++) {
       if (isNull(values[i])) {
         values[i] = value;
@@ -559,6 +851,18 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   StringSeries project(int[] fromIndex) {
+    if (this.codes != null) {
+      int[] codes = new int[fromIndex.length];
+      for (int i = 0; i < fromIndex.length; i++) {
+        if (fromIndex[i] == -1) {
+          codes[i] = NULL_CODE;
+        } else {
+          codes[i] = this.codes[fromIndex[i]];
+        }
+      }
+      return new StringSeries(this.dictionary, codes);
+    }
+
     String[] values = new String[fromIndex.length];
     for (int i = 0; i < fromIndex.length; i++) {
       if (fromIndex[i] == -1) {
@@ -581,22 +885,46 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
     StringSeries that = (StringSeries) o;
 
-    return Arrays.equals(this.values, that.values);
+    if (this.sharesDictionary(that)) {
+      return Arrays.equals(this.codes, that.codes);
+    }
+    return Arrays.equals(this.values(), that.values());
+  }
+
+  @Override
+  boolean equals(Series that, int indexThis, int indexThat) {
+    if (this.sharesDictionary(that)) {
+      return this.codes[indexThis] == ((StringSeries) that).codes[indexThat];
+    }
+    return super.equals(that, indexThis, indexThat);
   }
 
   @Override
   int compare(Series that, int indexThis, int indexThat) {
-    return nullSafeStringComparator(this.values[indexThis], that.getString(indexThat));
+    // NOTE: the dictionary is sorted and NULL_CODE sorts first, consistent with the string order
+    if (this.sharesDictionary(that)) {
+      return Integer.compare(this.codes[indexThis], ((StringSeries) that).codes[indexThat]);
+    }
+    return nullSafeStringComparator(this.get(indexThis), that.getString(indexThat));
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.values);
+    return Arrays.hashCode(this.values());
   }
 
+  /**
+   * Returns the hash of the value at {@code index}. A dictionary-encoded series hashes the code
+   * instead of the string, so hashes are comparable only across series sharing the dictionary.
+   *
+   * @see Series#alignDictionaries(Series[], Series[])
+   */
   @Override
   int hashCode(int index) {
-    return Objects.hashCode(this.values[index]);
+    if (this.codes != null) {
+      return this.codes[index];
+    }
+    return Objects.hashCode(this.get(index));
   }
 
   /**
@@ -710,7 +1038,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
    * @see Series#aggregate(Function)
    */
   public static StringSeries aggregate(StringFunction function, Series series) {
-    return buildFrom(function.apply(series.dropNull().getStrings().values));
+    return buildFrom(function.apply(series.dropNull().getStrings().values()));
   }
 
   /**
@@ -718,7 +1046,7 @@ public final class StringSeries extends TypedSeries<StringSeries> {
    */
   public static BooleanSeries aggregate(StringConditional function, Series series) {
     return BooleanSeries.builder()
-        .addBooleanValues(function.apply(series.dropNull().getStrings().values)).build();
+        .addBooleanValues(function.apply(series.dropNull().getStrings().values())).build();
   }
 
   public static boolean isNull(String value) {
@@ -748,6 +1076,20 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public StringSeries shift(int offset) {
+    if (this.codes != null) {
+      int[] codes = new int[this.codes.length];
+      if (offset >= 0) {
+        Arrays.fill(codes, 0, Math.min(offset, codes.length), NULL_CODE);
+        System.arraycopy(this.codes, 0, codes, Math.min(offset, codes.length),
+            Math.max(codes.length - offset, 0));
+      } else {
+        System.arraycopy(this.codes, Math.min(-offset, codes.length), codes, 0,
+            Math.max(codes.length + offset, 0));
+        Arrays.fill(codes, Math.max(codes.length + offset, 0), codes.length, NULL_CODE);
+      }
+      return new StringSeries(this.dictionary, codes);
+    }
+
     String[] values = new String[this.values.length];
     if (offset >= 0) {
       Arrays.fill(values, 0, Math.min(offset, values.length), NULL);
@@ -763,6 +1105,10 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   public StringSeries sorted() {
+    if (this.codes != null) {
+      return this.project(this.sortedIndex());
+    }
+
     String[] values = Arrays.copyOf(this.values, this.values.length);
     Arrays.sort(values, new Comparator<String>() {
       @Override
@@ -775,6 +1121,10 @@ public final class StringSeries extends TypedSeries<StringSeries> {
 
   @Override
   int[] sortedIndex() {
+    if (this.codes != null) {
+      return this.sortedIndexEncoded();
+    }
+
     List<StringSortTuple> tuples = new ArrayList<>();
     for (int i = 0; i < this.values.length; i++) {
       tuples.add(new StringSortTuple(this.values[i], i));
@@ -794,6 +1144,27 @@ public final class StringSeries extends TypedSeries<StringSeries> {
     return fromIndex;
   }
 
+  /**
+   * Stable counting sort over dictionary codes. Runs in O(n + d) for n values and a dictionary
+   * of size d.
+   */
+  private int[] sortedIndexEncoded() {
+    // offset by one to place nulls first
+    int[] offsets = new int[this.dictionary.length + 2];
+    for (int code : this.codes) {
+      offsets[code + 2]++;
+    }
+    for (int i = 1; i < offsets.length; i++) {
+      offsets[i] += offsets[i - 1];
+    }
+
+    int[] fromIndex = new int[this.codes.length];
+    for (int i = 0; i < this.codes.length; i++) {
+      fromIndex[offsets[this.codes[i] + 1]++] = i;
+    }
+    return fromIndex;
+  }
+
   static final class StringSortTuple {
 
     final String value;
@@ -27,6 +27,8 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -902,6 +904,61 @@ public class DataFrameTest {
     assertEquals(grouping.apply(5).getObjects(), ONULL);
   }
 
+  @Test
+  public void testLongGroupByValueUnsorted() {
+    LongSeries in = DataFrame.toSeries(3, 4, 5, 5, 3, 1, 5, LNULL);
+    Grouping.GroupingByValue grouping = Grouping.GroupingByValue.from(in, false);
+
+    Assert.assertEquals(grouping.size(), 5);
+    assertEquals(grouping.keys().getLongs(), 3, 4, 5, 1, LNULL);
+    assertEquals(grouping.apply(in, 0).getLongs(), 3, 3);
+    assertEquals(grouping.apply(in, 2).getLongs(), 5, 5, 5);
+    assertEquals(grouping.apply(in, 4).getLongs(), LNULL);
+  }
+
+  @Test
+  public void testDoubleGroupByValue() {
+    DoubleSeries in = DataFrame.toSeries(2.0, DNULL, -0.0, 0.0, 2.0, DNULL);
+    Grouping.SeriesGrouping grouping = in.groupByValue();
+
+    Assert.assertEquals(grouping.size(), 4);
+    assertEquals(grouping.apply(0).getDoubles(), DNULL, DNULL);
+    assertEquals(grouping.apply(1).getDoubles(), -0.0);
+    assertEquals(grouping.apply(2).getDoubles(), 0.0);
+    assertEquals(grouping.apply(3).getDoubles(), 2.0, 2.0);
+  }
+
+  @Test
+  public void testGroupByValueAggregation() {
+    for (StringSeries dimension : Arrays.asList(
+        DataFrame.toSeries("b", "a", "b", SNULL, "a", "b"),
+        DataFrame.toSeries("b", "a", "b", SNULL, "a", "b").encode())) {
+      DataFrame df = new DataFrame()
+          .addSeries("dim", dimension)
+          .addSeries("long", 1, 2, LNULL, 4, 5, 6)
+          .addSeries("double", 1.5, DNULL, 3.5, 4.0, DNULL, -1.0);
+
+      DataFrame out = df.groupByValue("dim").aggregate("long:sum:longSum", "long:min:longMin",
+          "long:max:longMax", "long:mean:longMean", "double:sum:doubleSum",
+          "double:min:doubleMin", "double:max:doubleMax", "double:mean:doubleMean",
+          "double:first:doubleFirst", "double:last:doubleLast");
+
+      assertEquals(out.getStrings("dim"), SNULL, "a", "b");
+      assertEquals(out.getLongs("longSum"), 4, 7, 7);
+      assertEquals(out.getLongs("longMin"), 4, 2, 1);
+      assertEquals(out.getLongs("longMax"), 4, 5, 6);
+      assertEquals(out.getDoubles("longMean"), 4.0, 3.5, 3.5);
+      assertEquals(out.getDoubles("doubleSum"), 4.0, DNULL, 4.0);
+      assertEquals(out.getDoubles("doubleMin"), 4.0, DNULL, -1.0);
+      assertEquals(out.getDoubles("doubleMax"), 4.0, DNULL, 3.5);
+      assertEquals(out.getDoubles("doubleMean"), 4.0, DNULL, 4.0 / 3);
+      assertEquals(out.getDoubles("doubleFirst"), 4.0, DNULL, 1.5);
+      assertEquals(out.getDoubles("doubleLast"), 4.0, DNULL, -1.0);
+      assertEquals(df.groupByValue("dim").count().getValues().getLongs(), 1, 2, 3);
+      assertEquals(df.groupByValue("dim", false).count().getKeys().getStrings(), "b", "a", SNULL);
+    }
+  }
+
   @Test
   public void testMultipleGroupByValue() {
     DataFrame df = new DataFrame();
@@ -928,6 +985,65 @@ public class DataFrameTest {
     assertEquals(grouping.apply("b", 2).getObjects(), 2.0d, 2.0d);
   }
 
+  @Test
+  public void testGroupByValueParallelEquivalentToSerial() {
+    final int size = 10_000;
+    Random random = new Random(42);
+    long[] dims = new long[size];
+    long[] longs = new long[size];
+    double[] doubles = new double[size];
+    for (int i = 0; i < size; i++) {
+      dims[i] = random.nextInt(7);
+      longs[i] = i % 13 == 0 ? LNULL : random.nextInt(1000) - 500;
+      doubles[i] = i % 11 == 0 ? DNULL : random.nextInt(1000);
+    }
+    DataFrame df = new DataFrame()
+        .addSeries("dim", dims)
+        .addSeries("long", longs)
+        .addSeries("double", doubles);
+
+    String[] expressions = {"long:sum:longSum", "long:min:longMin", "long:max:longMax",
+        "long:first:longFirst", "long:last:longLast", "long:median:longMedian",
+        "double:sum:doubleSum", "double:mean:doubleMean", "double:std:doubleStd"};
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Grouping.DataFrameGrouping serial = df.groupByValue("dim");
+      Grouping.DataFrameGrouping parallel = serial.parallel(pool, 1);
+
+      Assert.assertEquals(parallel.aggregate(expressions), serial.aggregate(expressions));
+      Assert.assertEquals(parallel.count(), serial.count());
+      Assert.assertEquals(parallel.aggregate("long", LongSeries.SUM),
+          serial.aggregate("long", LongSeries.SUM));
+      Assert.assertEquals(df.getLongs("long").groupByValue().parallel(pool, 1).count(),
+          df.getLongs("long").groupByValue().count());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testMultipleGroupByValueCompositeKeys() {
+    // swapped and repeated values across columns must not collide
+    DataFrame df = new DataFrame();
+    df.addSeries("a", DataFrame.toSeries(1, 2, 2, 1, 1, LNULL));
+    df.addSeries("b", DataFrame.toSeries(2, 1, 2, 1, 2, LNULL));
+    df.addSeries("c", DataFrame.toSeries("x", "x", "y", "x", "x", SNULL).encode());
+    df.addSeries("v", DataFrame.toSeries(1, 2, 3, 4, 5, 6));
+
+    Grouping.DataFrameGrouping grouping = df.groupByValue("a", "b", "c");
+
+    final Series keys = grouping.grouping.keys;
+    Assert.assertEquals(keys.size(), 5);
+    Assert.assertEquals(keys.getObject(0), DataFrame.Tuple.buildFrom(1L, 2L, "x"));
+    Assert.assertEquals(keys.getObject(1), DataFrame.Tuple.buildFrom(2L, 1L, "x"));
+    Assert.assertEquals(keys.getObject(2), DataFrame.Tuple.buildFrom(2L, 2L, "y"));
+    Assert.assertEquals(keys.getObject(3), DataFrame.Tuple.buildFrom(1L, 1L, "x"));
+
+    assertEquals(grouping.sum("v").getValues().getLongs(), 6, 2, 3, 4, 6);
+    assertEquals(grouping.count().getValues().getLongs(), 2, 1, 1, 1, 1);
+  }
+
   @Test
   public void testLongGroupByMovingWindow() {
     LongSeries in = DataFrame.toSeries(3, 4, 5, 5, 3, 1, 5, LNULL);
@@ -997,6 +1113,106 @@ public class DataFrameTest {
     Assert.assertEquals(grouping.sum(), grouping.aggregate(LongSeries.SUM));
   }
 
+  @DataProvider(name = "rollingWindowSizes")
+  public Object[][] rollingWindowSizes() {
+    return new Object[][]{{1}, {2}, {3}, {7}, {50}};
+  }
+
+  @Test(dataProvider = "rollingWindowSizes")
+  public void testDoubleGroupByMovingWindowRollingAggregations(int windowSize) {
+    DoubleSeries in = makeRollingInput();
+    assertRollingAggregations(in.groupByMovingWindow(windowSize));
+    assertRollingAggregations(in.getLongs().groupByMovingWindow(windowSize));
+  }
+
+  @Test
+  public void testDoubleGroupByExpandingWindowRollingAggregations() {
+    DoubleSeries in = makeRollingInput();
+    assertRollingAggregations(in.groupByExpandingWindow());
+    assertRollingAggregations(in.getLongs().groupByExpandingWindow());
+  }
+
+  @Test
+  public void testDoubleGroupByMovingWindowRollingAggregationsEmpty() {
+    assertRollingAggregations(DoubleSeries.empty().groupByMovingWindow(3));
+    assertRollingAggregations(DoubleSeries.nulls(5).groupByMovingWindow(3));
+    assertRollingAggregations(DoubleSeries.nulls(5).groupByExpandingWindow());
+  }
+
+  @Test(dataProvider = "rollingWindowSizes")
+  public void testDoubleGroupByMovingWindowRollingAggregationsInfinity(int windowSize) {
+    DoubleSeries in = DataFrame.toSeries(1, 2, DoubleSeries.POSITIVE_INFINITY, 3, DNULL, 4,
+        DoubleSeries.NEGATIVE_INFINITY, 5, 6, DoubleSeries.POSITIVE_INFINITY, 7, 8, 9, 10);
+    assertRollingAggregations(in.groupByMovingWindow(windowSize));
+    assertRollingAggregations(in.groupByExpandingWindow());
+  }
+
+  @Test
+  public void testDoubleGroupByMovingWindowMeanStdRecoverAfterInfinity() {
+    DoubleSeries in = DataFrame.toSeries(1, 2, DoubleSeries.POSITIVE_INFINITY, 3, 4, 5);
+    Grouping.SeriesGrouping grouping = in.groupByMovingWindow(2);
+    assertEquals(grouping.mean().getValues().getDoubles(),
+        DNULL, 1.5, DoubleSeries.POSITIVE_INFINITY, DoubleSeries.POSITIVE_INFINITY, 3.5, 4.5);
+    assertEquals(grouping.std().getValues().getDoubles(),
+        DNULL, Math.sqrt(0.5), DNULL, DNULL, Math.sqrt(0.5), Math.sqrt(0.5));
+  }
+
+  @Test
+  public void testLongGroupByMovingWindowMinMax() {
+    LongSeries in = DataFrame.toSeries(LNULL, 3, 4, 5, 2, 5, LNULL, LNULL, LNULL, 0);
+    Grouping.SeriesGrouping grouping = in.groupByMovingWindow(3);
+    assertEquals(grouping.min().getValues().getLongs(),
+        LNULL, LNULL, 3, 3, 2, 2, 2, 5, LNULL, 0);
+    assertEquals(grouping.max().getValues().getLongs(),
+        LNULL, LNULL, 4, 5, 5, 5, 5, 5, LNULL, 0);
+    assertEquals(in.getBooleans().groupByMovingWindow(3).min().getValues().getBooleans(),
+        BNULL, BNULL, TRUE, TRUE, TRUE, TRUE, TRUE, TRUE, BNULL, FALSE);
+  }
+
+  private static DoubleSeries makeRollingInput() {
+    Random random = new Random(42);
+    double[] values = new double[200];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(10) == 0 ? DNULL : Math.round(random.nextGaussian() * 1000) / 10.0;
+    }
+    return DoubleSeries.buildFrom(values);
+  }
+
+  private static void assertRollingAggregations(Grouping.SeriesGrouping grouping) {
+    Series.Function[] functions = new Series.Function[]{DoubleSeries.MEAN, DoubleSeries.STD,
+        DoubleSeries.MEDIAN, DoubleSeries.MIN, DoubleSeries.MAX, new DoubleSeries.DoubleQuantile(0),
+        new DoubleSeries.DoubleQuantile(0.25), new DoubleSeries.DoubleQuantile(0.9),
+        new DoubleSeries.DoubleQuantile(1), LongSeries.MIN, LongSeries.MAX};
+    for (Series.Function function : functions) {
+      assertRollingEquals(grouping.aggregate(function).getValues(), grouping, function);
+    }
+
+    assertRollingEquals(grouping.mean().getValues(), grouping, DoubleSeries.MEAN);
+    assertRollingEquals(grouping.std().getValues(), grouping, DoubleSeries.STD);
+    assertRollingEquals(grouping.median().getValues(), grouping, DoubleSeries.MEDIAN);
+
+    long[] counts = new long[grouping.size()];
+    for (int i = 0; i < grouping.size(); i++) {
+      counts[i] = grouping.apply(i).size();
+    }
+    assertEquals(grouping.count().getValues().getLongs(), counts);
+  }
+
+  private static void assertRollingEquals(Series actual, Grouping.SeriesGrouping grouping,
+      Series.Function function) {
+    Series.Builder builder = actual.getBuilder();
+    for (int i = 0; i < grouping.size(); i++) {
+      builder.addSeries(grouping.apply(i).aggregate(function));
+    }
+    Series expected = builder.build();
+    Assert.assertEquals(actual.type(), expected.type());
+    if (actual.type() == SeriesType.DOUBLE) {
+      assertEquals(actual.getDoubles(), expected.getDoubles().values());
+    } else {
+      assertEquals(actual, expected);
+    }
+  }
+
   @Test
   public void testLongGroupByExpandingWindow() {
     LongSeries in = DataFrame.toSeries(3, 4, 5, 5, LNULL);
@@ -1572,6 +1788,92 @@ public class DataFrameTest {
     assertEquals(s.head(6), Arrays.copyOfRange(VALUES_DOUBLE, 0, 5));
   }
 
+  @Test
+  public void testDoubleSliceView() {
+    DoubleSeries s = DataFrame.toSeries(1.0, DNULL, 3.0, 4.0, 5.0, 6.0);
+    DoubleSeries view = s.slice(1, 5);
+    assertEquals(view, DNULL, 3.0, 4.0, 5.0);
+    Assert.assertEquals(view.size(), 4);
+    Assert.assertTrue(view.isNull(0));
+    Assert.assertEquals(view.get(1), 3.0);
+
+    DoubleSeries nested = view.slice(1, 3);
+    assertEquals(nested, 3.0, 4.0);
+    assertEquals(nested.sum(), 7.0);
+    assertEquals(nested.shift(1), DNULL, 3.0);
+    assertEquals(nested.sorted(), 3.0, 4.0);
+    assertEquals(nested.project(new int[]{1, -1, 0}), 4.0, DNULL, 3.0);
+    Assert.assertEquals(nested.find(4.0, 0.0), 1);
+    Assert.assertEquals(nested, DataFrame.toSeries(3.0, 4.0));
+    Assert.assertEquals(nested.hashCode(), DataFrame.toSeries(3.0, 4.0).hashCode());
+
+    assertEmpty(view.slice(2, 2));
+    assertEquals(view.slice(3, 10), 5.0);
+  }
+
+  @Test
+  public void testSmallSliceDoesNotRetainArray() {
+    DoubleSeries doubles = DoubleSeries.fillValues(100, 1.0);
+    Assert.assertFalse(doubles.head(1).isView());
+    Assert.assertFalse(doubles.slice(10, 34).isView());
+    Assert.assertTrue(doubles.slice(10, 35).isView());
+    Assert.assertFalse(doubles.slice(10, 35).head(1).isView());
+    assertEquals(doubles.head(2), 1.0, 1.0);
+
+    LongSeries longs = LongSeries.sequence(0, 100);
+    Assert.assertFalse(longs.tail(2).isView());
+    assertEquals(longs.tail(2), 98, 99);
+    Assert.assertTrue(longs.tail(50).isView());
+
+    BooleanSeries booleans = BooleanSeries.fillValues(100, true);
+    Assert.assertFalse(booleans.sliceFrom(99).isView());
+    assertEquals(booleans.sliceFrom(99), TRUE);
+    Assert.assertTrue(booleans.sliceFrom(50).isView());
+  }
+
+  @Test
+  public void testDoubleCopyIsDetached() {
+    DoubleSeries s = DataFrame.toSeries(1.0, 2.0, 3.0);
+    DoubleSeries copy = s.slice(1, 3).copy();
+    copy.values()[0] = -1.0;
+    assertEquals(s, 1.0, 2.0, 3.0);
+    assertEquals(copy, -1.0, 3.0);
+  }
+
+  @Test
+  public void testFullRangeSliceDoesNotExposeSharedArray() {
+    DoubleSeries doubles = DataFrame.toSeries(1.0, 2.0);
+    doubles.slice(0, doubles.size()).values()[0] = -1.0;
+    assertEquals(doubles, 1.0, 2.0);
+
+    LongSeries longs = DataFrame.toSeries(1, 2);
+    longs.slice(0, longs.size()).values()[0] = -1;
+    assertEquals(longs, 1, 2);
+
+    BooleanSeries booleans = DataFrame.toSeries(TRUE, FALSE);
+    booleans.slice(0, booleans.size()).values()[0] = FALSE;
+    assertEquals(booleans, TRUE, FALSE);
+  }
+
+  @Test
+  public void testLongSliceView() {
+    LongSeries s = DataFrame.toSeries(1, 2, LNULL, 4, 5);
+    LongSeries view = s.tail(3);
+    assertEquals(view, LNULL, 4, 5);
+    assertEquals(view.head(2), LNULL, 4);
+    assertEquals(view.fillNull(), 0, 4, 5);
+    Assert.assertEquals(view.getLong(2), 5);
+  }
+
+  @Test
+  public void testBooleanSliceView() {
+    BooleanSeries s = DataFrame.toSeries(TRUE, FALSE, BNULL, TRUE);
+    BooleanSeries view = s.sliceFrom(1);
+    assertEquals(view, FALSE, BNULL, TRUE);
+    assertEquals(view.not(), TRUE, BNULL, FALSE);
+    assertEquals(view.sliceTo(2).fillNull(), FALSE, FALSE);
+  }
+
   @Test
   public void testDoubleTail() {
     DoubleSeries s = DataFrame.toSeries(VALUES_DOUBLE);
@@ -1913,6 +2215,62 @@ public class DataFrameTest {
     Assert.assertEquals(pairs.get(6), 0xFFFFFFFF00000004L);
   }
 
+  @Test
+  public void testLongMergeJoinOuter() {
+    Series sLeft = DataFrame.toSeries(1, 2, 3, 3, 4);
+    Series sRight = DataFrame.toSeries(0, 3, 3, 4, 5);
+
+    Series.JoinPairs pairs = Series.mergeJoin(new Series[]{sLeft}, new Series[]{sRight},
+        Series.JoinType.OUTER);
+
+    Assert.assertNotNull(pairs);
+    Assert.assertEquals(pairs.size(), 9);
+    Assert.assertEquals(pairs.get(0), 0x00000000FFFFFFFFL);
+    Assert.assertEquals(pairs.get(1), 0x00000001FFFFFFFFL);
+    Assert.assertEquals(pairs.get(2), 0x0000000200000001L);
+    Assert.assertEquals(pairs.get(3), 0x0000000200000002L);
+    Assert.assertEquals(pairs.get(4), 0x0000000300000001L);
+    Assert.assertEquals(pairs.get(5), 0x0000000300000002L);
+    Assert.assertEquals(pairs.get(6), 0x0000000400000003L);
+    Assert.assertEquals(pairs.get(7), 0xFFFFFFFF00000000L);
+    Assert.assertEquals(pairs.get(8), 0xFFFFFFFF00000004L);
+  }
+
+  @Test
+  public void testLongMergeJoinNotApplicable() {
+    Series sSorted = DataFrame.toSeries(1, 2, 3);
+    Series sUnsorted = DataFrame.toSeries(4, 3, 1, 2);
+    Series sDouble = DataFrame.toSeries(1.0, 2.0, 3.0);
+
+    Assert.assertNull(Series.mergeJoin(new Series[]{sUnsorted}, new Series[]{sSorted},
+        Series.JoinType.OUTER));
+    Assert.assertNull(Series.mergeJoin(new Series[]{sSorted}, new Series[]{sUnsorted},
+        Series.JoinType.OUTER));
+    Assert.assertNull(Series.mergeJoin(new Series[]{sSorted}, new Series[]{sDouble},
+        Series.JoinType.OUTER));
+  }
+
+  @Test
+  public void testJoinSortedEquivalentToUnsorted() {
+    DataFrame left = new DataFrame()
+        .addSeries("key", 1, 2, 2, 4, 6, 7)
+        .addSeries("leftValue", "a", "b", "c", "d", "e", "f");
+    DataFrame right = new DataFrame()
+        .addSeries("key", 0, 2, 4, 4, 5, 7)
+        .addSeries("rightValue", 0.0, 2.0, 4.0, 4.1, 5.0, 7.0);
+
+    for (Series.JoinType joinType : Series.JoinType.values()) {
+      // reversed inputs go through the hash join
+      DataFrame merged = DataFrame.join(left, right, Arrays.asList("key"),
+          Arrays.asList("key"), joinType);
+      DataFrame hashed = DataFrame.join(left.reverse(), right.reverse(),
+          Arrays.asList("key"), Arrays.asList("key"), joinType);
+
+      Assert.assertEquals(merged.sortedBy("key", "leftValue", "rightValue"),
+          hashed.sortedBy("key", "leftValue", "rightValue"), joinType.toString());
+    }
+  }
+
   @Test
   public void testLongHashJoinOuterMultiple() {
     Series sLeft1 = DataFrame.toSeries(1, 1, 1, 2, 2);
@@ -1936,6 +2294,28 @@ public class DataFrameTest {
     Assert.assertEquals(pairs.get(9), 0x00000004FFFFFFFFL);
   }
 
+  @Test
+  public void testJoinMultipleCompositeKeys() {
+    DataFrame left = new DataFrame()
+        .addSeries("a", DataFrame.toSeries(1, 2, 2, 1, LNULL))
+        .addSeries("b", DataFrame.toSeries("x", "y", "x", "y", "x").encode())
+        .addSeries("leftValue", 0, 1, 2, 3, 4);
+    DataFrame right = new DataFrame()
+        .addSeries("a", DataFrame.toSeries(2.0, 1.0, 1.0, 3.0, DNULL))
+        .addSeries("b", DataFrame.toSeries("x", "y", "y", "x", "x"))
+        .addSeries("rightValue", 10, 11, 12, 13, 14);
+
+    DataFrame joined = DataFrame.join(left, right, Arrays.asList("a", "b"),
+        Arrays.asList("a", "b"), Series.JoinType.INNER).sortedBy("leftValue", "rightValue");
+
+    assertEquals(joined.getLongs("leftValue"), 2, 3, 3, 4);
+    assertEquals(joined.getLongs("rightValue"), 10, 11, 12, 14);
+
+    Series.JoinPairs pairs = Series.hashJoinOuter(
+        new Series[]{left.get("a"), left.get("b")}, new Series[]{right.get("a"), right.get("b")});
+    Assert.assertEquals(pairs.size(), 7);
+  }
+
   @Test
   public void testLongDoubleJoin() {
     Series sLeft = DataFrame.toSeries(4, 3, 1, 2);
@@ -1970,6 +2350,40 @@ public class DataFrameTest {
     Assert.assertEquals(pairs.get(6), 0xFFFFFFFF00000004L);
   }
 
+  @Test
+  public void testStringJoinEncoded() {
+    StringSeries sLeftPlain = DataFrame.toSeries("4", "3", "1", "2", SNULL);
+    StringSeries sLeft = sLeftPlain.encode();
+    StringSeries sRight = DataFrame.toSeries("5", "4", "3", "3", "0", SNULL);
+
+    Series.JoinPairs expected = Series.hashJoinOuter(new Series[]{sLeftPlain},
+        new Series[]{sRight});
+    Series.JoinPairs pairs = Series.hashJoinOuter(new Series[]{sLeft}, new Series[]{sRight});
+    Series.JoinPairs pairsGuava = Series.hashJoinOuterGuava(new Series[]{sLeft},
+        new Series[]{sRight});
+
+    Assert.assertEquals(pairs.size(), expected.size());
+    Assert.assertEquals(pairsGuava.size(), expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals(pairs.get(i), expected.get(i), "index=" + i);
+      Assert.assertEquals(pairsGuava.get(i), expected.get(i), "index=" + i);
+    }
+  }
+
+  @Test
+  public void testStringSharedDictionaryHashesCodes() {
+    StringSeries[] aligned = StringSeries.withSharedDictionary(
+        DataFrame.toSeries("b", "a", SNULL, "c").encode(), DataFrame.toSeries("c", "b", "d"));
+
+    for (StringSeries s : aligned) {
+      for (int i = 0; i < s.size(); i++) {
+        Assert.assertEquals(s.hashCode(i), s.codes()[i]);
+      }
+    }
+    Assert.assertEquals(aligned[0].hashCode(0), aligned[1].hashCode(1));
+    Assert.assertEquals(aligned[0].hashCode(3), aligned[1].hashCode(0));
+  }
+
   @Test
   public void testBooleanJoin() {
     Series sLeft = DataFrame.toSeries(true, false, false, true);
@@ -3296,6 +3710,85 @@ public class DataFrameTest {
     Assert.assertEquals(base.count(SNULL), 1);
   }
 
+  @Test
+  public void testStringEncode() {
+    StringSeries base = DataFrame.toSeries("b", SNULL, "a", "b", "c", "a");
+    StringSeries encoded = base.encode();
+    Assert.assertTrue(encoded.isEncoded());
+    Assert.assertFalse(base.isEncoded());
+    Assert.assertSame(encoded.encode(), encoded);
+    Assert.assertEquals(encoded, base);
+    Assert.assertEquals(encoded.hashCode(), base.hashCode());
+    Assert.assertEquals(encoded.dictionary(), new String[]{"a", "b", "c"});
+    assertEquals(encoded, "b", SNULL, "a", "b", "c", "a");
+    assertEquals(encoded.values(), "b", SNULL, "a", "b", "c", "a");
+    Assert.assertTrue(encoded.isNull(1));
+    Assert.assertEquals(encoded.size(), 6);
+  }
+
+  @Test
+  public void testStringEncodedOperations() {
+    StringSeries base = StringSeries.buildEncodedFrom(SNULL, "a", "a", "b", "A");
+    Assert.assertTrue(base.isEncoded());
+    assertEquals(base.eq("a"), BNULL, TRUE, TRUE, FALSE, FALSE);
+    assertEquals(base.eq("d"), BNULL, FALSE, FALSE, FALSE, FALSE);
+    assertEquals(base.eq(base), BNULL, TRUE, TRUE, TRUE, TRUE);
+    Assert.assertEquals(base.count("a"), 2);
+    Assert.assertEquals(base.count("d"), 0);
+    Assert.assertEquals(base.count(SNULL), 1);
+    assertEquals(base.replace("a", "b"), SNULL, "b", "b", "b", "A");
+    assertEquals(base.replace("a", "AA"), SNULL, "AA", "AA", "b", "A");
+    assertEquals(base.fillNull("b"), "b", "a", "a", "b", "A");
+    assertEquals(base.fillNull(), "", "a", "a", "b", "A");
+    assertEquals(base.filter(DataFrame.toSeries(TRUE, TRUE, TRUE, FALSE, BNULL)),
+        SNULL, "a", "a", SNULL, SNULL);
+    assertEquals(base.shift(2), SNULL, SNULL, SNULL, "a", "a");
+    assertEquals(base.slice(1, 3), "a", "a");
+    assertEquals(base.sorted(), SNULL, "A", "a", "a", "b");
+    Assert.assertEquals(new HashSet<>(base.unique().toList()),
+        new HashSet<>(Arrays.asList(SNULL, "a", "b", "A")));
+    Assert.assertTrue(base.slice(1, 3).isEncoded());
+    Assert.assertTrue(base.sorted().isEncoded());
+  }
+
+  @Test
+  public void testStringEncodedGroupByValue() {
+    StringSeries in = StringSeries.buildEncodedFrom("b", "a", SNULL, "b", "c", "a", "b");
+    Grouping.SeriesGrouping grouping = in.groupByValue();
+
+    Assert.assertEquals(grouping.size(), 4);
+    assertEquals(grouping.apply(0).getStrings(), SNULL);
+    assertEquals(grouping.apply(1).getStrings(), "a", "a");
+    assertEquals(grouping.apply(2).getStrings(), "b", "b", "b");
+    assertEquals(grouping.apply(3).getStrings(), "c");
+    assertEquals(grouping.count().getValues().getLongs(), 1, 2, 3, 1);
+  }
+
+  @Test
+  public void testStringEncodedJoin() {
+    DataFrame left = new DataFrame()
+        .addSeries("leftKey", StringSeries.buildEncodedFrom("d", "b", "a", "c"))
+        .addSeries("leftValue", 1, 2, 3, 4);
+
+    DataFrame right = new DataFrame()
+        .addSeries("rightKey", StringSeries.buildEncodedFrom("e", "b", "a", "c", "a", "f"))
+        .addSeries("rightValue", 5, 6, 7, 8, 9, 10);
+
+    DataFrame joinedInner = left.joinInner(right, new String[]{"leftKey"}, new String[]{"rightKey"});
+    assertEquals(joinedInner.getStrings("leftKey"), "b", "a", "a", "c");
+    assertEquals(joinedInner.getLongs("leftValue"), 2, 3, 3, 4);
+    assertEquals(joinedInner.getLongs("rightValue"), 6, 7, 9, 8);
+
+    DataFrame plainRight = new DataFrame()
+        .addSeries("rightKey", "e", "b", "a", "c", "a", "f")
+        .addSeries("rightValue", 5, 6, 7, 8, 9, 10);
+
+    DataFrame joinedOuter = left.joinOuter(plainRight, new String[]{"leftKey"},
+        new String[]{"rightKey"});
+    assertEquals(joinedOuter.getStrings("leftKey"), "d", "b", "a", "a", "c", "e", "f");
+    assertEquals(joinedOuter.getLongs("rightValue"), LNULL, 6, 7, 9, 8, 5, 10);
+  }
+
   @Test
   public void testStringContains() {
     StringSeries base = DataFrame.toSeries(SNULL, "a", "a", "b", "A");
@@ -4298,6 +4791,115 @@ public class DataFrameTest {
     assertThat(output).isEqualTo(expected);
   }
 
+  @Test
+  public void testFromResultSetManyRows() throws SQLException {
+    final int size = 100;
+    final Object[][] rows = new Object[size][];
+    for (int i = 0; i < size; i++) {
+      rows[i] = new Object[]{(long) i, i * 0.5, (double) i, i % 3 == 0 ? null : "v" + i, null};
+    }
+    final DataFrame output = DataFrame.fromResultSet(resultSetOf(
+        new String[]{"L", "D", "D_INTEGRAL", "S", "L_NULL"},
+        new int[]{Types.BIGINT, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.BIGINT},
+        rows));
+
+    Assert.assertEquals(output.size(), size);
+    Assert.assertEquals(output.get("l").type(), SeriesType.LONG);
+    Assert.assertEquals(output.get("d").type(), SeriesType.DOUBLE);
+    // consistent with DataFrame.Builder type inference
+    Assert.assertEquals(output.get("d_integral").type(), SeriesType.LONG);
+    Assert.assertEquals(output.get("s").type(), SeriesType.STRING);
+    Assert.assertEquals(output.get("l_null").type(), SeriesType.BOOLEAN);
+
+    Assert.assertEquals(output.getLong("l", 99), 99);
+    Assert.assertEquals(output.getDouble("d", 99), 49.5);
+    Assert.assertEquals(output.getLong("d_integral", 42), 42);
+    Assert.assertNull(output.getString("s", 3));
+    Assert.assertEquals(output.getString("s", 4), "v4");
+    Assert.assertTrue(output.get("l_null").isNull(0));
+  }
+
+  @Test
+  public void testFromResultSetEmpty() throws SQLException {
+    final DataFrame output = DataFrame.fromResultSet(resultSetOf(
+        new String[]{"A", "B"}, new int[]{Types.BIGINT, Types.VARCHAR}, new Object[0][]));
+    Assert.assertEquals(output.getSeriesNames(), List.of("a", "b"));
+    Assert.assertEquals(output.size(), 0);
+    Assert.assertEquals(output.get("a").type(), SeriesType.OBJECT);
+  }
+
+  private static AbstractTestResultSet resultSetOf(final String[] labels, final int[] types,
+      final Object[][] rows) {
+    return new AbstractTestResultSet() {
+      int cursor = -1;
+      boolean wasNull;
+
+      @Override
+      public boolean next() {
+        return ++cursor < rows.length;
+      }
+
+      @Override
+      public boolean wasNull() {
+        return wasNull;
+      }
+
+      private Object value(final int columnIndex) {
+        final Object val = rows[cursor][columnIndex - 1];
+        wasNull = val == null;
+        return val;
+      }
+
+      @Override
+      public long getLong(final int columnIndex) {
+        final Object val = value(columnIndex);
+        return val == null ? 0 : (Long) val;
+      }
+
+      @Override
+      public double getDouble(final int columnIndex) {
+        final Object val = value(columnIndex);
+        return val == null ? 0 : (Double) val;
+      }
+
+      @Override
+      public String getString(final int columnIndex) {
+        return (String) value(columnIndex);
+      }
+
+      @Override
+      public boolean getBoolean(final int columnIndex) {
+        final Object val = value(columnIndex);
+        return val != null && (Boolean) val;
+      }
+
+      @Override
+      public Object getObject(final int columnIndex) {
+        return value(columnIndex);
+      }
+
+      @Override
+      public ResultSetMetaData getMetaData() {
+        return new AbstractTestResultSetMetaData() {
+          @Override
+          public int getColumnCount() {
+            return labels.length;
+          }
+
+          @Override
+          public String getColumnLabel(final int column) {
+            return labels[column - 1];
+          }
+
+          @Override
+          public int getColumnType(final int column) {
+            return types[column - 1];
+          }
+        };
+      }
+    };
+  }
+
   private static <T> List<T> listOf(@Nullable T e1, @Nullable T e2, @Nullable T e3) {
     final List<T> l = new ArrayList<>();
     l.add(e1);
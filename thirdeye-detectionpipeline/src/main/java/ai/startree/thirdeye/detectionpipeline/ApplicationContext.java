@@ -27,6 +27,7 @@ public class ApplicationContext {
   private final EventManager eventManager;
   private final DatasetConfigManager datasetConfigManager;
   private final ExecutorService subTaskExecutor;
+  private final ExecutorService forkJoinItemExecutor;
   private final DetectionPipelineConfiguration configuration;
   private final EnumerationItemMaintainer enumerationItemMaintainer;
 
@@ -36,6 +37,7 @@ public class ApplicationContext {
       final EventManager eventManager,
       final DatasetConfigManager datasetConfigManager,
       final ExecutorService subTaskExecutor,
+      final ExecutorService forkJoinItemExecutor,
       final DetectionPipelineConfiguration detectionPipelineConfiguration,
       final EnumerationItemMaintainer enumerationItemMaintainer) {
     this.dataSourceCache = dataSourceCache;
@@ -43,6 +45,7 @@ public class ApplicationContext {
     this.postProcessorRegistry = postProcessorRegistry;
     this.eventManager = eventManager;
     this.subTaskExecutor = subTaskExecutor;
+    this.forkJoinItemExecutor = forkJoinItemExecutor;
     this.enumerationItemMaintainer = enumerationItemMaintainer;
     configuration = detectionPipelineConfiguration;
     this.datasetConfigManager = datasetConfigManager;
@@ -72,6 +75,10 @@ public class ApplicationContext {
     return subTaskExecutor;
   }
 
+  public ExecutorService getForkJoinItemExecutor() {
+    return forkJoinItemExecutor;
+  }
+
   public DetectionPipelineConfiguration getConfiguration() {
     return configuration;
   }
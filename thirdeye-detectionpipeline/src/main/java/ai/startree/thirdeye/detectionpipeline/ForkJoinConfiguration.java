@@ -19,6 +19,15 @@ public class ForkJoinConfiguration {
 
   private Integer parallelism = 5;
   private Duration timeout = Duration.ofHours(1);
+  /**
+   * Maximum number of plan nodes of a single pipeline run executing concurrently.
+   */
+  private Integer planParallelism = 3;
+  /**
+   * Number of threads running the enumeration items of the fork join nodes. Shared by all the
+   * pipeline runs of the process.
+   */
+  private Integer itemThreads = 10;
 
   public Integer getParallelism() {
     return parallelism;
@@ -37,4 +46,22 @@ public class ForkJoinConfiguration {
     this.timeout = timeout;
     return this;
   }
+
+  public Integer getPlanParallelism() {
+    return planParallelism;
+  }
+
+  public ForkJoinConfiguration setPlanParallelism(final Integer planParallelism) {
+    this.planParallelism = planParallelism;
+    return this;
+  }
+
+  public Integer getItemThreads() {
+    return itemThreads;
+  }
+
+  public ForkJoinConfiguration setItemThreads(final Integer itemThreads) {
+    this.itemThreads = itemThreads;
+    return this;
+  }
 }
@@ -15,8 +15,6 @@ package ai.startree.thirdeye.detectionpipeline;
 
 import static ai.startree.thirdeye.spi.util.ExecutorUtils.shutdownExecutionService;
 import static ai.startree.thirdeye.spi.util.ExecutorUtils.threadsNamed;
-import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.emptyList;
 
 import ai.startree.thirdeye.datalayer.core.EnumerationItemMaintainer;
@@ -25,7 +23,6 @@ import ai.startree.thirdeye.detectionpipeline.persistence.CachedDatasetConfigMan
 import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.bao.EventManager;
 import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean;
-import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean.InputBean;
 import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
@@ -35,7 +32,8 @@ import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -55,6 +53,7 @@ public class PlanExecutor implements AutoCloseable {
   private final EnumerationItemMaintainer enumerationItemMaintainer;
 
   private final ExecutorService subTaskExecutor;
+  private final ExecutorService forkJoinItemExecutor;
 
   @Inject
   public PlanExecutor(final PlanNodeFactory planNodeFactory,
@@ -78,6 +77,12 @@ public class PlanExecutor implements AutoCloseable {
     subTaskExecutor = Executors.newFixedThreadPool(nThreads, threadsNamed("fork-join-%d"));
     new ExecutorServiceMetrics(subTaskExecutor, "fork-join", emptyList()).bindTo(
         Metrics.globalRegistry);
+
+    final int nItemThreads = detectionPipelineConfiguration.getForkjoin().getItemThreads();
+    forkJoinItemExecutor = Executors.newFixedThreadPool(nItemThreads,
+        threadsNamed("fork-join-item-%d"));
+    new ExecutorServiceMetrics(forkJoinItemExecutor, "fork-join-item", emptyList()).bindTo(
+        Metrics.globalRegistry);
   }
 
   @VisibleForTesting
@@ -85,27 +90,25 @@ public class PlanExecutor implements AutoCloseable {
       final PlanNode node,
       final Map<ContextKey, OperatorResult> resultMap)
       throws Exception {
-    for (final InputBean input : optional(node.getPlanNodeInputs()).orElse(emptyList())) {
-      final ContextKey contextKey = key(input.getSourcePlanNode(), input.getSourceProperty());
-      if (!resultMap.containsKey(contextKey)) {
-        final PlanNode inputPlanNode = pipelinePlanNodes.get(input.getSourcePlanNode());
-        checkArgument(inputPlanNode != null,
-            "sourcePlanNode \"%s\" found in \"%s\" node configuration does not exist. Template is invalid.",
-            input.getSourcePlanNode(),
-            node.getName());
-        executePlanNode(pipelinePlanNodes, inputPlanNode, resultMap);
-      }
-      if (!resultMap.containsKey(contextKey)) {
-        throw new RuntimeException("Missing resultMap key - " + contextKey);
-      }
-      node.setInput(input.getTargetProperty(), resultMap.get(contextKey));
-    }
-    final Operator operator = node.buildOperator();
-    operator.execute();
-    final Map<String, OperatorResult> outputs = operator.getOutputs();
-    for (final Entry<String, OperatorResult> output : outputs.entrySet()) {
-      resultMap.put(key(node.getName(), output.getKey()), output.getValue());
-    }
+    executePlanNode(pipelinePlanNodes, node, resultMap, Runnable::run, 1);
+  }
+
+  /**
+   * Executes the node and all the nodes it depends on. Independent nodes are run concurrently on
+   * the executor, with at most maxParallelism nodes in flight.
+   *
+   * @param resultMap receives the outputs of the executed nodes. Outputs of the given node are
+   *     kept, other outputs are removed once all their consumers have run. Must be thread-safe
+   *     if maxParallelism is greater than 1.
+   */
+  @VisibleForTesting
+  static void executePlanNode(final Map<String, PlanNode> pipelinePlanNodes,
+      final PlanNode node,
+      final Map<ContextKey, OperatorResult> resultMap,
+      final Executor executor,
+      final int maxParallelism)
+      throws Exception {
+    new PlanNodeScheduler(pipelinePlanNodes, resultMap, executor, maxParallelism).execute(node);
   }
 
   @VisibleForTesting
@@ -134,6 +137,7 @@ public class PlanExecutor implements AutoCloseable {
         /* Use a caching instance for pipeline execution. Ensures dataset entity is consistent across nodes and is only fetched once. */
         new CachedDatasetConfigManager(datasetConfigManager),
         subTaskExecutor,
+        forkJoinItemExecutor,
         detectionPipelineConfiguration,
         enumerationItemMaintainer);
   }
@@ -174,7 +178,8 @@ public class PlanExecutor implements AutoCloseable {
    *
    * @param rootNodeName Name of the root node to be executed
    * @param planNodeBeans The pipeline DAG as a list of nodes
-   * @return The result map. All the outputs from all the nodes are emitted here.
+   * @return The result map. It holds the outputs of the root node. Intermediate outputs are
+   *     dropped once all the nodes consuming them have run.
    * @throws Exception All exceptions are to be handled by upstream consumer.
    */
   private Map<ContextKey, OperatorResult> runPipeline(
@@ -190,12 +195,16 @@ public class PlanExecutor implements AutoCloseable {
         planNodeBeans,
         context);
 
-    /* The context stores all the outputs from all the nodes */
-    final Map<ContextKey, OperatorResult> resultMap = new HashMap<>();
+    /* Holds the root node outputs, and the intermediate outputs while they are still consumed */
+    final Map<ContextKey, OperatorResult> resultMap = new ConcurrentHashMap<>();
 
-    /* Execute the DAG */
+    /* Execute the DAG. Independent branches are run concurrently */
     final PlanNode rootNode = pipelinePlanNodes.get(rootNodeName);
-    executePlanNode(pipelinePlanNodes, rootNode, resultMap);
+    executePlanNode(pipelinePlanNodes,
+        rootNode,
+        resultMap,
+        subTaskExecutor,
+        detectionPipelineConfiguration.getForkjoin().getPlanParallelism());
 
     return resultMap;
   }
@@ -219,5 +228,6 @@ public class PlanExecutor implements AutoCloseable {
   @Override
   public void close() throws Exception {
     shutdownExecutionService(subTaskExecutor);
+    shutdownExecutionService(forkJoinItemExecutor);
   }
 }
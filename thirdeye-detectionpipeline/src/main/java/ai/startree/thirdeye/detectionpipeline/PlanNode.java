@@ -48,6 +48,12 @@ public interface PlanNode {
    */
   void setInput(String key, OperatorResult obj);
 
+  /**
+   * Drop the references to the inputs set. Called once the operator of the node has run.
+   */
+  default void releaseInputs() {
+  }
+
   /**
    * @return All Inputs set
    */
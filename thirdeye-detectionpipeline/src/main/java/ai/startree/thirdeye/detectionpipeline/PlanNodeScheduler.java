@@ -0,0 +1,279 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline;
+
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
+
+import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean.InputBean;
+import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the sub-graph of plan nodes a root node depends on.
+ *
+ * <p>A node is scheduled on the executor as soon as all its upstream nodes have completed, so
+ * independent branches run concurrently. At most {@code maxParallelism} nodes of a run are in
+ * flight at any time. The calling thread coordinates the run and executes nodes that the
+ * executor has not started yet instead of blocking on them, so a run makes progress even when
+ * the executor is saturated.
+ *
+ * <p>The number of consumers of each output is tracked: an output is dropped from the result map
+ * as soon as all the nodes consuming it have run. Only the outputs of the root node are retained
+ * once the run completes.
+ */
+class PlanNodeScheduler {
+
+  private final Map<String, PlanNode> pipelinePlanNodes;
+  private final Map<ContextKey, OperatorResult> resultMap;
+  private final Executor executor;
+  private final int maxParallelism;
+
+  private final Map<String, PlanNode> nodes = new HashMap<>();
+  private final Map<String, Set<String>> upstreams = new HashMap<>();
+  private final Map<String, List<String>> downstreams = new HashMap<>();
+  private final Map<ContextKey, AtomicInteger> pendingConsumers = new HashMap<>();
+  private String rootNodeName;
+  private final BlockingQueue<NodeTask> completed = new LinkedBlockingQueue<>();
+
+  PlanNodeScheduler(final Map<String, PlanNode> pipelinePlanNodes,
+      final Map<ContextKey, OperatorResult> resultMap,
+      final Executor executor,
+      final int maxParallelism) {
+    checkArgument(maxParallelism > 0, "maxParallelism must be positive");
+    this.pipelinePlanNodes = pipelinePlanNodes;
+    this.resultMap = resultMap;
+    this.executor = executor;
+    this.maxParallelism = maxParallelism;
+  }
+
+  void execute(final PlanNode rootNode) throws Exception {
+    rootNodeName = rootNode.getName();
+    collect(rootNode);
+
+    final Map<String, Integer> pendingUpstreams = new HashMap<>();
+    final Deque<PlanNode> ready = new ArrayDeque<>();
+    for (final Entry<String, Set<String>> e : upstreams.entrySet()) {
+      pendingUpstreams.put(e.getKey(), e.getValue().size());
+      if (e.getValue().isEmpty()) {
+        ready.add(nodes.get(e.getKey()));
+      }
+    }
+
+    final List<NodeTask> inFlight = new ArrayList<>();
+    int remaining = upstreams.size();
+    while (remaining > 0) {
+      while (!ready.isEmpty() && inFlight.size() < maxParallelism) {
+        final NodeTask task = new NodeTask(ready.poll());
+        inFlight.add(task);
+        if (ready.isEmpty() && inFlight.size() == 1) {
+          // nothing else to do: run inline and save a thread hand-off
+          task.tryRun();
+        } else {
+          executor.execute(task);
+        }
+      }
+      checkArgument(!inFlight.isEmpty(),
+          "Plan nodes %s have cyclic inputs. Template is invalid.",
+          pendingNodes(pendingUpstreams));
+
+      final NodeTask done = awaitCompletion(inFlight);
+      inFlight.remove(done);
+      if (done.failure != null) {
+        abort(inFlight);
+        throwFailure(done.failure);
+      }
+      remaining--;
+      for (final String downstream : downstreams.getOrDefault(done.node.getName(), emptyList())) {
+        if (pendingUpstreams.merge(downstream, -1, Integer::sum) == 0) {
+          ready.add(nodes.get(downstream));
+        }
+      }
+    }
+  }
+
+  /**
+   * Registers the nodes the given node depends on, walking the inputs depth first.
+   */
+  private void collect(final PlanNode node) {
+    final Deque<PlanNode> toVisit = new ArrayDeque<>();
+    toVisit.push(node);
+    nodes.put(node.getName(), node);
+    upstreams.put(node.getName(), new LinkedHashSet<>());
+    while (!toVisit.isEmpty()) {
+      final PlanNode current = toVisit.pop();
+      for (final InputBean input : optional(current.getPlanNodeInputs()).orElse(emptyList())) {
+        final String sourceName = input.getSourcePlanNode();
+        final PlanNode inputPlanNode = pipelinePlanNodes.get(sourceName);
+        checkArgument(inputPlanNode != null,
+            "sourcePlanNode \"%s\" found in \"%s\" node configuration does not exist. Template is invalid.",
+            sourceName,
+            current.getName());
+        pendingConsumers.computeIfAbsent(PlanExecutor.key(sourceName, input.getSourceProperty()),
+            k -> new AtomicInteger()).incrementAndGet();
+        if (upstreams.get(current.getName()).add(sourceName)) {
+          downstreams.computeIfAbsent(sourceName, k -> new ArrayList<>()).add(current.getName());
+        }
+        if (!upstreams.containsKey(sourceName)) {
+          nodes.put(sourceName, inputPlanNode);
+          upstreams.put(sourceName, new LinkedHashSet<>());
+          toVisit.push(inputPlanNode);
+        }
+      }
+    }
+  }
+
+  private NodeTask awaitCompletion(final List<NodeTask> inFlight) throws InterruptedException {
+    NodeTask done = completed.poll();
+    while (done == null) {
+      // help: run a task the executor did not pick up yet instead of waiting for it
+      if (!tryRunOne(inFlight)) {
+        return completed.take();
+      }
+      done = completed.poll();
+    }
+    return done;
+  }
+
+  private static boolean tryRunOne(final List<NodeTask> tasks) {
+    for (final NodeTask task : tasks) {
+      if (task.tryRun()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Prevents in flight tasks that did not start from running and waits for the running ones.
+   */
+  private void abort(final List<NodeTask> inFlight) throws InterruptedException {
+    for (final NodeTask task : inFlight) {
+      if (task.claim()) {
+        completed.add(task);
+      }
+    }
+    for (int i = 0; i < inFlight.size(); i++) {
+      completed.take();
+    }
+  }
+
+  private static void throwFailure(final Throwable failure) throws Exception {
+    if (failure instanceof Exception) {
+      throw (Exception) failure;
+    }
+    throw (Error) failure;
+  }
+
+  private List<String> pendingNodes(final Map<String, Integer> pendingUpstreams) {
+    final List<String> pending = new ArrayList<>();
+    for (final Entry<String, Integer> e : pendingUpstreams.entrySet()) {
+      if (e.getValue() > 0) {
+        pending.add(e.getKey());
+      }
+    }
+    return pending;
+  }
+
+  private void executeNode(final PlanNode node) throws Exception {
+    for (final InputBean input : optional(node.getPlanNodeInputs()).orElse(emptyList())) {
+      final ContextKey contextKey = PlanExecutor.key(input.getSourcePlanNode(),
+          input.getSourceProperty());
+      final OperatorResult result = resultMap.get(contextKey);
+      if (result == null) {
+        throw new RuntimeException("Missing resultMap key - " + contextKey);
+      }
+      node.setInput(input.getTargetProperty(), result);
+    }
+    final Operator operator = node.buildOperator();
+    operator.execute();
+    final boolean isRoot = node.getName().equals(rootNodeName);
+    final Map<String, OperatorResult> outputs = operator.getOutputs();
+    for (final Entry<String, OperatorResult> output : outputs.entrySet()) {
+      final ContextKey contextKey = PlanExecutor.key(node.getName(), output.getKey());
+      if (isRoot || pendingConsumers.containsKey(contextKey)) {
+        resultMap.put(contextKey, output.getValue());
+      }
+    }
+    release(node);
+  }
+
+  /**
+   * Drops the inputs of a node that has run, and the outputs that have no pending consumer left.
+   */
+  private void release(final PlanNode node) {
+    node.releaseInputs();
+    for (final InputBean input : optional(node.getPlanNodeInputs()).orElse(emptyList())) {
+      final ContextKey contextKey = PlanExecutor.key(input.getSourcePlanNode(),
+          input.getSourceProperty());
+      if (pendingConsumers.get(contextKey).decrementAndGet() == 0
+          && !contextKey.getNodeName().equals(rootNodeName)) {
+        resultMap.remove(contextKey);
+      }
+    }
+  }
+
+  private class NodeTask implements Runnable {
+
+    private final PlanNode node;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private volatile Throwable failure;
+
+    private NodeTask(final PlanNode node) {
+      this.node = node;
+    }
+
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    /**
+     * Runs the node unless another thread already claimed it.
+     *
+     * @return true if the node was run by the calling thread
+     */
+    private boolean tryRun() {
+      if (!claim()) {
+        return false;
+      }
+      try {
+        executeNode(node);
+      } catch (final Throwable e) {
+        failure = e;
+      } finally {
+        completed.add(this);
+      }
+      return true;
+    }
+
+    @Override
+    public void run() {
+      tryRun();
+    }
+  }
+}
@@ -42,8 +42,12 @@ import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
 import ai.startree.thirdeye.spi.util.TimeUtils;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -72,6 +76,23 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
   private static final TimeLimitInferenceStrategy DEFAULT_MAX_TIME_INFERENCE_STRATEGY = TimeLimitInferenceStrategy.FROM_DETECTION_TIME;
   private static final Period DEFAULT_LOOKBACK = Period.ZERO;
 
+  // 32 MB of values in total
+  private static final int TIME_INDEX_CACHE_MAX_VALUES = 1 << 22;
+  private static final int MAX_CACHED_TIME_INDEX_SIZE = 1 << 20;
+
+  /**
+   * Generated time indexes, by granularity and chronology (timezone). An index is generated with
+   * as many values after the requested range as in the requested range: detection runs slide
+   * forward in time, so the next runs are served by a zero-copy slice of the same index.
+   * Indexes of different ranges or phases (eg daily at 00:00 and daily at 06:00) are kept side by
+   * side, most recent first, up to MAX_CACHED_TIME_INDEX_SIZE values per key. The cache is bounded
+   * by the total number of values.
+   */
+  private static final Cache<List<Object>, List<LongSeries>> TIME_INDEX_CACHE = CacheBuilder.newBuilder()
+      .maximumWeight(TIME_INDEX_CACHE_MAX_VALUES)
+      .weigher((final List<Object> key, final List<LongSeries> indexes) -> totalSize(indexes))
+      .build();
+
   private Period granularity;
   private String timeColumn;
 
@@ -154,7 +175,9 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
     checkArgument(rawData.contains(timeColumn),
         "'" + timeColumn + "' column not found in DataFrame");
     final DataFrame correctIndex = generateCorrectIndex(detectionInterval.getChronology());
-    final DataFrame filledData = joinOnTimeIndex(correctIndex, rawData);
+    final DataFrame filledData = isComplete(correctIndex, rawData)
+        ? fixObjectSeries(reorderTimeColumnFirst(rawData))
+        : joinOnTimeIndex(correctIndex, rawData);
     final DataFrame nullReplacedData = replaceNullData(detectionInterval.getStart(), filledData);
 
     if (dataTable.getProperties().get(QUERY.toString()) != null) {
@@ -191,26 +214,59 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
     LOG.info(
         "Generating time index for minTime: {}, maxTime: {}. Computed first value: {}, last value: {}",
         minTime, maxTime, firstIndexValue.getMillis(), lastIndexValue.getMillis());
-    final Series correctIndexSeries = generateSeries(firstIndexValue, lastIndexValue, granularity);
+    final Series correctIndexSeries = timeIndex(firstIndexValue, lastIndexValue, granularity);
     final DataFrame dataFrame = new DataFrame();
     dataFrame.addSeries(timeColumn, correctIndexSeries);
 
     return dataFrame;
   }
 
+  /**
+   * Fast path: the raw data already has a value for every timestamp of the correct index, in
+   * order. The join is a no-op in this case.
+   */
+  private boolean isComplete(final DataFrame correctIndex, final DataFrame rawData) {
+    final LongSeries correctTimeIndex = correctIndex.getLongs(timeColumn);
+    final Series rawTimeSeries = rawData.get(timeColumn);
+    if (rawTimeSeries.type() != LONG || rawTimeSeries.size() != correctTimeIndex.size()) {
+      return false;
+    }
+    final LongSeries rawTimeIndex = rawTimeSeries.getLongs();
+    for (int i = 0; i < correctTimeIndex.size(); i++) {
+      if (rawTimeIndex.get(i) != correctTimeIndex.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private DataFrame reorderTimeColumnFirst(final DataFrame rawData) {
+    // same column order as the join output
+    final DataFrame dataFrame = new DataFrame();
+    dataFrame.addSeries(timeColumn, rawData.get(timeColumn));
+    for (final Entry<String, Series> entry : rawData.getSeries().entrySet()) {
+      if (!entry.getKey().equals(timeColumn)) {
+        dataFrame.addSeries(entry.getKey(), entry.getValue());
+      }
+    }
+    return dataFrame;
+  }
+
   private DataFrame joinOnTimeIndex(final DataFrame correctIndex, final DataFrame rawData) {
     leftFill(correctIndex, rawData, timeColumn);
+    return fixObjectSeries(correctIndex);
+  }
 
+  private static DataFrame fixObjectSeries(final DataFrame dataFrame) {
     // some series can be of type Object if the rawData had no value before the join
     // fix: transform these Series of Objects into series of Doubles - incorrect if String series was expected
-    for (final String seriesName : correctIndex.getSeriesNames()) {
-      final Series series = correctIndex.get(seriesName);
+    for (final String seriesName : dataFrame.getSeriesNames()) {
+      final Series series = dataFrame.get(seriesName);
       if (series.type() == OBJECT) {
-        correctIndex.addSeries(seriesName, series.getDoubles());
+        dataFrame.addSeries(seriesName, series.getDoubles());
       }
     }
-
-    return correctIndex;
+    return dataFrame;
   }
 
   /**
@@ -371,22 +427,117 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
     }
   }
 
-  private Series generateSeries(final DateTime firstValue, final DateTime lastValueIncluded,
-      final Period timePeriod) {
+  /**
+   * Returns the time index from firstValue to lastValueIncluded, served from the cache when
+   * possible. Each value of an index only depends on the previous one, so any range of a cached
+   * index that starts and ends with the expected values is the expected index.
+   *
+   * The returned series may share its values with the cache and must not be modified.
+   */
+  @VisibleForTesting
+  protected static LongSeries timeIndex(final DateTime firstValue,
+      final DateTime lastValueIncluded, final Period timePeriod) {
+    if (firstValue.isAfter(lastValueIncluded)) {
+      return LongSeries.empty();
+    }
+    final Chronology chronology = firstValue.getChronology();
+    for (final LongSeries cachedIndex : cachedTimeIndexes(timePeriod, chronology)) {
+      final LongSeries slice = slice(cachedIndex, firstValue, lastValueIncluded);
+      if (slice != null) {
+        return slice;
+      }
+    }
+    final LongSeries generatedIndex = generateSeries(firstValue, lastValueIncluded, timePeriod);
+    if (generatedIndex.size() > MAX_CACHED_TIME_INDEX_SIZE) {
+      // too large to be cached - generated without headroom
+      return generatedIndex;
+    }
+    final LongSeries slice = slice(generatedIndex, firstValue, lastValueIncluded);
+    if (slice == null) {
+      // mismatch already logged - do not cache
+      final int insertionPoint = Arrays.binarySearch(generatedIndex.values(),
+          lastValueIncluded.getMillis());
+      return generatedIndex.slice(0, -insertionPoint - 1).copy();
+    }
+    TIME_INDEX_CACHE.asMap().merge(List.of(timePeriod, chronology),
+        List.of(generatedIndex),
+        TimeIndexFiller::withNewIndex);
+    return slice;
+  }
+
+  @VisibleForTesting
+  protected static List<LongSeries> cachedTimeIndexes(final Period timePeriod,
+      final Chronology chronology) {
+    return optional(TIME_INDEX_CACHE.getIfPresent(List.of(timePeriod, chronology)))
+        .orElse(List.of());
+  }
+
+  /**
+   * Puts the new index first and keeps the most recent other indexes while the total size stays
+   * within MAX_CACHED_TIME_INDEX_SIZE.
+   */
+  private static List<LongSeries> withNewIndex(final List<LongSeries> indexes,
+      final List<LongSeries> newIndex) {
+    final List<LongSeries> merged = new ArrayList<>(newIndex);
+    int size = totalSize(newIndex);
+    for (final LongSeries index : indexes) {
+      size += index.size();
+      if (size > MAX_CACHED_TIME_INDEX_SIZE) {
+        break;
+      }
+      merged.add(index);
+    }
+    return List.copyOf(merged);
+  }
+
+  private static int totalSize(final List<LongSeries> indexes) {
+    int size = 0;
+    for (final LongSeries index : indexes) {
+      size += index.size();
+    }
+    return size;
+  }
+
+  private static LongSeries slice(final LongSeries index, final DateTime firstValue,
+      final DateTime lastValueIncluded) {
+    final long[] values = index.values();
+    final int from = Arrays.binarySearch(values, firstValue.getMillis());
+    final int to = Arrays.binarySearch(values, lastValueIncluded.getMillis());
+    if (from < 0 || to < 0) {
+      return null;
+    }
+    if (from == 0 && to == values.length - 1) {
+      // not a view: copy to not expose the cached array
+      return index.copy();
+    }
+    return index.slice(from, to + 1);
+  }
+
+  private static LongSeries generateSeries(final DateTime firstValue,
+      final DateTime lastValueIncluded, final Period timePeriod) {
     final Builder correctIndexBuilder = LongSeries.builder();
     DateTime indexValue = new DateTime(firstValue);
+    int size = 0;
+    long lastGeneratedValue = -1;
     while (!indexValue.isAfter(lastValueIncluded)) {
-      correctIndexBuilder.addValues(indexValue.getMillis());
+      lastGeneratedValue = indexValue.getMillis();
+      correctIndexBuilder.addValues(lastGeneratedValue);
       indexValue = indexValue.plus(timePeriod);
+      size++;
     }
-    final LongSeries correctIndex = correctIndexBuilder.build();
-    if (!correctIndex.isEmpty() && correctIndex.get(correctIndex.size() - 1) != lastValueIncluded.getMillis()) {
+    if (size > 0 && lastGeneratedValue != lastValueIncluded.getMillis()) {
       LOG.error(
           "Error when creating time index. Mismatch between the input lastValue: {} and the generated last value: {}. This should never happen.",
-          lastValueIncluded, correctIndex.get(correctIndex.size()
-              - 1)); // TODO CYRIL can be removed once debugging session is done or throw
+          lastValueIncluded,
+          lastGeneratedValue); // TODO CYRIL can be removed once debugging session is done or throw
+    }
+    // headroom for the next runs. None if the index is too large to be cached
+    final int headroom = Math.min(size, MAX_CACHED_TIME_INDEX_SIZE - size);
+    for (int i = 0; i < headroom; i++) {
+      correctIndexBuilder.addValues(indexValue.getMillis());
+      indexValue = indexValue.plus(timePeriod);
     }
-    return correctIndex;
+    return correctIndexBuilder.build();
   }
 
   private static class NullReplacerRegistry {
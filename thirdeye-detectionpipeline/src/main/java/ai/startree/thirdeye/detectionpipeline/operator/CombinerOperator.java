@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.operator;
+
+import static java.util.Objects.requireNonNull;
+
+import ai.startree.thirdeye.detectionpipeline.OperatorContext;
+import ai.startree.thirdeye.detectionpipeline.operator.ForkJoinResult.ForkJoinResultItem;
+import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
+import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Flattens the outputs of a fork join node into a single {@link CombinerResult}. Results are
+ * tagged with the enumeration item that produced them.
+ */
+public class CombinerOperator extends DetectionPipelineOperator {
+
+  public static final String DEFAULT_INPUT_KEY = "input_Combiner";
+  public static final String DEFAULT_OUTPUT_KEY = "output_Combiner";
+
+  public CombinerOperator() {
+    super();
+  }
+
+  @Override
+  public void init(final OperatorContext context) {
+    super.init(context);
+  }
+
+  @Override
+  public void execute() throws Exception {
+    final ForkJoinResult forkJoinResult = (ForkJoinResult) requireNonNull(
+        inputMap.get(DEFAULT_INPUT_KEY), "Combiner input is not set");
+
+    final Map<String, OperatorResult> results = new LinkedHashMap<>();
+    int i = 0;
+    for (final ForkJoinResultItem item : forkJoinResult.getResults()) {
+      for (final OperatorResult result : item.getResults().values()) {
+        results.put(String.valueOf(i++), tagged(result, item.getEnumerationItem()));
+      }
+    }
+    setOutput(DEFAULT_OUTPUT_KEY, new CombinerResult(results));
+  }
+
+  private static OperatorResult tagged(final OperatorResult result,
+      final EnumerationItemDTO enumerationItem) {
+    if (result instanceof AnomalyDetectorOperatorResult) {
+      return AnomalyDetectorOperatorResult.builder()
+          .setAnomalies(result.getAnomalies())
+          .setTimeseries(result.getTimeseries())
+          .setRawData(result.getRawData())
+          .setEnumerationItem(enumerationItem)
+          .build();
+    }
+    return result;
+  }
+
+  @Override
+  public String getOperatorName() {
+    return "CombinerOperator";
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.operator;
+
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+import static java.util.Objects.requireNonNull;
+
+import ai.startree.thirdeye.datalayer.core.EnumerationItemMaintainer;
+import ai.startree.thirdeye.detectionpipeline.ApplicationContext;
+import ai.startree.thirdeye.detectionpipeline.DetectionPipelineContext;
+import ai.startree.thirdeye.detectionpipeline.OperatorContext;
+import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
+import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
+import ai.startree.thirdeye.spi.detection.Enumerator;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.collections4.MapUtils;
+
+public class EnumeratorOperator extends DetectionPipelineOperator {
+
+  public static final String DEFAULT_OUTPUT_KEY = "enumerator_output";
+  private static final String DEFAULT_ENUMERATOR_TYPE = "default";
+  private static final String ID_KEYS = "idKeys";
+
+  private Enumerator enumerator;
+  private EnumerationItemMaintainer enumerationItemMaintainer;
+  private Long alertId;
+
+  public EnumeratorOperator() {
+    super();
+  }
+
+  @Override
+  public void init(final OperatorContext context) {
+    super.init(context);
+    final ApplicationContext applicationContext = context.getPlanNodeContext()
+        .getApplicationContext();
+    final DetectionPipelineContext detectionPipelineContext = context.getPlanNodeContext()
+        .getDetectionPipelineContext();
+
+    final String type = optional(MapUtils.getString(params(), PROP_TYPE))
+        .orElse(DEFAULT_ENUMERATOR_TYPE);
+    enumerator = requireNonNull(applicationContext.getDetectionRegistry()).buildEnumerator(type);
+    enumerationItemMaintainer = applicationContext.getEnumerationItemMaintainer();
+    alertId = detectionPipelineContext.getAlertId();
+  }
+
+  private Map<String, Object> params() {
+    return optional(planNode.getParams()).map(TemplatableMap::valueMap).orElse(null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void execute() throws Exception {
+    final Map<String, Object> params = params();
+    final List<EnumerationItemDTO> enumerationItems = enumerator.enumerate(
+        new Enumerator.Context()
+            .setParams(params)
+            .setInputMap(inputMap));
+
+    final List<EnumerationItemDTO> synced = alertId == null
+        // evaluation of an alert that is not persisted: nothing to sync
+        ? enumerationItems
+        : enumerationItemMaintainer.sync(enumerationItems,
+            (List<String>) MapUtils.getObject(params, ID_KEYS),
+            alertId);
+    setOutput(DEFAULT_OUTPUT_KEY, new EnumeratorResult(synced));
+  }
+
+  @Override
+  public String getOperatorName() {
+    return "EnumeratorOperator";
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.operator;
+
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+
+import ai.startree.thirdeye.detectionpipeline.ContextKey;
+import ai.startree.thirdeye.detectionpipeline.DetectionPipelineContext;
+import ai.startree.thirdeye.detectionpipeline.ForkJoinConfiguration;
+import ai.startree.thirdeye.detectionpipeline.OperatorContext;
+import ai.startree.thirdeye.detectionpipeline.PlanExecutor;
+import ai.startree.thirdeye.detectionpipeline.PlanNode;
+import ai.startree.thirdeye.detectionpipeline.PlanNodeContext;
+import ai.startree.thirdeye.detectionpipeline.PlanNodeFactory;
+import ai.startree.thirdeye.detectionpipeline.operator.ForkJoinResult.ForkJoinResultItem;
+import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
+import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean;
+import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean.InputBean;
+import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
+import ai.startree.thirdeye.util.TemplateRenderPlan;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.commons.collections4.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a sub-graph of the pipeline once per enumeration item and combines the outputs.
+ *
+ * <p>Node params:
+ * <ul>
+ *   <li>enumerator: name of the node producing the enumeration items</li>
+ *   <li>root: name of the root node of the sub-graph to run for each item</li>
+ *   <li>combiner: name of the node combining the outputs of all the items</li>
+ *   <li>parallelism: optional, maximum number of items running concurrently</li>
+ *   <li>timeout: optional, maximum duration of the run of a single item, as an ISO-8601
+ *   duration</li>
+ * </ul>
+ *
+ * <p>The sub-graph is cloned for each item, with the item params applied as template
+ * properties. Items are run on the fork join item executor of the {@link
+ * ai.startree.thirdeye.detectionpipeline.ApplicationContext}: the fork join node itself runs on
+ * the sub task executor, and waiting there on work queued behind it could starve the pool. The
+ * nodes of a single item run serially on the thread of the item.
+ *
+ * <p>The timeout of an item starts when the item starts running. If an item fails or times out,
+ * the items still running are cancelled and the node fails: the results of the other items are
+ * not combined, so that a detection run never completes with missing items.
+ */
+public class ForkJoinOperator extends DetectionPipelineOperator {
+
+  public static final String K_ENUMERATOR = "enumerator";
+  public static final String K_ROOT = "root";
+  public static final String K_COMBINER = "combiner";
+  public static final String K_PARALLELISM = "parallelism";
+  public static final String K_TIMEOUT = "timeout";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ForkJoinOperator.class);
+
+  private Map<String, PlanNode> pipelinePlanNodes;
+  private DetectionPipelineContext detectionPipelineContext;
+  private PlanNode enumerator;
+  private PlanNode root;
+  private PlanNode combiner;
+  private int parallelism;
+  private Duration timeout;
+
+  public ForkJoinOperator() {
+    super();
+  }
+
+  @Override
+  public void init(final OperatorContext context) {
+    super.init(context);
+    final PlanNodeContext planNodeContext = context.getPlanNodeContext();
+    pipelinePlanNodes = requireNonNull(planNodeContext.getPipelinePlanNodes());
+    detectionPipelineContext = planNodeContext.getDetectionPipelineContext();
+
+    final Map<String, Object> params = optional(planNode.getParams())
+        .map(TemplatableMap::valueMap)
+        .orElse(emptyMap());
+    enumerator = referencedNode(params, K_ENUMERATOR);
+    root = referencedNode(params, K_ROOT);
+    combiner = referencedNode(params, K_COMBINER);
+
+    final ForkJoinConfiguration config = planNodeContext.getApplicationContext()
+        .getConfiguration()
+        .getForkjoin();
+    parallelism = MapUtils.getInteger(params, K_PARALLELISM, config.getParallelism());
+    checkArgument(parallelism > 0, "%s must be positive. Got %s", K_PARALLELISM, parallelism);
+    timeout = optional(MapUtils.getString(params, K_TIMEOUT))
+        .map(Duration::parse)
+        .orElse(config.getTimeout());
+  }
+
+  private PlanNode referencedNode(final Map<String, Object> params, final String key) {
+    final String nodeName = requireNonNull(MapUtils.getString(params, key),
+        String.format("'%s' is not set in fork join node '%s'", key, planNode.getName()));
+    return requireNonNull(pipelinePlanNodes.get(nodeName),
+        String.format("node '%s' referenced by fork join node '%s' does not exist",
+            nodeName,
+            planNode.getName()));
+  }
+
+  @Override
+  public void execute() throws Exception {
+    final List<EnumerationItemDTO> enumerationItems = enumerate();
+    // the sub-graph nodes are compiled once and rendered for each enumeration item
+    final Map<PlanNode, TemplateRenderPlan<PlanNodeBean>> subGraph = new LinkedHashMap<>();
+    for (final PlanNode node : subGraph(root)) {
+      subGraph.put(node, TemplateRenderPlan.compile(node.getContext().getPlanNodeBean()));
+    }
+
+    final List<ForkJoinResultItem> results = executeAll(enumerationItems, subGraph);
+
+    combiner.setInput(CombinerOperator.DEFAULT_INPUT_KEY, new ForkJoinResult(results));
+    final Map<ContextKey, OperatorResult> combinerResults = new HashMap<>();
+    PlanExecutor.executePlanNode(pipelinePlanNodes, combiner, combinerResults);
+    PlanExecutor.getOutput(combinerResults, combiner.getName()).forEach(this::setOutput);
+  }
+
+  private List<EnumerationItemDTO> enumerate() throws Exception {
+    final Map<ContextKey, OperatorResult> enumeratorResults = new HashMap<>();
+    PlanExecutor.executePlanNode(pipelinePlanNodes, enumerator, enumeratorResults);
+    return PlanExecutor.getOutput(enumeratorResults, enumerator.getName())
+        .values()
+        .stream()
+        .map(OperatorResult::getEnumerationItems)
+        .filter(items -> items != null)
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException(
+            "node '" + enumerator.getName() + "' did not output enumeration items"));
+  }
+
+  /**
+   * Returns the nodes the given node depends on, including the node itself.
+   */
+  private List<PlanNode> subGraph(final PlanNode node) {
+    final Map<String, PlanNode> visited = new LinkedHashMap<>();
+    final Deque<PlanNode> toVisit = new ArrayDeque<>();
+    toVisit.push(node);
+    visited.put(node.getName(), node);
+    while (!toVisit.isEmpty()) {
+      final PlanNode current = toVisit.pop();
+      for (final InputBean input : optional(current.getPlanNodeInputs()).orElse(emptyList())) {
+        final PlanNode inputNode = requireNonNull(
+            pipelinePlanNodes.get(input.getSourcePlanNode()),
+            "sourcePlanNode does not exist: " + input.getSourcePlanNode());
+        if (visited.putIfAbsent(inputNode.getName(), inputNode) == null) {
+          toVisit.push(inputNode);
+        }
+      }
+    }
+    return new ArrayList<>(visited.values());
+  }
+
+  /**
+   * Runs the sub-graph for all the items, with at most {@link #parallelism} items in flight.
+   *
+   * @return the results in the order of the enumeration items
+   * @throws Exception the failure of the first item that failed or timed out
+   */
+  private List<ForkJoinResultItem> executeAll(final List<EnumerationItemDTO> enumerationItems,
+      final Map<PlanNode, TemplateRenderPlan<PlanNodeBean>> subGraph) throws Exception {
+    final CompletionService<ForkJoinResultItem> completionService =
+        new ExecutorCompletionService<>(detectionPipelineContext.getApplicationContext()
+            .getForkJoinItemExecutor());
+    final Map<Future<ForkJoinResultItem>, InFlightItem> inFlight = new HashMap<>();
+    final ForkJoinResultItem[] results = new ForkJoinResultItem[enumerationItems.size()];
+    final long timeoutNanos = timeout.toNanos();
+    int next = 0;
+    try {
+      while (next < enumerationItems.size() || !inFlight.isEmpty()) {
+        while (next < enumerationItems.size() && inFlight.size() < parallelism) {
+          final InFlightItem item = new InFlightItem(next++);
+          final EnumerationItemDTO enumerationItem = enumerationItems.get(item.index);
+          inFlight.put(completionService.submit(() -> {
+            item.startNanos = System.nanoTime();
+            return execute(enumerationItem, subGraph);
+          }), item);
+        }
+
+        final long now = System.nanoTime();
+        final long nextDeadline = inFlight.values().stream()
+            .mapToLong(item -> item.deadline(now, timeoutNanos))
+            .min()
+            .orElseThrow();
+        final Future<ForkJoinResultItem> done = completionService.poll(nextDeadline - now,
+            TimeUnit.NANOSECONDS);
+        if (done == null) {
+          checkNotLate(inFlight.values(), enumerationItems, timeoutNanos);
+          continue;
+        }
+        final InFlightItem item = requireNonNull(inFlight.remove(done));
+        results[item.index] = getResult(done, enumerationItems.get(item.index));
+      }
+    } finally {
+      // no-op if all the items completed. Else the node fails and the other items are not needed
+      inFlight.keySet().forEach(f -> f.cancel(true));
+    }
+    return Arrays.asList(results);
+  }
+
+  private void checkNotLate(final Collection<InFlightItem> inFlightItems,
+      final List<EnumerationItemDTO> enumerationItems, final long timeoutNanos)
+      throws TimeoutException {
+    final long now = System.nanoTime();
+    for (final InFlightItem item : inFlightItems) {
+      if (item.deadline(now, timeoutNanos) - now <= 0) {
+        throw new TimeoutException(String.format(
+            "Fork join node %s: enumeration item %s did not complete within %s",
+            planNode.getName(),
+            enumerationItems.get(item.index),
+            timeout));
+      }
+    }
+  }
+
+  private ForkJoinResultItem getResult(final Future<ForkJoinResultItem> future,
+      final EnumerationItemDTO enumerationItem) throws Exception {
+    try {
+      return future.get();
+    } catch (final ExecutionException e) {
+      LOG.warn("Fork join node {}: enumeration item {} failed",
+          planNode.getName(),
+          enumerationItem.getId());
+      final Throwable cause = e.getCause();
+      throw cause instanceof Exception ? (Exception) cause : e;
+    }
+  }
+
+  private ForkJoinResultItem execute(final EnumerationItemDTO enumerationItem,
+      final Map<PlanNode, TemplateRenderPlan<PlanNodeBean>> subGraph) throws Exception {
+    final DetectionPipelineContext itemContext = new DetectionPipelineContext()
+        .setApplicationContext(detectionPipelineContext.getApplicationContext())
+        .setDetectionInterval(detectionPipelineContext.getDetectionInterval())
+        .setPredicates(detectionPipelineContext.getPredicates())
+        .setUsage(detectionPipelineContext.getUsage())
+        .setAlertId(detectionPipelineContext.getAlertId())
+        .setEnumerationItem(enumerationItem);
+    final Map<String, Object> properties = optional(enumerationItem.getParams())
+        .orElse(emptyMap());
+
+    final Map<String, PlanNode> itemPlanNodes = new HashMap<>();
+    for (final Map.Entry<PlanNode, TemplateRenderPlan<PlanNodeBean>> entry : subGraph.entrySet()) {
+      final PlanNode node = entry.getKey();
+      final PlanNodeBean planNodeBean = entry.getValue().render(properties);
+      final PlanNodeContext context = new PlanNodeContext()
+          .setName(node.getName())
+          .setPlanNodeBean(planNodeBean)
+          .setDetectionPipelineContext(itemContext)
+          .setPipelinePlanNodes(itemPlanNodes);
+      itemPlanNodes.put(node.getName(), PlanNodeFactory.build(node.getClass(), context));
+    }
+
+    final Map<ContextKey, OperatorResult> resultMap = new HashMap<>();
+    PlanExecutor.executePlanNode(itemPlanNodes, itemPlanNodes.get(root.getName()), resultMap);
+    final Map<String, OperatorResult> outputs = PlanExecutor.getOutput(resultMap, root.getName());
+    LOG.debug("Fork join node {}: enumeration item {} completed with {} outputs",
+        planNode.getName(),
+        enumerationItem.getId(),
+        outputs.size());
+    return new ForkJoinResultItem(enumerationItem, outputs);
+  }
+
+  @Override
+  public String getOperatorName() {
+    return "ForkJoinOperator";
+  }
+
+  private static class InFlightItem {
+
+    private static final long NOT_STARTED = -1;
+
+    private final int index;
+    private volatile long startNanos = NOT_STARTED;
+
+    private InFlightItem(final int index) {
+      this.index = index;
+    }
+
+    /**
+     * @return the deadline of the item. An item that has not started yet has the full timeout
+     *     ahead of it.
+     */
+    private long deadline(final long now, final long timeoutNanos) {
+      final long start = startNanos;
+      return (start == NOT_STARTED ? now : start) + timeoutNanos;
+    }
+  }
+}
@@ -74,10 +74,14 @@ public class SqlExecutionOperator extends DetectionPipelineOperator {
 
   @Override
   public final void execute() throws Exception {
-    Connection connection = getConnection();
-    initTables(connection);
-    runQueries(connection);
-    dataTableToSqlAdapter.tearDown(connection);
+    try (final Connection connection = getConnection()) {
+      try {
+        initTables(connection);
+        runQueries(connection);
+      } finally {
+        dataTableToSqlAdapter.tearDown(connection);
+      }
+    }
   }
 
   private Connection getConnection() throws ClassNotFoundException, SQLException {
@@ -122,9 +126,10 @@ public class SqlExecutionOperator extends DetectionPipelineOperator {
   }
 
   private DataTable runQuery(final String query, final Connection connection) throws SQLException {
-    final Statement stmt = connection.createStatement();
-    final ResultSet resultSet = stmt.executeQuery(query);
-    return SimpleDataTable.fromDataFrame(DataFrame.fromResultSet(resultSet));
+    try (final Statement stmt = connection.createStatement();
+        final ResultSet resultSet = stmt.executeQuery(query)) {
+      return SimpleDataTable.fromDataFrame(DataFrame.fromResultSet(resultSet));
+    }
   }
 
   @Override
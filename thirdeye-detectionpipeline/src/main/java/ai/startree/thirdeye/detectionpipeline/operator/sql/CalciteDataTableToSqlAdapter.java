@@ -39,11 +39,24 @@ public class CalciteDataTableToSqlAdapter implements DataTableToSqlAdapter {
 
   private static final String DATAFRAME_DATABASE = "calcite_dataframes";
   private static final Properties DEFAULT_JDBC_PROPERTIES = new Properties();
+  /**
+   * Size of the Calcite cache of compiled plans. The generated code only depends on the query and
+   * on the schema of the tables, so the code of a query run on a new DataFrame is reused. Parsing,
+   * validation and planning still run on every execution.
+   * The Calcite JDBC driver has no connection level setting for this cache: Calcite reads the
+   * system property once, when its classes are initialized. It is set before the first
+   * connection of this adapter, unless the application already set it.
+   */
+  private static final String BINDABLE_CACHE_MAX_SIZE_PROPERTY = "calcite.bindable.cache.maxSize";
+  private static final String BINDABLE_CACHE_MAX_SIZE = "256";
 
   static {
     DEFAULT_JDBC_PROPERTIES.putAll(ImmutableMap.of(
         "unquotedCasing", "UNCHANGED",
         "fun", "bigquery"));
+    if (System.getProperty(BINDABLE_CACHE_MAX_SIZE_PROPERTY) == null) {
+      System.setProperty(BINDABLE_CACHE_MAX_SIZE_PROPERTY, BINDABLE_CACHE_MAX_SIZE);
+    }
   }
 
   private final Properties properties = new Properties(DEFAULT_JDBC_PROPERTIES);
@@ -15,32 +15,40 @@ package ai.startree.thirdeye.detectionpipeline.operator.sql;
 
 import static org.apache.calcite.linq4j.Nullness.castNonNull;
 
-import ai.startree.thirdeye.spi.dataframe.DataFrame;
-import java.util.List;
+import ai.startree.thirdeye.spi.dataframe.Series;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
 import org.apache.calcite.linq4j.Enumerator;
-import org.apache.calcite.util.ImmutableNullableList;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Enumerator that reads from a DataFrame.
+ *
+ * Rows are filtered on the series values before being boxed. Only the projected columns are
+ * read.
  */
 public class DataFrameEnumerator implements Enumerator<Object[]> {
 
-  private final DataFrame dataFrame;
-  private final @Nullable List<@Nullable Object> filterValues;
+  private final Series[] columns;
+  private final int size;
+  private final IntPredicate filter;
   private final AtomicBoolean cancelFlag;
   private @Nullable Object[] current;
   private int currentIndex = -1;
-  List<String> columnNames;
 
-  public DataFrameEnumerator(DataFrame dataFrame, AtomicBoolean cancelFlag,
-      @Nullable Object @Nullable [] filterValues) {
+  /**
+   * Creates a DataFrameEnumerator.
+   *
+   * @param columns the projected columns, in output order
+   * @param size the number of rows of the DataFrame
+   * @param filter the pushed down filters, evaluated on the row index
+   */
+  public DataFrameEnumerator(Series[] columns, int size, IntPredicate filter,
+      AtomicBoolean cancelFlag) {
+    this.columns = columns;
+    this.size = size;
+    this.filter = filter;
     this.cancelFlag = cancelFlag;
-    this.filterValues = filterValues == null ? null
-        : ImmutableNullableList.copyOf(filterValues);
-    this.dataFrame = dataFrame;
-    this.columnNames = dataFrame.getSeriesNames();
   }
 
   @Override
@@ -50,29 +58,20 @@ public class DataFrameEnumerator implements Enumerator<Object[]> {
 
   @Override
   public boolean moveNext() {
-    outer:
     for (; ; ) {
       if (cancelFlag.get()) {
         return false;
       }
       currentIndex++;
-      if (currentIndex == dataFrame.size()) {
+      if (currentIndex == size) {
         return false;
       }
-      Object[] values = columnNames.stream()
-          .map(name -> dataFrame.getObject(name, currentIndex))
-          .toArray(Object[]::new);
-
-      // works with string - long - boolean - double
-      if (filterValues != null) {
-        for (int i = 0; i < values.length; i++) {
-          Object filterValue = filterValues.get(i);
-          if (filterValue != null) {
-            if (!filterValue.equals(values[i])) {
-              continue outer;
-            }
-          }
-        }
+      if (!filter.test(currentIndex)) {
+        continue;
+      }
+      final Object[] values = new Object[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+        values[i] = columns[i].getObject(currentIndex);
       }
       current = values;
       return true;
@@ -13,11 +13,19 @@
  */
 package ai.startree.thirdeye.detectionpipeline.operator.sql;
 
+import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.dataframe.Series;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
 import org.apache.calcite.DataContext;
-import org.apache.calcite.adapter.java.JavaTypeFactory;
 import org.apache.calcite.linq4j.AbstractEnumerable;
 import org.apache.calcite.linq4j.Enumerable;
 import org.apache.calcite.linq4j.Enumerator;
@@ -26,21 +34,23 @@ import org.apache.calcite.rex.RexCall;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
-import org.apache.calcite.schema.FilterableTable;
+import org.apache.calcite.schema.ProjectableFilterableTable;
 import org.apache.calcite.sql.SqlKind;
-import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.sql.type.SqlTypeFamily;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
- * Table based on a DataFrame. Implements simple equal filtering.
+ * Table based on a DataFrame. Implements projection and simple filter push down.
  *
- * <p>It implements the {@link FilterableTable} interface, so Calcite gets
- * data by calling the {@link #scan(DataContext, List)} method.
+ * <p>It implements the {@link ProjectableFilterableTable} interface, so Calcite gets
+ * data by calling the {@link #scan(DataContext, List, int[])} method. Only the projected columns
+ * are read. Comparisons of a column with a literal, IS NULL and IS NOT NULL are evaluated on the
+ * series values, before rows are boxed.
  *
  * Resource: https://github.com/apache/calcite/blob/4bc916619fd286b2c0cc4d5c653c96a68801d74e/example/csv/src/main/java/org/apache/calcite/adapter/csv/CsvFilterableTable.java
  */
 public class DataFrameFilterableTable extends DataFrameTable
-    implements FilterableTable {
+    implements ProjectableFilterableTable {
 
   public DataFrameFilterableTable(DataFrame dataFrame, RelProtoDataType protoRowType) {
     super(dataFrame, protoRowType);
@@ -52,59 +62,196 @@ public class DataFrameFilterableTable extends DataFrameTable
   }
 
   @Override
-  public Enumerable<@Nullable Object[]> scan(DataContext root, List<RexNode> filters) {
-    JavaTypeFactory typeFactory = root.getTypeFactory();
-    final List<DataFrameFieldType> fieldTypes = getFieldTypes(typeFactory);
-    final @Nullable Object[] filterValues = new Object[fieldTypes.size()];
-    filters.removeIf(filter -> addFilter(filter, filterValues));
+  public Enumerable<@Nullable Object[]> scan(DataContext root, List<RexNode> filters,
+      int @Nullable [] projects) {
+    final List<String> seriesNames = dataFrame.getSeriesNames();
+    final Series[] allColumns = new Series[seriesNames.size()];
+    for (int i = 0; i < allColumns.length; i++) {
+      allColumns[i] = dataFrame.get(seriesNames.get(i));
+    }
+    final List<IntPredicate> predicates = new ArrayList<>();
+    filters.removeIf(filter -> addFilter(filter, allColumns, predicates));
+    final IntPredicate filter = predicates.stream().reduce(IntPredicate::and).orElse(i -> true);
+
+    final Series[] columns;
+    if (projects == null) {
+      columns = allColumns;
+    } else {
+      columns = new Series[projects.length];
+      for (int i = 0; i < projects.length; i++) {
+        columns[i] = allColumns[projects[i]];
+      }
+    }
+    final int size = dataFrame.size();
     final AtomicBoolean cancelFlag = DataContext.Variable.CANCEL_FLAG.get(root);
     return new AbstractEnumerable<@Nullable Object[]>() {
       @Override
       public Enumerator<@Nullable Object[]> enumerator() {
-        return new DataFrameEnumerator(dataFrame, cancelFlag, filterValues);
+        return new DataFrameEnumerator(columns, size, filter, cancelFlag);
       }
     };
   }
 
   /**
-   * Push down equal filter for STRING, LONG and DOUBLE.
+   * Push down a filter. Returns true if the filter is fully evaluated by the table.
    */
-  private static boolean addFilter(RexNode filter, @Nullable Object[] filterValues) {
-
+  private static boolean addFilter(RexNode filter, Series[] columns,
+      List<IntPredicate> predicates) {
     if (filter.isA(SqlKind.AND)) {
       // We cannot refine(remove) the operands of AND,
       // it will cause o.a.c.i.TableScanNode.createFilterable filters check failed.
-      ((RexCall) filter).getOperands().forEach(subFilter -> addFilter(subFilter, filterValues));
-    } else if (filter.isA(SqlKind.EQUALS)) {
-      final RexCall call = (RexCall) filter;
-      RexNode left = call.getOperands().get(0);
-      if (left.isA(SqlKind.CAST)) {
-        left = ((RexCall) left).operands.get(0);
+      ((RexCall) filter).getOperands()
+          .forEach(subFilter -> addFilter(subFilter, columns, predicates));
+      return false;
+    }
+    final IntPredicate predicate = toPredicate(filter, columns);
+    if (predicate == null) {
+      return false;
+    }
+    predicates.add(predicate);
+    return true;
+  }
+
+  private static @Nullable IntPredicate toPredicate(RexNode filter, Series[] columns) {
+    if (filter instanceof RexInputRef) {
+      final Series series = columns[((RexInputRef) filter).getIndex()];
+      if (series.type() == Series.SeriesType.BOOLEAN) {
+        final byte[] values = ((BooleanSeries) series).values();
+        return row -> BooleanSeries.isTrue(values[row]);
+      }
+      return null;
+    }
+    if (!(filter instanceof RexCall)) {
+      return null;
+    }
+    final RexCall call = (RexCall) filter;
+    switch (call.getKind()) {
+      case IS_NULL:
+      case IS_NOT_NULL: {
+        final RexNode operand = call.getOperands().get(0);
+        if (!(operand instanceof RexInputRef)) {
+          return null;
+        }
+        final Series series = columns[((RexInputRef) operand).getIndex()];
+        return call.getKind() == SqlKind.IS_NULL ? series::isNull : row -> !series.isNull(row);
+      }
+      case EQUALS:
+      case NOT_EQUALS:
+      case LESS_THAN:
+      case LESS_THAN_OR_EQUAL:
+      case GREATER_THAN:
+      case GREATER_THAN_OR_EQUAL: {
+        SqlKind kind = call.getKind();
+        RexNode left = call.getOperands().get(0);
+        RexNode right = call.getOperands().get(1);
+        if (left instanceof RexLiteral) {
+          final RexNode literal = left;
+          left = right;
+          right = literal;
+          kind = kind.reverse();
+        }
+        if (kind == SqlKind.EQUALS && left.isA(SqlKind.CAST)) {
+          left = ((RexCall) left).operands.get(0);
+        }
+        if (left instanceof RexInputRef && right instanceof RexLiteral) {
+          final Series series = columns[((RexInputRef) left).getIndex()];
+          return comparison(kind, series, (RexLiteral) right);
+        }
+        return null;
+      }
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns a predicate comparing the series values to a literal. Null values never match.
+   * Returns null if the literal cannot be compared exactly with the series values.
+   */
+  private static @Nullable IntPredicate comparison(SqlKind kind, Series series,
+      RexLiteral literal) {
+    if (literal.isNull()) {
+      return null;
+    }
+    final SqlTypeFamily family = literal.getType().getSqlTypeName().getFamily();
+    switch (series.type()) {
+      case LONG: {
+        if (family != SqlTypeFamily.NUMERIC) {
+          return null;
+        }
+        final BigDecimal decimal = literal.getValueAs(BigDecimal.class);
+        final long value;
+        try {
+          value = decimal.longValueExact();
+        } catch (final ArithmeticException e) {
+          return null;
+        }
+        final long[] values = ((LongSeries) series).values();
+        return matching(kind,
+            row -> !LongSeries.isNull(values[row]),
+            row -> Long.compare(values[row], value));
+      }
+      case DOUBLE: {
+        if (family != SqlTypeFamily.NUMERIC) {
+          return null;
+        }
+        final double value = literal.getValueAs(BigDecimal.class).doubleValue();
+        final double[] values = ((DoubleSeries) series).values();
+        return matching(kind,
+            row -> !DoubleSeries.isNull(values[row]),
+            row -> values[row] < value ? -1 : (values[row] > value ? 1 : 0));
+      }
+      case STRING: {
+        if (family != SqlTypeFamily.CHARACTER) {
+          return null;
+        }
+        final String value = literal.getValueAs(String.class);
+        final StringSeries strings = (StringSeries) series;
+        return matching(kind,
+            row -> !strings.isNull(row),
+            row -> strings.get(row).compareTo(value));
       }
-      final RexNode right = call.getOperands().get(1);
-      if (left instanceof RexInputRef
-          && right instanceof RexLiteral) {
-        final int index = ((RexInputRef) left).getIndex();
-        if (filterValues[index] == null) {
-          filterValues[index] = customGetValue((RexLiteral) right);
-          return true;
+      case BOOLEAN: {
+        if (family != SqlTypeFamily.BOOLEAN
+            || (kind != SqlKind.EQUALS && kind != SqlKind.NOT_EQUALS)) {
+          return null;
         }
+        final boolean value = literal.getValueAs(Boolean.class);
+        final byte[] values = ((BooleanSeries) series).values();
+        return matching(kind,
+            row -> !BooleanSeries.isNull(values[row]),
+            row -> BooleanSeries.booleanValueOf(values[row]) == value ? 0 : 1);
       }
+      default:
+        return null;
     }
-    return false;
   }
 
-  private static Object customGetValue(RexLiteral literal) {
-    // only tested with SeriesType DOUBLE, BOOLEAN, STRING, LONG
-    SqlTypeName preciseSqlType = literal.getType().getSqlTypeName();
-    switch (preciseSqlType) {
-      case DOUBLE:
-        return literal.getValueAs(Double.class);
-      case BOOLEAN:
-        return literal.getValueAs(Boolean.class);
+  private static IntPredicate matching(SqlKind kind, IntPredicate notNull,
+      IntUnaryOperator compareToLiteral) {
+    final IntPredicate comparisonMatches;
+    switch (kind) {
+      case EQUALS:
+        comparisonMatches = c -> c == 0;
+        break;
+      case NOT_EQUALS:
+        comparisonMatches = c -> c != 0;
+        break;
+      case LESS_THAN:
+        comparisonMatches = c -> c < 0;
+        break;
+      case LESS_THAN_OR_EQUAL:
+        comparisonMatches = c -> c <= 0;
+        break;
+      case GREATER_THAN:
+        comparisonMatches = c -> c > 0;
+        break;
+      case GREATER_THAN_OR_EQUAL:
+        comparisonMatches = c -> c >= 0;
+        break;
       default:
-        // sensible defaults: STRING and LONG managed correctly
-        return literal.getValue2();
+        throw new IllegalArgumentException("Unsupported comparison: " + kind);
     }
+    return row -> notNull.test(row) && comparisonMatches.test(compareToLiteral.applyAsInt(row));
   }
 }
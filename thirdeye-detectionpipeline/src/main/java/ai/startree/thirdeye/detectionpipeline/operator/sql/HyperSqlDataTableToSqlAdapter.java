@@ -13,31 +13,48 @@
  */
 package ai.startree.thirdeye.detectionpipeline.operator.sql;
 
+import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
-import ai.startree.thirdeye.spi.dataframe.Series.SeriesType;
+import ai.startree.thirdeye.spi.dataframe.Series;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import ai.startree.thirdeye.spi.detection.v2.DataTableToSqlAdapter;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Loads DataTables in the shared in-memory HyperSQL database.
+ *
+ * Each adapter instance loads its tables in its own schema, so that concurrent executions never
+ * collide on table names. Rows are inserted with a typed prepared statement, in batches.
+ */
 public class HyperSqlDataTableToSqlAdapter implements DataTableToSqlAdapter {
 
-  private final Logger LOG = LoggerFactory.getLogger(getClass());
+  private static final Logger LOG = LoggerFactory.getLogger(HyperSqlDataTableToSqlAdapter.class);
 
-  private final List<String> insertedTable = new ArrayList<>();
+  private static final int INSERT_BATCH_SIZE = 4096;
+  // the mem: protocol needs a database name - without it HyperSQL opens a file database
+  private static final String JDBC_URL = "jdbc:hsqldb:mem:thirdeye_sql_execution";
 
   private final Properties properties = new Properties();
+  private final String schemaName = "SQL_EXECUTION_" + UUID.randomUUID()
+      .toString()
+      .replace("-", "_")
+      .toUpperCase();
 
   @Override
   public String jdbcConnection() {
-    return "jdbc:hsqldb:mem";
+    return JDBC_URL;
   }
 
   @Override
@@ -53,108 +70,117 @@ public class HyperSqlDataTableToSqlAdapter implements DataTableToSqlAdapter {
   @Override
   public void loadTables(final Connection connection, final Map<String, DataTable> dataTables)
       throws SQLException {
-    for (final Entry<String, DataTable> entry : dataTables.entrySet()) {
-      insertInput(connection, entry.getKey(), entry.getValue());
-      insertedTable.add(entry.getKey());
+    // unqualified table names in the queries resolve against the session schema
+    execute(connection, "CREATE SCHEMA " + schemaName);
+    execute(connection, "SET SCHEMA " + schemaName);
+
+    final boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try {
+      for (final Entry<String, DataTable> entry : dataTables.entrySet()) {
+        insertInput(connection, entry.getKey(), entry.getValue());
+      }
+      connection.commit();
+    } catch (final SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
     }
   }
 
   @Override
   public void tearDown(final Connection connection) throws SQLException {
-    // Destroy database
-    LOG.debug("trying to drop all the tables to clean up the environment.");
-    for (final String tableName : insertedTable) {
-      destroyTable(connection, tableName);
-    }
+    LOG.debug("trying to drop schema {} to clean up the environment.", schemaName);
+    execute(connection, "DROP SCHEMA " + schemaName + " IF EXISTS CASCADE");
   }
 
-  private void destroyTable(final Connection c, final String tableName) throws SQLException {
-    final String dropTableStatement = "DROP TABLE " + tableName + " IF EXISTS";
-    try {
-      c.prepareCall(dropTableStatement).execute();
+  private void execute(final Connection c, final String sql) throws SQLException {
+    try (final Statement statement = c.createStatement()) {
+      statement.execute(sql);
     } catch (final SQLException e) {
-      LOG.error("Failed to drop table: {} with sql: {}",
-          tableName,
-          dropTableStatement,
-          e);
+      LOG.error("Failed to execute sql: {}", sql, e);
       throw e;
     }
   }
 
   private void insertInput(final Connection c, final String tableName,
       final DataTable dataTable) throws SQLException {
-    // Drop the table in case.
-    destroyTable(c, tableName);
-
     final DataFrame df = dataTable.getDataFrame();
-    // Create the table.
-    createTable(c, tableName, df);
-
-    // Insert all rows into the table
-    for (int rowIdx = 0; rowIdx < df.size(); rowIdx++) {
-      final String insertionStatement = getRowInsertionStatement(tableName, rowIdx, df);
-      try {
-        c.prepareCall(insertionStatement).execute();
-      } catch (final SQLException e) {
-        LOG.error("Failed to insert row idx: {}, insertion sql: {}",
-            rowIdx,
-            insertionStatement,
-            e);
-        throw e;
-      }
+    final List<String> seriesNames = df.getSeriesNames();
+    final Series[] columns = new Series[seriesNames.size()];
+    for (int colIdx = 0; colIdx < columns.length; colIdx++) {
+      columns[colIdx] = df.get(seriesNames.get(colIdx));
     }
-  }
-
-  private void createTable(final Connection c, final String tableName, final DataFrame dataFrame)
-      throws SQLException {
-    final String tableCreationStatement = getTableCreationStatement(tableName,
-        dataFrame.getSeriesNames(),
-        dataFrame.getSeriesTypes());
-    try {
-      c.prepareCall(tableCreationStatement).execute();
-      LOG.debug("Trying to create table with sql: {}", tableCreationStatement);
+    execute(c, getTableCreationStatement(tableName, seriesNames, columns));
+
+    final String insertionStatement = getInsertionStatement(tableName, columns.length);
+    try (final PreparedStatement statement = c.prepareStatement(insertionStatement)) {
+      for (int rowIdx = 0; rowIdx < df.size(); rowIdx++) {
+        for (int colIdx = 0; colIdx < columns.length; colIdx++) {
+          bindValue(statement, colIdx + 1, columns[colIdx], rowIdx);
+        }
+        statement.addBatch();
+        if ((rowIdx + 1) % INSERT_BATCH_SIZE == 0) {
+          statement.executeBatch();
+        }
+      }
+      statement.executeBatch();
     } catch (final SQLException e) {
-      LOG.error("Failed to create table: {} with sql: {}",
+      LOG.error("Failed to insert rows in table: {}, insertion sql: {}",
           tableName,
-          tableCreationStatement,
+          insertionStatement,
           e);
       throw e;
     }
   }
 
-  private String getRowInsertionStatement(final String tableName,
-      final int rowIdx,
-      final DataFrame dataFrame) {
-    final StringBuilder sb = new StringBuilder(
-        "INSERT INTO " + tableName + " VALUES (");
-    final List<String> seriesNames = dataFrame.getSeriesNames();
-    for (int colIdx = 0; colIdx < seriesNames.size(); colIdx++) {
-      final Object value = dataFrame.getObject(seriesNames.get(colIdx), rowIdx);
-
-      // If string, then wrap with quotes
-      final String quoteWith = value instanceof String ? "'" : "";
-      sb
-          .append(quoteWith)
-          .append(value)
-          .append(quoteWith);
-
-      if (colIdx < seriesNames.size() - 1) {
-        sb.append(", ");
-      }
+  private static void bindValue(final PreparedStatement statement, final int paramIdx,
+      final Series series, final int rowIdx) throws SQLException {
+    final int sqlType = getSqlType(series.type());
+    if (series.isNull(rowIdx)) {
+      statement.setNull(paramIdx, sqlType);
+      return;
+    }
+    switch (series.type()) {
+      case LONG:
+        statement.setLong(paramIdx, series.getLong(rowIdx));
+        break;
+      case DOUBLE:
+        statement.setDouble(paramIdx, series.getDouble(rowIdx));
+        break;
+      case STRING:
+        statement.setString(paramIdx, series.getString(rowIdx));
+        break;
+      case BOOLEAN:
+        statement.setBoolean(paramIdx, BooleanSeries.booleanValueOf(series.getBoolean(rowIdx)));
+        break;
+      case OBJECT:
+        statement.setObject(paramIdx, series.getObject(rowIdx), sqlType);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown type " + series.type().name());
+    }
+  }
+
+  private static String getInsertionStatement(final String tableName, final int columnCount) {
+    final StringBuilder sb = new StringBuilder("INSERT INTO " + tableName + " VALUES (");
+    for (int colIdx = 0; colIdx < columnCount; colIdx++) {
+      sb.append(colIdx == 0 ? "?" : ", ?");
     }
     sb.append(")");
     return sb.toString();
   }
 
-  private String getTableCreationStatement(final String tableName, final List<String> columns,
-      final List<SeriesType> seriesTypes) {
+  private static String getTableCreationStatement(final String tableName,
+      final List<String> columnNames, final Series[] columns) {
     final StringBuilder tableCreationStatement = new StringBuilder(
         "CREATE TABLE " + tableName + " (");
-    for (int i = 0; i < columns.size(); i++) {
-      tableCreationStatement.append(columns.get(i))
+    for (int i = 0; i < columns.length; i++) {
+      tableCreationStatement.append(columnNames.get(i))
           .append(" ")
-          .append(getColumnType(seriesTypes.get(i)));
-      if (i < columns.size() - 1) {
+          .append(getColumnType(columns[i]));
+      if (i < columns.length - 1) {
         tableCreationStatement.append(", ");
       }
     }
@@ -162,18 +188,42 @@ public class HyperSqlDataTableToSqlAdapter implements DataTableToSqlAdapter {
     return tableCreationStatement.toString();
   }
 
-  private String getColumnType(final SeriesType seriesType) {
-    switch (seriesType) {
+  private static String getColumnType(final Series series) {
+    switch (series.type()) {
       case LONG:
         return "BIGINT";
       case DOUBLE:
         return "DOUBLE";
       case STRING:
-        return "VARCHAR(128)";
+        // size the column on the data - values are never truncated
+        int maxLength = 1;
+        for (final String value : ((StringSeries) series).values()) {
+          if (value != null) {
+            maxLength = Math.max(maxLength, value.length());
+          }
+        }
+        return "VARCHAR(" + maxLength + ")";
       case BOOLEAN:
         return "BOOLEAN";
       case OBJECT:
-        return "VARBINARY(128)";
+        return "OTHER";
+      default:
+        throw new IllegalArgumentException("Unknown type " + series.type().name());
+    }
+  }
+
+  private static int getSqlType(final Series.SeriesType seriesType) {
+    switch (seriesType) {
+      case LONG:
+        return Types.BIGINT;
+      case DOUBLE:
+        return Types.DOUBLE;
+      case STRING:
+        return Types.VARCHAR;
+      case BOOLEAN:
+        return Types.BOOLEAN;
+      case OBJECT:
+        return Types.OTHER;
       default:
         throw new IllegalArgumentException("Unknown type " + seriesType.name());
     }
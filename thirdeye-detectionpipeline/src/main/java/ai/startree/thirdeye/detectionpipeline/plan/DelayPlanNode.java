@@ -18,9 +18,11 @@ import ai.startree.thirdeye.detectionpipeline.operator.DelayOperator;
 
 public class DelayPlanNode extends DetectionPipelinePlanNode {
 
+  public static final String TYPE = "Delay";
+
   @Override
   public String getType() {
-    return "Delay";
+    return TYPE;
   }
 
   @Override
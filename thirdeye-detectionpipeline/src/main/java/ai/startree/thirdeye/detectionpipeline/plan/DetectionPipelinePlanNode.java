@@ -77,6 +77,11 @@ public abstract class DetectionPipelinePlanNode implements PlanNode {
     this.inputsMap.put(key, input);
   }
 
+  @Override
+  public void releaseInputs() {
+    this.inputsMap.clear();
+  }
+
   @Override
   public Map<String, Object> getParams() {
     return optional(planNodeBean.getParams()).map(TemplatableMap::valueMap).orElse(null);
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.plan;
+
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+
+import ai.startree.thirdeye.detectionpipeline.Operator;
+import ai.startree.thirdeye.detectionpipeline.PlanNodeContext;
+import ai.startree.thirdeye.detectionpipeline.operator.EnumeratorOperator;
+import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
+import java.util.Map;
+
+public class EnumeratorPlanNode extends DetectionPipelinePlanNode {
+
+  public static final String TYPE = "Enumerator";
+
+  public EnumeratorPlanNode() {
+    super();
+  }
+
+  @Override
+  public void init(final PlanNodeContext planNodeContext) {
+    super.init(planNodeContext);
+  }
+
+  @Override
+  public String getType() {
+    return TYPE;
+  }
+
+  @Override
+  public Map<String, Object> getParams() {
+    return optional(planNodeBean.getParams()).map(TemplatableMap::valueMap).orElse(null);
+  }
+
+  @Override
+  public Operator buildOperator() throws Exception {
+    final EnumeratorOperator operator = new EnumeratorOperator();
+    operator.init(createOperatorContext()
+        .setDetectionInterval(this.detectionInterval)
+        .setInputsMap(inputsMap)
+        .setPlanNode(planNodeBean)
+    );
+    return operator;
+  }
+}
@@ -13,26 +13,46 @@
  */
 package ai.startree.thirdeye.detectionpipeline;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertThrows;
 
 import ai.startree.thirdeye.datalayer.core.EnumerationItemMaintainer;
 import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import ai.startree.thirdeye.detectionpipeline.operator.CombinerOperator;
+import ai.startree.thirdeye.detectionpipeline.operator.CombinerResult;
 import ai.startree.thirdeye.detectionpipeline.operator.EchoOperator;
 import ai.startree.thirdeye.detectionpipeline.operator.EchoOperator.EchoResult;
+import ai.startree.thirdeye.detectionpipeline.operator.ForkJoinOperator;
+import ai.startree.thirdeye.detectionpipeline.plan.CombinerPlanNode;
+import ai.startree.thirdeye.detectionpipeline.plan.DelayPlanNode;
 import ai.startree.thirdeye.detectionpipeline.plan.EchoPlanNode;
+import ai.startree.thirdeye.detectionpipeline.plan.EnumeratorPlanNode;
+import ai.startree.thirdeye.detectionpipeline.plan.ForkJoinPlanNode;
 import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
 import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.bao.EnumerationItemManager;
 import ai.startree.thirdeye.spi.datalayer.bao.EventManager;
 import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean;
+import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean.InputBean;
 import ai.startree.thirdeye.spi.detection.Enumerator;
 import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Interval;
 import org.testng.annotations.BeforeMethod;
@@ -100,4 +120,151 @@ public class PlanExecutorTest {
     final EchoResult echoResult = (EchoResult) result;
     assertThat(echoResult.text()).isEqualTo(echoInput);
   }
+
+  @Test
+  public void testExecutePlanNodeRunsIndependentBranchesConcurrently() throws Exception {
+    // both branches must be running at the same time for the barrier to trip
+    final CyclicBarrier barrier = new CyclicBarrier(2);
+    final Callable<?> awaitOtherBranch = () -> barrier.await(10, TimeUnit.SECONDS);
+    final PlanNode current = planNode("current", List.of(), awaitOtherBranch);
+    final PlanNode baseline = planNode("baseline", List.of(), awaitOtherBranch);
+    final PlanNode root = planNode("root", List.of("current", "baseline"), () -> null);
+    final Map<String, PlanNode> pipelinePlanNodes = Map.of("current", current,
+        "baseline", baseline,
+        "root", root);
+
+    final Map<ContextKey, OperatorResult> resultMap = new ConcurrentHashMap<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      PlanExecutor.executePlanNode(pipelinePlanNodes, root, resultMap, executor, 2);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(resultMap.get(PlanExecutor.key("root", "output"))).isNotNull();
+  }
+
+  @Test
+  public void testExecutePlanNodeWithSaturatedExecutor() throws Exception {
+    final PlanNode a = planNode("a", List.of(), () -> null);
+    final PlanNode b = planNode("b", List.of("a"), () -> null);
+    final PlanNode c = planNode("c", List.of("a"), () -> null);
+    final PlanNode root = planNode("root", List.of("b", "c"), () -> null);
+    final Map<String, PlanNode> pipelinePlanNodes = Map.of("a", a, "b", b, "c", c, "root", root);
+
+    final Map<ContextKey, OperatorResult> resultMap = new ConcurrentHashMap<>();
+    // an executor that never runs anything: the calling thread must run the nodes itself
+    PlanExecutor.executePlanNode(pipelinePlanNodes, root, resultMap, r -> {}, 2);
+
+    assertThat(resultMap.keySet()).containsExactly(PlanExecutor.key("root", "output"));
+  }
+
+  @Test
+  public void testExecutePlanNodeReleasesConsumedOutputs() throws Exception {
+    final Map<ContextKey, OperatorResult> resultMap = new ConcurrentHashMap<>();
+    final PlanNode a = planNode("a", List.of(), () -> null);
+    // b and c both consume the output of a: it must be available until both have run
+    final PlanNode b = planNode("b", List.of("a"),
+        () -> assertThat(resultMap).containsKey(PlanExecutor.key("a", "output")));
+    final PlanNode c = planNode("c", List.of("a"),
+        () -> assertThat(resultMap).containsKey(PlanExecutor.key("a", "output")));
+    final PlanNode root = planNode("root", List.of("b", "c"), () -> null);
+    final Map<String, PlanNode> pipelinePlanNodes = Map.of("a", a, "b", b, "c", c, "root", root);
+
+    PlanExecutor.executePlanNode(pipelinePlanNodes, root, resultMap);
+
+    assertThat(resultMap.keySet()).containsExactly(PlanExecutor.key("root", "output"));
+    verify(b).releaseInputs();
+    verify(root).releaseInputs();
+  }
+
+  @Test
+  public void testExecutePlanNodeWithCycle() throws Exception {
+    final PlanNode a = planNode("a", List.of("b"), () -> null);
+    final PlanNode b = planNode("b", List.of("a"), () -> null);
+    final PlanNode root = planNode("root", List.of("a"), () -> null);
+    final Map<String, PlanNode> pipelinePlanNodes = Map.of("a", a, "b", b, "root", root);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> PlanExecutor.executePlanNode(pipelinePlanNodes, root, new HashMap<>()));
+  }
+
+  private static PlanNode planNode(final String name, final List<String> sources,
+      final Callable<?> body) throws Exception {
+    final Operator operator = mock(Operator.class);
+    doAnswer(invocation -> body.call()).when(operator).execute();
+    when(operator.getOutputs()).thenReturn(Map.of("output", mock(OperatorResult.class)));
+
+    final PlanNode node = mock(PlanNode.class);
+    when(node.getName()).thenReturn(name);
+    when(node.getPlanNodeInputs()).thenReturn(sources.stream()
+        .map(source -> new InputBean()
+            .setSourcePlanNode(source)
+            .setSourceProperty("output")
+            .setTargetProperty(source))
+        .toList());
+    when(node.buildOperator()).thenReturn(operator);
+    return node;
+  }
+
+  @Test
+  public void testForkJoinRunsSubGraphPerEnumerationItem() throws Exception {
+    when(enumerator.enumerate(any())).thenReturn(List.of(
+        new EnumerationItemDTO().setParams(Map.of("text", "a")),
+        new EnumerationItemDTO().setParams(Map.of("text", "b")),
+        new EnumerationItemDTO().setParams(Map.of("text", "c"))));
+    final List<PlanNodeBean> nodes = List.of(
+        new PlanNodeBean().setName("enumerator").setType(EnumeratorPlanNode.TYPE),
+        new PlanNodeBean().setName("combiner").setType(CombinerPlanNode.TYPE),
+        new PlanNodeBean().setName("root").setType(ForkJoinPlanNode.TYPE)
+            .setParams(TemplatableMap.fromValueMap(Map.of(
+                ForkJoinOperator.K_ENUMERATOR, "enumerator",
+                ForkJoinOperator.K_ROOT, "echo",
+                ForkJoinOperator.K_COMBINER, "combiner",
+                ForkJoinOperator.K_PARALLELISM, 2))),
+        new PlanNodeBean().setName("echo").setType(EchoPlanNode.TYPE)
+            .setParams(TemplatableMap.ofValue(EchoOperator.DEFAULT_INPUT_KEY, "${text}")));
+
+    final Map<String, OperatorResult> outputs = planExecutor.runAndGetRootOutputs(nodes,
+        new DetectionPipelineContext()
+            .setDetectionInterval(new Interval(0L, 0L, DateTimeZone.UTC)));
+
+    final CombinerResult combinerResult = (CombinerResult) outputs.get(
+        CombinerOperator.DEFAULT_OUTPUT_KEY);
+    assertThat(combinerResult.getResults().size()).isEqualTo(3);
+    assertThat(((EchoResult) combinerResult.getResults().get("0")).text()).isEqualTo("a");
+    assertThat(((EchoResult) combinerResult.getResults().get("1")).text()).isEqualTo("b");
+    assertThat(((EchoResult) combinerResult.getResults().get("2")).text()).isEqualTo("c");
+  }
+
+  @Test
+  public void testForkJoinFailsWhenAnItemTimesOut() throws Exception {
+    when(enumerator.enumerate(any())).thenReturn(List.of(
+        new EnumerationItemDTO().setParams(Map.of("text", "a", "delay", "PT0S")),
+        new EnumerationItemDTO().setParams(Map.of("text", "b", "delay", "PT1M")),
+        new EnumerationItemDTO().setParams(Map.of("text", "c", "delay", "PT0S"))));
+    final List<PlanNodeBean> nodes = List.of(
+        new PlanNodeBean().setName("enumerator").setType(EnumeratorPlanNode.TYPE),
+        new PlanNodeBean().setName("combiner").setType(CombinerPlanNode.TYPE),
+        new PlanNodeBean().setName("root").setType(ForkJoinPlanNode.TYPE)
+            .setParams(TemplatableMap.fromValueMap(Map.of(
+                ForkJoinOperator.K_ENUMERATOR, "enumerator",
+                ForkJoinOperator.K_ROOT, "delay",
+                ForkJoinOperator.K_COMBINER, "combiner",
+                ForkJoinOperator.K_PARALLELISM, 3,
+                ForkJoinOperator.K_TIMEOUT, "PT1S"))),
+        new PlanNodeBean().setName("delay").setType(DelayPlanNode.TYPE)
+            .setParams(TemplatableMap.ofValue("delayTime", "${delay}"))
+            .setInputs(List.of(new InputBean()
+                .setSourcePlanNode("echo")
+                .setSourceProperty(EchoOperator.DEFAULT_OUTPUT_KEY)
+                .setTargetProperty("text"))),
+        new PlanNodeBean().setName("echo").setType(EchoPlanNode.TYPE)
+            .setParams(TemplatableMap.ofValue(EchoOperator.DEFAULT_INPUT_KEY, "${text}")));
+
+    // the results of the items that completed are not combined: the whole run fails
+    assertThrows(TimeoutException.class, () -> planExecutor.runAndGetRootOutputs(nodes,
+        new DetectionPipelineContext()
+            .setDetectionInterval(new Interval(0L, 0L, DateTimeZone.UTC))));
+  }
 }
@@ -25,10 +25,14 @@ import ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
 import com.google.common.collect.ImmutableMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
+import org.joda.time.Duration;
 import org.joda.time.Interval;
+import org.joda.time.Period;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -414,4 +418,85 @@ public class TimeIndexFillerTest {
 
     assertThat(output).isEqualTo(expected);
   }
+
+  @Test
+  public void testFillIndexWithCompleteData() throws Exception {
+    final TimeIndexFillerSpec spec = new TimeIndexFillerSpec();
+    spec
+        .setMinTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMaxTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMonitoringGranularity("P1D")
+        .setTimestamp("ts");
+    final TimeIndexFiller timeIndexFiller = new TimeIndexFiller();
+    timeIndexFiller.init(spec);
+
+    final Interval inputInterval = new Interval(OCTOBER_22_MILLIS,
+        OCTOBER_25_MILLIS,
+        DateTimeZone.UTC);
+
+    // no value missing - time column not in first position
+    final DataFrame dataFrame = new DataFrame();
+    dataFrame.addSeries("met", METRIC_VALUE, METRIC_VALUE, METRIC_VALUE);
+    dataFrame.addSeries("ts", OCTOBER_22_MILLIS, OCTOBER_23_MILLIS, OCTOBER_24_MILLIS);
+    final DataTable inputDataTable = SimpleDataTable.fromDataFrame(dataFrame);
+
+    final DataFrame expectedDataFrame = new DataFrame();
+    expectedDataFrame.addSeries("ts", OCTOBER_22_MILLIS, OCTOBER_23_MILLIS, OCTOBER_24_MILLIS);
+    expectedDataFrame.addSeries("met", METRIC_VALUE, METRIC_VALUE, METRIC_VALUE);
+
+    final DataTable output = timeIndexFiller.fillIndex(inputInterval, inputDataTable);
+    assertThat(output.getDataFrame()).isEqualTo(expectedDataFrame);
+    assertThat(output.getDataFrame().getSeriesNames()).containsExactly("ts", "met");
+  }
+
+  @Test
+  public void testTimeIndexIsServedFromCachedIndex() {
+    // daily index across a DST change - each run slides by one day
+    final DateTimeZone timezone = DateTimeZone.forID("Europe/Paris");
+    final Period granularity = Period.days(1);
+    final DateTime start = new DateTime(2021, 10, 20, 0, 0, timezone);
+    for (int run = 0; run < 10; run++) {
+      final DateTime first = start.plusDays(run);
+      final DateTime last = first.plusDays(7);
+      final LongSeries index = TimeIndexFiller.timeIndex(first, last, granularity);
+
+      final LongSeries.Builder expected = LongSeries.builder();
+      for (DateTime value = first; !value.isAfter(last); value = value.plusDays(1)) {
+        expected.addValues(value.getMillis());
+      }
+      assertThat(index).isEqualTo(expected.build());
+    }
+  }
+
+  @Test
+  public void testTimeIndexesOfDifferentPhasesAreCachedSideBySide() {
+    final DateTimeZone timezone = DateTimeZone.forID("Asia/Kathmandu");
+    final Period granularity = Period.days(1);
+    final DateTime midnight = new DateTime(2021, 10, 20, 0, 0, timezone);
+    final DateTime sixAm = midnight.plusHours(6);
+
+    TimeIndexFiller.timeIndex(midnight, midnight.plusDays(7), granularity);
+    TimeIndexFiller.timeIndex(sixAm, sixAm.plusDays(7), granularity);
+
+    final List<LongSeries> cachedIndexes = TimeIndexFiller.cachedTimeIndexes(granularity,
+        midnight.getChronology());
+    assertThat(cachedIndexes).hasSize(2);
+    assertThat(cachedIndexes.get(0).getLong(0)).isEqualTo(sixAm.getMillis());
+    assertThat(cachedIndexes.get(1).getLong(0)).isEqualTo(midnight.getMillis());
+  }
+
+  @Test
+  public void testTimeIndexTooLargeIsNotCached() {
+    final DateTimeZone timezone = DateTimeZone.forID("America/Caracas");
+    final Period granularity = Period.minutes(1);
+    final DateTime first = new DateTime(2021, 1, 1, 0, 0, timezone);
+    final DateTime last = first.plusYears(2);
+
+    final LongSeries index = TimeIndexFiller.timeIndex(first, last, granularity);
+
+    assertThat(index.size()).isEqualTo(
+        (int) (new Duration(first, last).getStandardMinutes() + 1));
+    assertThat(index.getLong(index.size() - 1)).isEqualTo(last.getMillis());
+    assertThat(TimeIndexFiller.cachedTimeIndexes(granularity, first.getChronology())).isEmpty();
+  }
 }
@@ -72,6 +72,7 @@ public class DataFetcherOperatorTest {
                 mock(EventManager.class),
                 datasetDao,
                 mock(ExecutorService.class),
+                mock(ExecutorService.class),
                 new DetectionPipelineConfiguration(),
                 mock(EnumerationItemMaintainer.class))
     ));
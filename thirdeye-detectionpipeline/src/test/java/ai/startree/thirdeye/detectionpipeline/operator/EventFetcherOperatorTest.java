@@ -101,6 +101,7 @@ public class EventFetcherOperatorTest {
                 eventDao,
                 mock(DatasetConfigManager.class),
                 mock(ExecutorService.class),
+                mock(ExecutorService.class),
                 new DetectionPipelineConfiguration(),
                 mock(EnumerationItemMaintainer.class))
         ));
@@ -88,6 +88,7 @@ public class PostProcessorOperatorTest {
                 mock(EventManager.class),
                 mock(DatasetConfigManager.class),
                 mock(ExecutorService.class),
+                mock(ExecutorService.class),
                 new DetectionPipelineConfiguration(),
                 mock(EnumerationItemMaintainer.class))));
   }
@@ -14,6 +14,9 @@
 package ai.startree.thirdeye.detectionpipeline.operator.sql;
 
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
 import com.google.common.collect.ImmutableMap;
@@ -84,6 +87,30 @@ public class DataFrameSchemaTest {
     Assert.assertEquals(outputDf, expectedDf);
   }
 
+  @Test
+  public void testRangePredicateAndProjectionPushdown() throws Exception {
+    final DataFrame withNulls = new DataFrame()
+        .addSeries("str_column", StringSeries.buildFrom("a", "b", StringSeries.NULL, "d"))
+        .addSeries("long_column", LongSeries.buildFrom(1L, LongSeries.NULL, 3L, 4L))
+        .addSeries("double_column", DoubleSeries.buildFrom(0.5, 1.5, 2.5, DoubleSeries.NULL));
+    final DataFrameSchema schema = new DataFrameSchema(ImmutableMap.of("types_table", withNulls));
+    final Connection connection = getConnection(schema, properties);
+    final Statement statement = connection.createStatement();
+
+    final String query = "select str_column from types_table "
+        + "where long_column >= 1 AND 3.5 > double_column AND str_column IS NOT NULL";
+    final ResultSet planResultSet = statement.executeQuery("explain plan for " + query);
+    planResultSet.next();
+    final String plan = planResultSet.getString(1);
+    Assert.assertTrue(plan.contains("projects=[[0]]"), plan);
+
+    final DataFrame outputDf = DataFrame.fromResultSet(statement.executeQuery(query));
+    final DataFrame expectedDf = new DataFrame();
+    expectedDf.addSeries("str_column", "a");
+
+    Assert.assertEquals(outputDf, expectedDf);
+  }
+
   @Test
   public void testMultipleTables() throws Exception {
     // test importing multiple dataframe as SQL tables
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.operator.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
+import ai.startree.thirdeye.spi.detection.v2.DataTable;
+import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+public class HyperSqlDataTableToSqlAdapterTest {
+
+  private static Connection connect(final HyperSqlDataTableToSqlAdapter adapter)
+      throws Exception {
+    Class.forName(adapter.jdbcDriverClassName());
+    return DriverManager.getConnection(adapter.jdbcConnection(), adapter.jdbcProperties());
+  }
+
+  private static DataFrame query(final Connection connection, final String sql)
+      throws SQLException {
+    try (final Statement statement = connection.createStatement();
+        final ResultSet resultSet = statement.executeQuery(sql)) {
+      return DataFrame.fromResultSet(resultSet);
+    }
+  }
+
+  private static Map<String, DataTable> tables(final DataFrame df) {
+    return ImmutableMap.of("input_data", SimpleDataTable.fromDataFrame(df));
+  }
+
+  @Test
+  public void testLoadTablesKeepsTypesAndNulls() throws Exception {
+    final String longString = Strings.repeat("a", 500);
+    final DataFrame input = new DataFrame()
+        .addSeries("ts", LongSeries.buildFrom(1L, 2L, LongSeries.NULL))
+        .addSeries("met", DoubleSeries.buildFrom(0.5, DoubleSeries.NULL, 1.5))
+        .addSeries("dim", StringSeries.buildFrom("it's", longString, StringSeries.NULL));
+
+    final HyperSqlDataTableToSqlAdapter adapter = new HyperSqlDataTableToSqlAdapter();
+    try (final Connection connection = connect(adapter)) {
+      final DataFrame output;
+      try {
+        adapter.loadTables(connection, tables(input));
+        output = query(connection, "SELECT ts, met, dim FROM input_data ORDER BY ts");
+      } finally {
+        adapter.tearDown(connection);
+      }
+
+      assertThat(output.size()).isEqualTo(3);
+      // nulls are sorted first
+      assertThat(output.isNull("ts", 0)).isTrue();
+      assertThat(output.getDouble("met", 0)).isEqualTo(1.5);
+      assertThat(output.isNull("dim", 0)).isTrue();
+      assertThat(output.getLong("ts", 1)).isEqualTo(1L);
+      assertThat(output.getString("dim", 1)).isEqualTo("it's");
+      assertThat(output.isNull("met", 2)).isTrue();
+      assertThat(output.getString("dim", 2)).isEqualTo(longString);
+    }
+  }
+
+  @Test
+  public void testConcurrentExecutionsDoNotShareTables() throws Exception {
+    final HyperSqlDataTableToSqlAdapter adapter1 = new HyperSqlDataTableToSqlAdapter();
+    final HyperSqlDataTableToSqlAdapter adapter2 = new HyperSqlDataTableToSqlAdapter();
+    try (final Connection connection1 = connect(adapter1);
+        final Connection connection2 = connect(adapter2)) {
+      final DataFrame output1;
+      final DataFrame output2;
+      try {
+        adapter1.loadTables(connection1,
+            tables(new DataFrame().addSeries("met", DoubleSeries.buildFrom(1.))));
+        adapter2.loadTables(connection2,
+            tables(new DataFrame().addSeries("met", DoubleSeries.buildFrom(2., 3.))));
+
+        output1 = query(connection1, "SELECT met FROM input_data");
+        output2 = query(connection2, "SELECT met FROM input_data");
+      } finally {
+        adapter1.tearDown(connection1);
+        adapter2.tearDown(connection2);
+      }
+
+      assertThat(output1.getDoubles("met").toList()).containsExactly(1.);
+      assertThat(output2.getDoubles("met").toList()).containsExactly(2., 3.);
+    }
+  }
+}
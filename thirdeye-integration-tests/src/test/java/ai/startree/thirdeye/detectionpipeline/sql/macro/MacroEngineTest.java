@@ -104,6 +104,28 @@ public class MacroEngineTest {
         DATASET_CONFIG_DTO);
   }
 
+  @Test
+  public void testTimeFilterMacroWithCachedQuery() {
+    // the parsed query is cached - macros must be applied again for each detection interval
+    final String inputQuery = "select * from tableName where __timeFilter(timeCol, 'EPOCH')";
+    final Interval otherInterval = new Interval(INPUT_END_TIME,
+        INPUT_END_TIME + 1000L,
+        DateTimeZone.UTC);
+    for (final Interval interval : List.of(INPUT_INTERVAL, otherInterval, INPUT_INTERVAL)) {
+      final String expectedQuery = String.format("SELECT * FROM tableName WHERE %s",
+          MOCK_SQL_EXPRESSION_BUILDER.getTimeFilterExpression("timeCol",
+              interval,
+              INPUT_TIME_COLUMN_FORMAT));
+      final DataSourceRequest output = new MacroEngine(MOCK_SQL_LANGUAGE,
+          MOCK_SQL_EXPRESSION_BUILDER,
+          interval,
+          DATASET_CONFIG_DTO,
+          inputQuery).prepareRequest();
+      assertThat(IntegrationTestUtils.cleanSql(output.getQuery())).isEqualTo(
+          IntegrationTestUtils.cleanSql(expectedQuery));
+    }
+  }
+
   @Test
   public void testTimeFilterMacro() {
     // test if a simple macro works - eg: __timeFilter(timeCol, 'EPOCH')
@@ -29,6 +29,7 @@ import ai.startree.thirdeye.spi.api.EnumerationItemApi;
 import ai.startree.thirdeye.spi.api.NotificationReportApi;
 import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
 import ai.startree.thirdeye.spi.datalayer.bao.EnumerationItemManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
@@ -40,7 +41,10 @@ import com.google.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
@@ -135,19 +139,45 @@ public class NotificationReportBuilder {
     final List<AnomalyDTO> sortedAnomalyResults = new ArrayList<>(anomalies);
     sortedAnomalyResults.sort((o1, o2) -> -1 * Long.compare(o1.getStartTime(), o2.getStartTime()));
 
+    // alerts and enumeration items are shared by many anomalies: load each of them once
+    final Map<Long, AlertDTO> alerts = findByIds(sortedAnomalyResults,
+        AnomalyDTO::getDetectionConfigId,
+        alertManager::findByIds);
+    final Map<Long, EnumerationItemDTO> enumerationItems = findByIds(sortedAnomalyResults,
+        anomaly -> optional(anomaly.getEnumerationItem()).map(EnumerationItemDTO::getId).orElse(null),
+        enumerationItemManager::findByIds);
+
     return sortedAnomalyResults.stream()
-        .map(this::toAnomalyReportApi)
+        .map(anomaly -> toAnomalyReportApi(anomaly, alerts, enumerationItems))
         .collect(Collectors.toList());
   }
 
-  private AnomalyReportApi toAnomalyReportApi(final AnomalyDTO anomaly) {
+  private static <T extends AbstractDTO> Map<Long, T> findByIds(final List<AnomalyDTO> anomalies,
+      final Function<AnomalyDTO, Long> idFn,
+      final Function<List<Long>, List<T>> findByIdsFn) {
+    final List<Long> ids = anomalies.stream()
+        .map(idFn)
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.toList());
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    return findByIdsFn.apply(ids).stream()
+        .collect(Collectors.toMap(AbstractDTO::getId, Function.identity()));
+  }
+
+  private AnomalyReportApi toAnomalyReportApi(final AnomalyDTO anomaly,
+      final Map<Long, AlertDTO> alerts,
+      final Map<Long, EnumerationItemDTO> enumerationItems) {
     return new AnomalyReportApi()
-        .setAnomaly(toAnomalyApi(anomaly))
-        .setData(toAnomalyReportDataApi(anomaly))
+        .setAnomaly(toAnomalyApi(anomaly, enumerationItems))
+        .setData(toAnomalyReportDataApi(anomaly, alerts))
         .setUrl(getDashboardUrl(anomaly.getId()));
   }
 
-  private AnomalyReportDataApi toAnomalyReportDataApi(final AnomalyDTO anomaly) {
+  private AnomalyReportDataApi toAnomalyReportDataApi(final AnomalyDTO anomaly,
+      final Map<Long, AlertDTO> alerts) {
     final AnomalyFeedback feedback = anomaly.getFeedback();
     final String feedbackVal = getFeedbackValue(feedback);
 
@@ -155,7 +185,7 @@ public class NotificationReportBuilder {
     String alertDescription = "";
 
     if (anomaly.getDetectionConfigId() != null) {
-      final AlertDTO alert = alertManager.findById(anomaly.getDetectionConfigId());
+      final AlertDTO alert = alerts.get(anomaly.getDetectionConfigId());
       Preconditions.checkNotNull(alert,
           "Cannot find detection config %d", anomaly.getDetectionConfigId());
       alertName = alert.getName();
@@ -171,12 +201,13 @@ public class NotificationReportBuilder {
         uiConfiguration.getExternalUrl());
   }
 
-  private AnomalyApi toAnomalyApi(final AnomalyDTO anomaly) {
+  private AnomalyApi toAnomalyApi(final AnomalyDTO anomaly,
+      final Map<Long, EnumerationItemDTO> enumerationItems) {
     final AnomalyApi anomalyApi = ApiBeanMapper.toApi(anomaly);
 
     optional(anomaly.getEnumerationItem())
         .map(EnumerationItemDTO::getId)
-        .map(enumerationItemManager::findById)
+        .map(enumerationItems::get)
         .ifPresent(dto -> anomalyApi.setEnumerationItem(new EnumerationItemApi()
             .setId(dto.getId())
             .setName(dto.getName())
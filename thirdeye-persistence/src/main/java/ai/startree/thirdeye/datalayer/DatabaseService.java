@@ -28,6 +28,11 @@ import io.micrometer.core.instrument.Timer;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -170,6 +175,113 @@ public class DatabaseService {
     return 0;
   }
 
+  /**
+   * Inserts all entities with a single batched statement. All entities must be of the same
+   * class.
+   *
+   * @return generated keys in the order of the entities
+   * @throws SQLException if the number of generated keys does not match the number of entities
+   */
+  public <E extends AbstractEntity> List<Long> saveAll(final List<E> entities,
+      final Connection connection) throws Exception {
+    if (entities.isEmpty()) {
+      return new ArrayList<>();
+    }
+    final Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+    final long tStart = System.nanoTime();
+    try {
+      try (final PreparedStatement baseTableInsertStmt = sqlQueryBuilder
+          .createBatchInsertStatement(connection, entities)) {
+        baseTableInsertStmt.executeBatch();
+        final List<Long> keys = new ArrayList<>(entities.size());
+        try (final ResultSet generatedKeys = baseTableInsertStmt.getGeneratedKeys()) {
+          while (generatedKeys.next()) {
+            keys.add(generatedKeys.getLong(1));
+          }
+        }
+        if (keys.size() != entities.size()) {
+          // keys cannot be matched to the entities - fail to roll back the transaction
+          throw new SQLException(String.format(
+              "Batch insert returned %d generated keys for %d entities",
+              keys.size(),
+              entities.size()));
+        }
+        return keys;
+      }
+    } finally {
+      dbWriteCallCounter.inc();
+      dbWriteDuration.update(System.nanoTime() - tStart);
+      sample.stop(dbCrudTimerOfCreate);
+    }
+  }
+
+  /**
+   * Updates all entities by id with batched statements. Like
+   * {@link #update(AbstractEntity, Predicate, Connection)}, entities keep their create time from
+   * the database and entities missing from the database are not updated. The existing entities
+   * are read with a single query. All entities must be of the same class.
+   *
+   * @return number of updated rows per entity, in the order of the entities
+   */
+  public <E extends AbstractEntity> int[] updateAll(final List<E> entities,
+      final Connection connection) throws Exception {
+    final int[] updated = new int[entities.size()];
+    if (entities.isEmpty()) {
+      return updated;
+    }
+    final Class<? extends AbstractEntity> clazz = entities.get(0).getClass();
+    final String idCol = getIdColumnName(clazz);
+
+    final Map<Long, Timestamp> createTimes = new HashMap<>();
+    final Object[] ids = entities.stream().map(AbstractEntity::getId).toArray();
+    for (final AbstractEntity dbEntity : findAll(Predicate.IN(idCol, ids), null, null, clazz,
+        connection)) {
+      createTimes.put(baseId(dbEntity), dbEntity.getCreateTime());
+    }
+
+    final List<E> existing = new ArrayList<>();
+    final List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < entities.size(); i++) {
+      final E entity = entities.get(i);
+      if (createTimes.containsKey(entity.getId())) {
+        entity.setCreateTime(createTimes.get(entity.getId()));
+        existing.add(entity);
+        positions.add(i);
+      }
+    }
+    if (existing.isEmpty()) {
+      return updated;
+    }
+
+    final Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+    final long tStart = System.nanoTime();
+    final Map<PreparedStatement, List<Integer>> statements = sqlQueryBuilder
+        .createBatchUpdateStatements(connection, existing, idCol);
+    try {
+      for (final Map.Entry<PreparedStatement, List<Integer>> entry : statements.entrySet()) {
+        final int[] counts = entry.getKey().executeBatch();
+        for (int i = 0; i < counts.length; i++) {
+          final int position = positions.get(entry.getValue().get(i));
+          updated[position] = counts[i] == Statement.SUCCESS_NO_INFO ? 1 : counts[i];
+        }
+      }
+      return updated;
+    } finally {
+      for (final PreparedStatement statement : statements.keySet()) {
+        statement.close();
+      }
+      dbWriteCallCounter.inc();
+      dbWriteDuration.update(System.nanoTime() - tStart);
+      sample.stop(dbCrudTimerOfUpdate);
+    }
+  }
+
+  private static Long baseId(final AbstractEntity entity) {
+    return entity instanceof AbstractIndexEntity
+        ? ((AbstractIndexEntity) entity).getBaseId()
+        : entity.getId();
+  }
+
   public <E extends AbstractEntity> String getIdColumnName(final Class<E> clazz) {
     return AbstractIndexEntity.class.isAssignableFrom(clazz) ? "baseId" : "id";
   }
@@ -20,6 +20,7 @@ import ai.startree.thirdeye.spi.datalayer.bao.AbstractManager;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import com.google.inject.persist.Transactional;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -44,23 +45,56 @@ public abstract class AbstractManagerImpl<E extends AbstractDTO> implements Abst
     }
     final Long id = genericPojoDao.create(entity);
     entity.setId(id);
+    afterWrite();
     return id;
   }
 
+  /**
+   * Creates the entities without id in a single transaction, and updates the others in a single
+   * transaction. Rows are written with batched statements.
+   */
+  @Override
+  public List<Long> saveAll(final List<E> entities) {
+    final List<E> toCreate = new ArrayList<>();
+    final List<E> toUpdate = new ArrayList<>();
+    for (final E entity : entities) {
+      (entity.getId() == null ? toCreate : toUpdate).add(entity);
+    }
+    if (!toUpdate.isEmpty()) {
+      genericPojoDao.update(toUpdate);
+    }
+    if (!toCreate.isEmpty()) {
+      genericPojoDao.create(toCreate);
+    }
+    afterWrite();
+
+    final List<Long> ids = new ArrayList<>(entities.size());
+    for (final E entity : entities) {
+      ids.add(entity.getId());
+    }
+    return ids;
+  }
+
   @Override
   public int update(final E entity, final Predicate predicate) {
-    return genericPojoDao.update(entity, predicate);
+    final int updated = genericPojoDao.update(entity, predicate);
+    afterWrite();
+    return updated;
   }
 
   @Override
   public int update(final E entity) {
-    return genericPojoDao.update(entity);
+    final int updated = genericPojoDao.update(entity);
+    afterWrite();
+    return updated;
   }
 
   // Test is located at TestAlertConfigManager.testBatchUpdate()
   @Override
   public int update(final List<E> entities) {
-    return genericPojoDao.update(entities);
+    final int updated = genericPojoDao.update(entities);
+    afterWrite();
+    return updated;
   }
 
   @Override
@@ -80,23 +114,38 @@ public abstract class AbstractManagerImpl<E extends AbstractDTO> implements Abst
 
   @Override
   public int delete(final E entity) {
-    return genericPojoDao.delete(entity.getId(), dtoClass);
+    final int deleted = genericPojoDao.delete(entity.getId(), dtoClass);
+    afterWrite();
+    return deleted;
   }
 
   // Test is located at TestAlertConfigManager.testBatchDeletion()
   @Override
   public int deleteById(final Long id) {
-    return genericPojoDao.delete(id, dtoClass);
+    final int deleted = genericPojoDao.delete(id, dtoClass);
+    afterWrite();
+    return deleted;
   }
 
   @Override
   public int deleteByIds(final List<Long> ids) {
-    return genericPojoDao.delete(ids, dtoClass);
+    final int deleted = genericPojoDao.delete(ids, dtoClass);
+    afterWrite();
+    return deleted;
   }
 
   @Override
   public int deleteByPredicate(final Predicate predicate) {
-    return genericPojoDao.deleteByPredicate(predicate, dtoClass);
+    final int deleted = genericPojoDao.deleteByPredicate(predicate, dtoClass);
+    afterWrite();
+    return deleted;
+  }
+
+  /**
+   * Called after every write made through this manager. Managers caching entities invalidate
+   * their cache here.
+   */
+  protected void afterWrite() {
   }
 
   @Override
@@ -14,9 +14,13 @@
 package ai.startree.thirdeye.datalayer.bao;
 
 import static ai.startree.thirdeye.spi.Constants.METRICS_CACHE_TIMEOUT;
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static com.google.common.base.Suppliers.memoizeWithExpiration;
 
 import ai.startree.thirdeye.datalayer.dao.GenericPojoDao;
+import ai.startree.thirdeye.datalayer.entity.DetectionConfigIndex;
+import ai.startree.thirdeye.spi.datalayer.AlertSchedule;
+import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
 import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
@@ -30,6 +34,8 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 @Singleton
 public class AlertManagerImpl extends AbstractManagerImpl<AlertDTO> implements
@@ -53,15 +59,15 @@ public class AlertManagerImpl extends AbstractManagerImpl<AlertDTO> implements
           }
         });
 
-    Supplier<Number> activeTimeseriesCountFun = () -> {
-      final List<AlertDTO> activeAlerts = findAllActive();
-      return activeAlerts.stream()
-          // Assumes dangling enumeration items are handled and only linked items are present in DB
-          .map(alert -> (int) genericPojoDao.count(Predicate.EQ("alertId", alert.getId()),
-              EnumerationItemDTO.class))
-          // add enumerationItems count if present, else just add 1 for simple alert
-          .reduce(0, (tsCount, enumCount) -> tsCount + (enumCount == 0 ? 1 : enumCount));
-    };
+    // reads the alert index only: alerts are not deserialized
+    Supplier<Number> activeTimeseriesCountFun = () -> optional(findActiveIndexes())
+        .orElse(List.of())
+        .stream()
+        // Assumes dangling enumeration items are handled and only linked items are present in DB
+        .map(alert -> (int) genericPojoDao.count(Predicate.EQ("alertId", alert.getBaseId()),
+            EnumerationItemDTO.class))
+        // add enumerationItems count if present, else just add 1 for simple alert
+        .reduce(0, (tsCount, enumCount) -> tsCount + (enumCount == 0 ? 1 : enumCount));
     Gauge.builder("thirdeye_active_timeseries",
             memoizeWithExpiration(activeTimeseriesCountFun, 15, TimeUnit.MINUTES))
         .register(Metrics.globalRegistry);
@@ -109,4 +115,32 @@ public class AlertManagerImpl extends AbstractManagerImpl<AlertDTO> implements
   public Long countActive() {
     return count(Predicate.EQ("active", true));
   }
+
+  @Override
+  public @Nullable List<AlertSchedule> findAllSchedules() {
+    final List<DetectionConfigIndex> indexes = findIndexes(null);
+    if (indexes == null) {
+      return null;
+    }
+    return indexes.stream()
+        .map(index -> new AlertSchedule(index.getBaseId(),
+            index.getCron(),
+            index.isActive(),
+            index.getUpdateTime()))
+        .collect(Collectors.toList());
+  }
+
+  private @Nullable List<DetectionConfigIndex> findActiveIndexes() {
+    return findIndexes(Predicate.EQ("active", true));
+  }
+
+  /**
+   * @return the alert index rows. null if the index could not be read.
+   */
+  private @Nullable List<DetectionConfigIndex> findIndexes(final @Nullable Predicate predicate) {
+    final DaoFilter daoFilter = new DaoFilter()
+        .setPredicate(predicate)
+        .setBeanClass(AlertDTO.class);
+    return genericPojoDao.getIndexEntities(daoFilter, DetectionConfigIndex.class);
+  }
 }
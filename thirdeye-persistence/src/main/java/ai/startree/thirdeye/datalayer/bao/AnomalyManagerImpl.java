@@ -17,30 +17,28 @@ import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import ai.startree.thirdeye.datalayer.dao.GenericPojoDao;
+import ai.startree.thirdeye.datalayer.dao.GenericPojoDao.TransactionWriter;
 import ai.startree.thirdeye.spi.datalayer.AnomalyFilter;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.AnomalyManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.AnomalyFeedbackDTO;
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
@@ -54,10 +52,6 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
 
   private static final Logger LOG = LoggerFactory.getLogger(AnomalyManagerImpl.class);
 
-  // TODO inject as dependency
-  private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(10,
-      new ThreadFactoryBuilder().setNameFormat("anomaly-manager-%d").build());
-
   @Inject
   public AnomalyManagerImpl(final GenericPojoDao genericPojoDao) {
     super(AnomalyDTO.class, genericPojoDao);
@@ -151,13 +145,113 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
     return childIds;
   }
 
+  /**
+   * Saves the anomalies and their children in a single transaction.
+   *
+   * @see AnomalyManagerImpl#saveAnomalies(List, TransactionWriter)
+   */
+  @Override
+  public List<Long> saveAll(final List<AnomalyDTO> anomalies) {
+    if (!genericPojoDao.executeInTransaction(writer -> saveAnomalies(anomalies, writer))) {
+      LOG.error("Failed to store {} anomalies", anomalies.size());
+    }
+    afterWrite();
+
+    final List<Long> ids = new ArrayList<>(anomalies.size());
+    for (final AnomalyDTO anomaly : anomalies) {
+      ids.add(anomaly.getId());
+    }
+    return ids;
+  }
+
+  @Override
+  public boolean saveAll(final List<AnomalyDTO> anomalies, final AlertDTO alert) {
+    final boolean committed = genericPojoDao.executeInTransaction(writer -> {
+      saveAnomalies(anomalies, writer);
+      if (alert.getId() == null) {
+        writer.create(List.of(alert));
+      } else {
+        writer.update(List.of(alert));
+      }
+    });
+    afterWrite();
+    return committed;
+  }
+
+  /**
+   * Saves anomalies and their children with batched writes. Anomalies are written bottom-up, one
+   * level of the anomaly trees at a time, so that the ids of the children are known when their
+   * parents are written.
+   */
+  private void saveAnomalies(final List<AnomalyDTO> anomalies, final TransactionWriter writer)
+      throws Exception {
+    final Map<AnomalyDTO, Integer> heights = new IdentityHashMap<>();
+    final List<List<AnomalyDTO>> levels = new ArrayList<>();
+    for (final AnomalyDTO anomaly : anomalies) {
+      collectByHeight(anomaly, new HashSet<>(), heights, levels);
+    }
+
+    for (final List<AnomalyDTO> level : levels) {
+      final List<AnomalyDTO> toCreate = new ArrayList<>();
+      final List<AnomalyDTO> toUpdate = new ArrayList<>();
+      for (final AnomalyDTO anomaly : level) {
+        final AnomalyDTO mergeAnomalyBean = convertMergeAnomalyDTO2Bean(anomaly);
+        final Set<Long> childAnomalyIds = new HashSet<>();
+        for (final AnomalyDTO child : optional(anomaly.getChildren()).orElse(Set.of())) {
+          childAnomalyIds.add(child.getId());
+        }
+        mergeAnomalyBean.setChildIds(childAnomalyIds);
+        (mergeAnomalyBean.getId() == null ? toCreate : toUpdate).add(mergeAnomalyBean);
+      }
+      writer.create(toCreate);
+      writer.update(toUpdate);
+    }
+  }
+
+  /**
+   * Adds the anomaly and its descendants to the level of their height in the anomaly tree,
+   * leaves first. Like {@link #saveChildAnomalies(AnomalyDTO, Set)}, children inherit the auth of
+   * their parent and new anomalies may not appear twice in a tree.
+   *
+   * @return height of the anomaly
+   */
+  private static int collectByHeight(final AnomalyDTO anomaly,
+      final Set<AnomalyDTO> visitedAnomalies, final Map<AnomalyDTO, Integer> heights,
+      final List<List<AnomalyDTO>> levels) {
+    visitedAnomalies.add(anomaly);
+    final Integer knownHeight = heights.get(anomaly);
+    if (knownHeight != null) {
+      return knownHeight;
+    }
+
+    int height = 0;
+    for (final AnomalyDTO child : optional(anomaly.getChildren()).orElse(Set.of())) {
+      if (child.getId() == null) {
+        // Prevent cycles
+        if (visitedAnomalies.contains(child)) {
+          throw new IllegalArgumentException("Loop detected! Child anomaly referencing ancestor");
+        }
+      }
+      child.setAuth(anomaly.getAuth());
+      child.setChild(true);
+      height = Math.max(height, collectByHeight(child, visitedAnomalies, heights, levels) + 1);
+    }
+
+    heights.put(anomaly, height);
+    while (levels.size() <= height) {
+      levels.add(new ArrayList<>());
+    }
+    levels.get(height).add(anomaly);
+    return height;
+  }
+
   @Override
   public AnomalyDTO findById(final Long id) {
     final AnomalyDTO anomaly = genericPojoDao.get(id, AnomalyDTO.class);
     if (anomaly == null) {
       return null;
     }
-    return decorate(anomaly, new HashSet<>());
+    return decorate(anomaly);
   }
 
   @Override
@@ -223,8 +317,7 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
       if (candidate.getChildIds() != null && !candidate.getChildIds().isEmpty()) {
         for (final Long id : candidate.getChildIds()) {
           if (entity.getId().equals(id)) {
-            return decorate(candidate,
-                new HashSet<>(Collections.singleton(candidate.getId())));
+            return decorate(candidate);
           }
         }
       }
@@ -242,60 +335,75 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
     return entity;
   }
 
+  /**
+   * Loads the children and the feedback of the anomalies. The anomaly trees are loaded level by
+   * level with one query per level, and the feedback of all the anomalies with a single query.
+   */
   @Override
-  public List<AnomalyDTO> decorate(final List<AnomalyDTO> l) {
-    final List<Future<AnomalyDTO>> fList = l.stream()
-        .map(anomalyDTO -> EXECUTOR_SERVICE.submit(() -> decorate(anomalyDTO, new HashSet<>())))
-        .collect(Collectors.toList());
+  public List<AnomalyDTO> decorate(final List<AnomalyDTO> anomalies) {
+    final List<AnomalyDTO> allAnomalies = new ArrayList<>(anomalies);
+    final Map<Long, AnomalyDTO> anomalyById = new HashMap<>();
+    anomalies.forEach(anomaly -> anomalyById.putIfAbsent(anomaly.getId(), anomaly));
+
+    List<AnomalyDTO> level = anomalies;
+    while (!level.isEmpty()) {
+      final List<Long> childIds = level.stream()
+          .map(AnomalyDTO::getChildIds)
+          .filter(Objects::nonNull)
+          .flatMap(Collection::stream)
+          .filter(id -> id != null && !anomalyById.containsKey(id))
+          .distinct()
+          .collect(Collectors.toList());
+      level = childIds.isEmpty() ? List.of() : genericPojoDao.get(childIds, AnomalyDTO.class);
+      level.forEach(child -> anomalyById.put(child.getId(), child));
+      allAnomalies.addAll(level);
+    }
+    decorateWithFeedback(allAnomalies);
 
-    final List<AnomalyDTO> outList = new ArrayList<>(l.size());
-    for (final Future<AnomalyDTO> f : fList) {
-      try {
-        outList.add(f.get(60, TimeUnit.SECONDS));
-      } catch (final InterruptedException | TimeoutException | ExecutionException e) {
-        LOG.warn("Failed to convert MergedAnomalyResultDTO from bean: {}", e.toString());
-      }
+    final Set<AnomalyDTO> withChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final AnomalyDTO anomaly : anomalies) {
+      setChildren(anomaly, anomalyById, new HashSet<>(), withChildren);
     }
+    return new ArrayList<>(anomalies);
+  }
 
-    return outList;
+  private AnomalyDTO decorate(final AnomalyDTO anomaly) {
+    decorate(List.of(anomaly));
+    return anomaly;
   }
 
-  private AnomalyDTO decorate(final AnomalyDTO anomaly, final Set<Long> visitedAnomalyIds) {
-    if (anomaly.getAnomalyFeedbackId() != null) {
-      final AnomalyFeedbackDTO anomalyFeedbackDTO = genericPojoDao
-          .get(anomaly.getAnomalyFeedbackId(), AnomalyFeedbackDTO.class);
-      anomaly.setFeedback(anomalyFeedbackDTO);
+  private static void setChildren(final AnomalyDTO anomaly, final Map<Long, AnomalyDTO> anomalyById,
+      final Set<Long> visitedAnomalyIds, final Set<AnomalyDTO> withChildren) {
+    if (!withChildren.add(anomaly)) {
+      return;
     }
-
     visitedAnomalyIds.add(anomaly.getId());
-    anomaly.setChildren(getChildAnomalies(anomaly, visitedAnomalyIds));
-
-    return anomaly;
-  }
 
-  private Set<AnomalyDTO> getChildAnomalies(
-      final AnomalyDTO anomalyDTO, final Set<Long> visitedAnomalyIds) {
     final Set<AnomalyDTO> children = new HashSet<>();
-    if (anomalyDTO.getChildIds() != null) {
-      for (final Long id : anomalyDTO.getChildIds()) {
-        if (id == null || visitedAnomalyIds.contains(id)) {
-          continue;
-        }
-
-        final AnomalyDTO childBean = genericPojoDao.get(id,
-            AnomalyDTO.class);
-        final AnomalyDTO child = decorate(childBean, visitedAnomalyIds);
-        children.add(child);
+    for (final Long id : optional(anomaly.getChildIds()).orElse(Set.of())) {
+      if (id == null || visitedAnomalyIds.contains(id)) {
+        continue;
+      }
+      final AnomalyDTO child = anomalyById.get(id);
+      if (child == null) {
+        LOG.warn("Child anomaly {} of anomaly {} not found", id, anomaly.getId());
+        continue;
       }
+      setChildren(child, anomalyById, visitedAnomalyIds, withChildren);
+      children.add(child);
     }
-    return children;
+    anomaly.setChildren(children);
   }
 
   private List<AnomalyDTO> decorateWithFeedback(final List<AnomalyDTO> anomalies) {
     final List<Long> feedbackIds = anomalies.stream()
         .map(AnomalyDTO::getAnomalyFeedbackId)
         .filter(Objects::nonNull)
+        .distinct()
         .collect(Collectors.toList());
+    if (feedbackIds.isEmpty()) {
+      return anomalies;
+    }
 
     final List<AnomalyFeedbackDTO> feedbacks = genericPojoDao.get(feedbackIds,
         AnomalyFeedbackDTO.class);
@@ -316,7 +424,7 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
   @Override
   public List<AnomalyDTO> filter(final AnomalyFilter af) {
     final Predicate predicate = toPredicate(af);
-    final List<AnomalyDTO> list = filter(new DaoFilter().setPredicate(predicate));
+    final List<AnomalyDTO> list = super.filter(new DaoFilter().setPredicate(predicate));
     return decorate(list);
   }
 
@@ -336,9 +444,7 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
     if (predicate != null) {
       finalPredicate = Predicate.AND(finalPredicate, predicate);
     }
-    return findByPredicate(finalPredicate).stream()
-        .map(anomaly -> decorate(anomaly, new HashSet<>()))
-        .collect(Collectors.toList());
+    return findByPredicate(finalPredicate);
   }
 
   private Predicate toPredicate(final AnomalyFilter af) {
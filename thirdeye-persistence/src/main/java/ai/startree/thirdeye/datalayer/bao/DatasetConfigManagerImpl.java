@@ -25,20 +25,34 @@ import java.util.List;
 public class DatasetConfigManagerImpl extends AbstractManagerImpl<DatasetConfigDTO>
     implements DatasetConfigManager {
 
+  private final EntityCache<DatasetConfigDTO> entityCache;
+
   @Inject
   public DatasetConfigManagerImpl(GenericPojoDao genericPojoDao) {
     super(DatasetConfigDTO.class, genericPojoDao);
+    entityCache = new EntityCache<>(genericPojoDao, DatasetConfigDTO.class);
+  }
+
+  @Override
+  protected void afterWrite() {
+    entityCache.invalidateAll();
+  }
+
+  @Override
+  public DatasetConfigDTO findById(final Long id) {
+    final List<DatasetConfigDTO> list = entityCache.findByPredicate(Predicate.EQ("baseId", id));
+    return list.isEmpty() ? null : list.get(0);
   }
 
   @Override
   public List<DatasetConfigDTO> findByName(final String name) {
-    return findByPredicate(Predicate.EQ("dataset", name));
+    return entityCache.findByPredicate(Predicate.EQ("dataset", name));
   }
 
   @Override
   public DatasetConfigDTO findByDataset(String dataset) {
     Predicate predicate = Predicate.EQ("dataset", dataset);
-    List<DatasetConfigDTO> list = findByPredicate(predicate);
+    List<DatasetConfigDTO> list = entityCache.findByPredicate(predicate);
     if (list.size() == 1) {
       return list.iterator().next();
     }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.bao;
+
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.OBJECT_MAPPER;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.readerFor;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.toDto;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.writerFor;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import ai.startree.thirdeye.datalayer.dao.GenericPojoDao;
+import ai.startree.thirdeye.datalayer.dao.GenericPojoDao.UpdateKey;
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntity;
+import ai.startree.thirdeye.spi.datalayer.DaoFilter;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
+import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide read-through cache of the entities matching a predicate.
+ *
+ * Meant for metadata that is read on every detection task and rarely updated, like datasets and
+ * metrics. Entries are revalidated at most every {@link #REVALIDATION_INTERVAL}: an index-only
+ * query compares the ids, update times and versions of the matching entities with the cached
+ * ones, and the json entities are only read and deserialized again if an entity was created,
+ * updated or deleted. update_time has millisecond precision: a write from another process in the
+ * same millisecond as the previous write of the entity is not detected until the next change.
+ * Changes made by other processes are visible after at most one revalidation interval. Writes
+ * made through the owning manager invalidate the cache directly.
+ *
+ * Cached entities are never shared: every read returns new instances.
+ */
+class EntityCache<E extends AbstractDTO> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+
+  private static final Duration REVALIDATION_INTERVAL = Duration.ofSeconds(30);
+  private static final long MAXIMUM_SIZE = 10_000;
+
+  private final GenericPojoDao genericPojoDao;
+  private final Class<E> dtoClass;
+  private final LoadingCache<Predicate, CachedResult> cache;
+  /**
+   * Incremented by {@link #invalidateAll()}. A load started before an invalidation can complete
+   * after it and put its result back in the cache: results of an older generation are discarded
+   * when read.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  EntityCache(final GenericPojoDao genericPojoDao, final Class<E> dtoClass) {
+    this(genericPojoDao, dtoClass, REVALIDATION_INTERVAL, Ticker.systemTicker());
+  }
+
+  EntityCache(final GenericPojoDao genericPojoDao, final Class<E> dtoClass,
+      final Duration revalidationInterval, final Ticker ticker) {
+    this.genericPojoDao = genericPojoDao;
+    this.dtoClass = dtoClass;
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .refreshAfterWrite(revalidationInterval)
+        .ticker(ticker)
+        .build(new CacheLoader<>() {
+          @Override
+          public CachedResult load(final Predicate predicate) {
+            return fetch(predicate);
+          }
+
+          @Override
+          public ListenableFuture<CachedResult> reload(final Predicate predicate,
+              final CachedResult oldValue) {
+            return Futures.immediateFuture(revalidate(predicate, oldValue));
+          }
+        });
+  }
+
+  public List<E> findByPredicate(final Predicate predicate) {
+    CachedResult result = cache.getUnchecked(predicate);
+    while (result.generation != generation.get()) {
+      cache.invalidate(predicate);
+      result = cache.getUnchecked(predicate);
+    }
+    if (result.updateKeys == null) {
+      // the entities could not be read: do not keep a result that can't be revalidated
+      cache.invalidate(predicate);
+    }
+    return result.get();
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private CachedResult fetch(final Predicate predicate) {
+    final long fetchGeneration = generation.get();
+    // read the update keys first: a concurrent write is then caught by the next revalidation
+    final Map<Long, UpdateKey> updateKeys = readUpdateKeys(predicate);
+    final List<GenericJsonEntity> jsonEntities = updateKeys == null ? null
+        : genericPojoDao.getJsonEntities(daoFilter(predicate));
+    if (jsonEntities == null) {
+      return new CachedResult(fetchGeneration, null, List.of());
+    }
+    return new CachedResult(fetchGeneration, updateKeys, jsonEntities);
+  }
+
+  private CachedResult revalidate(final Predicate predicate, final CachedResult oldValue) {
+    final Map<Long, UpdateKey> updateKeys = readUpdateKeys(predicate);
+    if (updateKeys == null) {
+      LOG.warn("Could not revalidate cached {} for {}. Serving cached value.",
+          dtoClass.getSimpleName(), predicate);
+      return oldValue;
+    }
+    if (updateKeys.equals(oldValue.updateKeys)) {
+      return oldValue;
+    }
+    return fetch(predicate);
+  }
+
+  private @Nullable Map<Long, UpdateKey> readUpdateKeys(final Predicate predicate) {
+    return genericPojoDao.getUpdateKeys(daoFilter(predicate));
+  }
+
+  private DaoFilter daoFilter(final Predicate predicate) {
+    return new DaoFilter().setPredicate(predicate).setBeanClass(dtoClass);
+  }
+
+  /**
+   * Entities are kept as jackson token buffers: replaying a buffer is cheaper than parsing the
+   * json text and every read gets its own instances.
+   */
+  private class CachedResult {
+
+    private final long generation;
+    private final @Nullable Map<Long, UpdateKey> updateKeys;
+    private final List<TokenBuffer> buffers;
+
+    private CachedResult(final long generation,
+        final @Nullable Map<Long, UpdateKey> updateKeys,
+        final List<GenericJsonEntity> jsonEntities) {
+      this.generation = generation;
+      this.updateKeys = updateKeys;
+      buffers = new ArrayList<>(jsonEntities.size());
+      try {
+        for (final GenericJsonEntity jsonEntity : jsonEntities) {
+          final E entity = toDto(jsonEntity, dtoClass);
+          final TokenBuffer buffer = new TokenBuffer(OBJECT_MAPPER, false);
+          writerFor(entity.getClass()).writeValue(buffer, entity);
+          buffers.add(buffer);
+        }
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private List<E> get() {
+      final List<E> entities = new ArrayList<>(buffers.size());
+      final ObjectReader reader = readerFor(dtoClass);
+      try {
+        for (final TokenBuffer buffer : buffers) {
+          entities.add(checkNotNull(reader.readValue(buffer.asParser())));
+        }
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return entities;
+    }
+  }
+}
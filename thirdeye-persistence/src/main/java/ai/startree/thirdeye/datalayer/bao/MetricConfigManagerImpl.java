@@ -26,15 +26,29 @@ import org.apache.commons.collections4.CollectionUtils;
 public class MetricConfigManagerImpl extends AbstractManagerImpl<MetricConfigDTO>
     implements MetricConfigManager {
 
+  private final EntityCache<MetricConfigDTO> entityCache;
+
   @Inject
   public MetricConfigManagerImpl(GenericPojoDao genericPojoDao) {
     super(MetricConfigDTO.class, genericPojoDao);
+    entityCache = new EntityCache<>(genericPojoDao, MetricConfigDTO.class);
+  }
+
+  @Override
+  protected void afterWrite() {
+    entityCache.invalidateAll();
+  }
+
+  @Override
+  public MetricConfigDTO findById(final Long id) {
+    final List<MetricConfigDTO> list = entityCache.findByPredicate(Predicate.EQ("baseId", id));
+    return list.isEmpty() ? null : list.get(0);
   }
 
   @Override
   public List<MetricConfigDTO> findByDataset(String dataset) {
     Predicate predicate = Predicate.EQ("dataset", dataset);
-    return findByPredicate(predicate);
+    return entityCache.findByPredicate(predicate);
   }
 
   @Override
@@ -42,7 +56,7 @@ public class MetricConfigManagerImpl extends AbstractManagerImpl<MetricConfigDTO
     Predicate datasetPredicate = Predicate.EQ("dataset", dataset);
     Predicate activePredicate = Predicate.EQ("active", true);
     Predicate predicate = Predicate.AND(datasetPredicate, activePredicate);
-    return findByPredicate(predicate);
+    return entityCache.findByPredicate(predicate);
   }
 
   @Override
@@ -50,7 +64,7 @@ public class MetricConfigManagerImpl extends AbstractManagerImpl<MetricConfigDTO
     Predicate datasetPredicate = Predicate.EQ("dataset", dataset);
     Predicate metricNamePredicate = Predicate.EQ("name", metricName);
     Predicate predicate = Predicate.AND(datasetPredicate, metricNamePredicate);
-    List<MetricConfigDTO> list = findByPredicate(predicate);
+    List<MetricConfigDTO> list = entityCache.findByPredicate(predicate);
     if (CollectionUtils.isNotEmpty(list)) {
       return list.get(0);
     }
@@ -20,6 +20,7 @@ import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static com.google.common.base.Suppliers.memoizeWithExpiration;
 
 import ai.startree.thirdeye.datalayer.dao.TaskDao;
+import ai.startree.thirdeye.datalayer.entity.TaskEntity;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.TaskManager;
@@ -44,6 +45,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.joda.time.DateTime;
@@ -69,6 +71,11 @@ public class TaskManagerImpl implements TaskManager {
   private static final String FIND_BY_NAME_ORDER_BY_CREATE_TIME_DESC =
       " WHERE name = :name order by createTime desc limit ";
 
+  private static final String FIND_OLDEST_PENDING_BY_TYPE = """
+      WHERE type = :type AND status IN ('WAITING', 'RUNNING')
+      ORDER BY createTime ASC LIMIT 1
+      """;
+
   private static final Logger LOG = LoggerFactory.getLogger(TaskManagerImpl.class);
 
   private final Meter orphanTasksCount;
@@ -319,20 +326,16 @@ public class TaskManagerImpl implements TaskManager {
     }
   }
 
-  // FIXME CYRIL - this should have as less cache as possible and as precise as possible - so it should be a direct query to the index table
+  // FIXME CYRIL - this should have as less cache as possible and as precise as possible
   private long getTaskLatency(final TaskType type) {
-    // fetch pending tasks from DB of the given type
-    final List<TaskStatus> pendingStatus = List.of(TaskStatus.WAITING, TaskStatus.RUNNING);
-    final DaoFilter filter = new DaoFilter()
-        .setPredicate(Predicate.AND(
-            Predicate.IN("status", pendingStatus.toArray()),
-            Predicate.EQ("type", type)
-        ));
+    // fetch the oldest pending task of the given type - tasks are not deserialized
+    final List<TaskEntity> oldestPendingTask = dao.findEntities(FIND_OLDEST_PENDING_BY_TYPE,
+        Map.of("type", type));
     final long currentTime = System.currentTimeMillis();
-    return filter(filter).stream()
-        // Calculate latency as max value of (current time) - (task creation time) from the filtered tasks
+    return oldestPendingTask.stream()
+        // Calculate latency as (current time) - (task creation time) of the oldest pending task
         .map(task -> currentTime - task.getCreateTime().getTime())
-        .max(Long::compare).orElse(0L);
+        .findFirst().orElse(0L);
   }
 
   private void registerStatusMetric(final TaskStatus status) {
@@ -43,11 +43,17 @@ import com.google.common.base.Preconditions;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.lang.reflect.Field;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.collections4.CollectionUtils;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.reflections.ReflectionUtils;
@@ -130,6 +136,193 @@ public class GenericPojoDao {
     }
   }
 
+  /**
+   * Create the list of pojos in a single transaction. The rows of the json table and of the
+   * index table are each inserted with one batched statement per pojo class.
+   *
+   * @param pojos the pojos to create, whose ID must be null.
+   * @return the ids of the created pojos, in order. null if the transaction failed, in which
+   *     case no pojo is created.
+   */
+  public <E extends AbstractDTO> @Nullable List<Long> create(final List<E> pojos) {
+    if (CollectionUtils.isEmpty(pojos)) {
+      return new ArrayList<>();
+    }
+    for (final E pojo : pojos) {
+      requireNonNull(pojo, "entity is null");
+      checkArgument(pojo.getId() == null, "id must be null for create flow.");
+    }
+    final List<Long> ids = new ArrayList<>(pojos.size());
+    final boolean committed = executeInTransaction(writer -> ids.addAll(writer.create(pojos)));
+    return committed ? ids : null;
+  }
+
+  /**
+   * Runs all writes of {@code work} in a single transaction. Rows are written with batched
+   * statements. If {@code work} or the commit fails, the transaction is rolled back and the ids
+   * and update times set on the written pojos are restored.
+   *
+   * @param work the writes to perform
+   * @return true if the transaction was committed
+   */
+  public boolean executeInTransaction(final UnitOfWork work) {
+    final AtomicReference<TransactionWriter> writer = new AtomicReference<>();
+    Boolean committed = null;
+    try {
+      committed = transactionService.executeTransaction((connection) -> {
+        writer.set(new TransactionWriter(connection));
+        work.execute(writer.get());
+        return true;
+      }, null);
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+    }
+    if (committed == null && writer.get() != null) {
+      writer.get().rollback();
+    }
+    return committed != null;
+  }
+
+  @FunctionalInterface
+  public interface UnitOfWork {
+
+    void execute(TransactionWriter writer) throws Exception;
+  }
+
+  /**
+   * Writes pojos on the connection of a single transaction.
+   *
+   * @see GenericPojoDao#executeInTransaction(UnitOfWork)
+   */
+  public final class TransactionWriter {
+
+    private final Connection connection;
+    private final List<AbstractDTO> created = new ArrayList<>();
+    private final Map<AbstractDTO, Timestamp> lastUpdateTimes = new IdentityHashMap<>();
+
+    private TransactionWriter(final Connection connection) {
+      this.connection = connection;
+    }
+
+    /**
+     * Create the pojos, with one batched insert into the json table and one into the index
+     * table per pojo class.
+     *
+     * @param pojos the pojos to create, whose ID must be null.
+     * @return the ids of the created pojos, in order
+     */
+    public <E extends AbstractDTO> List<Long> create(final List<E> pojos) throws Exception {
+      final Timestamp now = new Timestamp(System.currentTimeMillis());
+      for (final E pojo : pojos) {
+        requireNonNull(pojo, "entity is null");
+        checkArgument(pojo.getId() == null, "id must be null for create flow.");
+        /* Populate createTime before DB insert if not present already */
+        if (pojo.getCreateTime() == null) {
+          pojo.setCreateTime(now);
+        }
+      }
+
+      for (final List<E> group : groupByClass(pojos).values()) {
+        final List<GenericJsonEntity> jsonEntities = new ArrayList<>(group.size());
+        for (final E pojo : group) {
+          jsonEntities.add(toGenericJsonEntity(pojo));
+        }
+        final List<Long> generatedKeys = databaseService.saveAll(jsonEntities, connection);
+        for (int i = 0; i < group.size(); i++) {
+          group.get(i).setId(generatedKeys.get(i));
+          created.add(group.get(i));
+        }
+
+        final Class<? extends AbstractIndexEntity> indexClass =
+            BEAN_INDEX_MAP.get(group.get(0).getClass());
+        if (indexClass != null) {
+          final List<AbstractIndexEntity> indexEntities = new ArrayList<>(group.size());
+          for (int i = 0; i < group.size(); i++) {
+            final AbstractIndexEntity abstractIndexEntity = toAbstractIndexEntity(group.get(i),
+                indexClass,
+                jsonEntities.get(i).getJsonVal());
+            abstractIndexEntity.setVersion(1);
+            abstractIndexEntity.setCreateTime(group.get(i).getCreateTime());
+            indexEntities.add(abstractIndexEntity);
+          }
+          databaseService.saveAll(indexEntities, connection);
+        }
+      }
+
+      final List<Long> ids = new ArrayList<>(pojos.size());
+      for (final E pojo : pojos) {
+        ids.add(pojo.getId());
+      }
+      return ids;
+    }
+
+    /**
+     * Update the pojos by id, with batched statements for the json table and the index table of
+     * each pojo class.
+     *
+     * @param pojos the pojos to update, whose ID cannot be null.
+     * @return the number of rows that are affected.
+     */
+    public <E extends AbstractDTO> int update(final List<E> pojos) throws Exception {
+      final Timestamp now = new Timestamp(System.currentTimeMillis());
+      for (final E pojo : pojos) {
+        checkNotNull(pojo.getId(), "An id is required to update the entity: %s", pojo);
+        /* Update updateTime before DB update. Restore if update fails */
+        lastUpdateTimes.putIfAbsent(pojo, pojo.getUpdateTime());
+        pojo.setUpdateTime(now);
+      }
+
+      int updateCounter = 0;
+      for (final List<E> group : groupByClass(pojos).values()) {
+        final List<GenericJsonEntity> jsonEntities = new ArrayList<>(group.size());
+        for (final E pojo : group) {
+          jsonEntities.add(toGenericJsonEntity(pojo));
+        }
+        final int[] ret = databaseService.updateAll(jsonEntities, connection);
+
+        //update indexes
+        final Class<? extends AbstractIndexEntity> indexClass =
+            BEAN_INDEX_MAP.get(group.get(0).getClass());
+        final List<AbstractIndexEntity> indexEntities = new ArrayList<>();
+        for (int i = 0; i < group.size(); i++) {
+          if (ret[i] > 1) {
+            throw new ThirdEyeException(ThirdEyeStatus.ERR_UNKNOWN, "Too many rows updated");
+          }
+          if (ret[i] == 1) {
+            if (indexClass == null) {
+              updateCounter++;
+            } else {
+              //updates all columns in the index table by default
+              indexEntities.add(toAbstractIndexEntity(group.get(i),
+                  indexClass,
+                  jsonEntities.get(i).getJsonVal()));
+            }
+          }
+        }
+        for (final int indexRet : databaseService.updateAll(indexEntities, connection)) {
+          if (indexRet > 1) {
+            throw new ThirdEyeException(ThirdEyeStatus.ERR_UNKNOWN, "Too many rows updated");
+          }
+          updateCounter += indexRet;
+        }
+      }
+      return updateCounter;
+    }
+
+    private void rollback() {
+      created.forEach(pojo -> pojo.setId(null));
+      lastUpdateTimes.forEach(AbstractDTO::setUpdateTime);
+    }
+  }
+
+  private static <E extends AbstractDTO> Map<Class<?>, List<E>> groupByClass(final List<E> pojos) {
+    final Map<Class<?>, List<E>> groups = new LinkedHashMap<>();
+    for (final E pojo : pojos) {
+      groups.computeIfAbsent(pojo.getClass(), k -> new ArrayList<>()).add(pojo);
+    }
+    return groups;
+  }
+
   public <E extends AbstractDTO> int update(final E pojo) {
     return update(List.of(pojo));
   }
@@ -150,6 +343,12 @@ public class GenericPojoDao {
     if (CollectionUtils.isEmpty(pojos)) {
       return 0;
     }
+    if (pojos.size() > 1) {
+      final Integer updated = updateBatch(pojos);
+      if (updated != null) {
+        return updated;
+      }
+    }
     int updateCounter = 0;
     for (final E pojo : pojos) {
       try {
@@ -161,6 +360,22 @@ public class GenericPojoDao {
     return updateCounter;
   }
 
+  /**
+   * Update the list of pojos in a single transaction, with batched statements for the json table
+   * and the index table of each pojo class.
+   *
+   * @return the number of rows that are affected. null if a pojo has no id or the transaction
+   *     failed, in which case no pojo is updated.
+   */
+  private <E extends AbstractDTO> @Nullable Integer updateBatch(final List<E> pojos) {
+    if (pojos.stream().anyMatch(pojo -> pojo == null || pojo.getId() == null)) {
+      return null;
+    }
+    final int[] updated = new int[1];
+    final boolean committed = executeInTransaction(writer -> updated[0] = writer.update(pojos));
+    return committed ? updated[0] : null;
+  }
+
   public <E extends AbstractDTO> int update(final E pojo, final Predicate predicate) {
     checkNotNull(pojo.getId(), "An id is required to update the entity: %s", pojo);
 
@@ -328,28 +543,112 @@ public class GenericPojoDao {
   }
 
   private List<Long> fetchIds(final DaoFilter daoFilter) {
-    //apply the predicates and fetch the primary key ids
-    final Class<? extends AbstractIndexEntity> indexClass = BEAN_INDEX_MAP.get(
-        daoFilter.getBeanClass());
+    final List<? extends AbstractIndexEntity> indexEntities = fetchIndexEntities(daoFilter);
+    if (indexEntities == null) {
+      return emptyList();
+    }
+    final List<Long> idsToReturn = new ArrayList<>();
+    for (final AbstractIndexEntity entity : indexEntities) {
+      idsToReturn.add(entity.getBaseId());
+    }
+    return idsToReturn;
+  }
+
+  /**
+   * Returns the raw json entities matching the filter, without deserializing them.
+   *
+   * @return the json entities, in index order. null if they could not be read.
+   */
+  public @Nullable List<GenericJsonEntity> getJsonEntities(final DaoFilter daoFilter) {
+    final List<? extends AbstractIndexEntity> indexEntities = fetchIndexEntities(daoFilter);
+    if (indexEntities == null) {
+      return null;
+    }
+    if (indexEntities.isEmpty()) {
+      return emptyList();
+    }
+    final Object[] ids = indexEntities.stream().map(AbstractIndexEntity::getBaseId).toArray();
+    try {
+      final List<GenericJsonEntity> entities = transactionService.executeTransaction(
+          (connection) -> databaseService.findAll(Predicate.IN("id", ids),
+              null,
+              null,
+              GenericJsonEntity.class,
+              connection), null);
+      if (entities == null) {
+        return null;
+      }
+      final Map<Long, GenericJsonEntity> idToEntity = new HashMap<>();
+      entities.forEach(e -> idToEntity.put(e.getId(), e));
+      final List<GenericJsonEntity> ordered = new ArrayList<>(entities.size());
+      for (final Object id : ids) {
+        final GenericJsonEntity entity = idToEntity.get((Long) id);
+        if (entity != null) {
+          ordered.add(entity);
+        }
+      }
+      return ordered;
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Index-only lookup: returns the index rows of the entities matching the filter, without reading
+   * nor deserializing the json entities. Use it when the indexed columns are enough.
+   *
+   * @param daoFilter filter. The bean class must be the dto class of indexClass.
+   * @param indexClass index entity class of the bean class of the filter
+   * @return the index rows. null if the index could not be read.
+   */
+  public <I extends AbstractIndexEntity> @Nullable List<I> getIndexEntities(
+      final DaoFilter daoFilter, final Class<I> indexClass) {
+    checkArgument(indexClass.equals(BEAN_INDEX_MAP.get(daoFilter.getBeanClass())),
+        "%s is not the index class of %s", indexClass, daoFilter.getBeanClass());
+    return fetchIndexEntities(daoFilter, indexClass);
+  }
+
+  /**
+   * Index-only lookup: returns the ids of the entities matching the filter with their update time
+   * and version, without reading the json entities. Used to check whether cached entities are
+   * still fresh.
+   *
+   * @return ids mapped to their update time and version, in index order. null if the index
+   *     could not be read.
+   */
+  public @Nullable Map<Long, UpdateKey> getUpdateKeys(final DaoFilter daoFilter) {
+    final List<? extends AbstractIndexEntity> indexEntities = fetchIndexEntities(daoFilter);
+    if (indexEntities == null) {
+      return null;
+    }
+    final Map<Long, UpdateKey> updateKeys = new LinkedHashMap<>();
+    for (final AbstractIndexEntity entity : indexEntities) {
+      updateKeys.put(entity.getBaseId(),
+          new UpdateKey(entity.getUpdateTime(), entity.getVersion()));
+    }
+    return updateKeys;
+  }
+
+  private @Nullable List<? extends AbstractIndexEntity> fetchIndexEntities(
+      final DaoFilter daoFilter) {
+    return fetchIndexEntities(daoFilter, BEAN_INDEX_MAP.get(daoFilter.getBeanClass()));
+  }
+
+  private <I extends AbstractIndexEntity> @Nullable List<I> fetchIndexEntities(
+      final DaoFilter daoFilter, final Class<I> indexClass) {
+    //apply the predicates and fetch the index rows
     try {
       validate(daoFilter);
-      //find the matching ids
-      final List<? extends AbstractIndexEntity> indexEntities = transactionService.executeTransaction(
+      return transactionService.executeTransaction(
           (connection) -> databaseService.findAll(daoFilter.getPredicate(),
               daoFilter.getLimit(),
               daoFilter.getOffset(),
               indexClass,
-              connection), emptyList());
-      final List<Long> idsToReturn = new ArrayList<>();
-      if (CollectionUtils.isNotEmpty(indexEntities)) {
-        for (final AbstractIndexEntity entity : indexEntities) {
-          idsToReturn.add(entity.getBaseId());
-        }
-      }
-      return idsToReturn;
+              connection), null);
     } catch (final SQLException e) {
       LOG.error(e.getMessage(), e);
-      return emptyList();
+      return null;
     }
   }
 
@@ -412,4 +711,9 @@ public class GenericPojoDao {
         new DaoFilter().setPredicate(predicate).setBeanClass(pojoClass));
     return delete(idsToDelete, pojoClass);
   }
+
+  /**
+   * Update time and version of an entity, as stored in its index row.
+   */
+  public record UpdateKey(@Nullable Timestamp updateTime, int version) {}
 }
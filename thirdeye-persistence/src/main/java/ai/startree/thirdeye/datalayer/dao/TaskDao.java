@@ -13,6 +13,8 @@
  */
 package ai.startree.thirdeye.datalayer.dao;
 
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.readerFor;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.writerFor;
 import static java.util.Objects.requireNonNull;
 
 import ai.startree.thirdeye.datalayer.DatabaseService;
@@ -22,9 +24,9 @@ import ai.startree.thirdeye.datalayer.mapper.TaskEntityMapper;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.dto.TaskDTO;
-import ai.startree.thirdeye.spi.json.ThirdEyeSerialization;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.base.Preconditions;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -44,7 +46,8 @@ public class TaskDao {
 
   private static final Logger LOG = LoggerFactory.getLogger(TaskDao.class);
   private static final boolean IS_DEBUG = LOG.isDebugEnabled();
-  private static final ObjectMapper OBJECT_MAPPER = ThirdEyeSerialization.getObjectMapper();
+  private static final ObjectReader TASK_READER = readerFor(TaskDTO.class);
+  private static final ObjectWriter TASK_WRITER = writerFor(TaskDTO.class);
 
   private final DatabaseService databaseService;
   private final DatabaseTransactionService transactionService;
@@ -69,7 +72,7 @@ public class TaskDao {
   }
 
   private TaskDTO toDto(final TaskEntity entity) throws JsonProcessingException {
-    TaskDTO dto = OBJECT_MAPPER.readValue(entity.getJsonVal(), TaskDTO.class);
+    TaskDTO dto = TASK_READER.readValue(entity.getJsonVal());
     dto.setId(entity.getId());
     dto.setCreateTime(entity.getCreateTime());
     dto.setUpdateTime(entity.getUpdateTime());
@@ -89,7 +92,7 @@ public class TaskDao {
   }
 
   private String toJsonString(final TaskDTO dto) throws JsonProcessingException {
-    return OBJECT_MAPPER.writeValueAsString(dto);
+    return TASK_WRITER.writeValueAsString(dto);
   }
 
   public Long put(final TaskDTO pojo) {
@@ -272,6 +275,27 @@ public class TaskDao {
     }
   }
 
+  /**
+   * Same as {@link #executeParameterizedSQL} but returns the rows of the task table without
+   * deserializing the tasks. Use it when the columns of the task table are enough.
+   *
+   * @param parameterizedSQL second part of the sql (omit select from table section)
+   */
+  public List<TaskEntity> findEntities(final String parameterizedSQL,
+      final Map<String, Object> parameterMap) {
+    try {
+      return transactionService.executeTransaction(
+          (connection) -> databaseService.runSQL(
+              parameterizedSQL,
+              parameterMap,
+              TaskEntity.class,
+              connection), Collections.emptyList());
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return Collections.emptyList();
+    }
+  }
+
   /**
    * Dump all entities of type entityClass to logger
    * This utility is useful to dump the entire table. However, it gets executed in code regularly in
@@ -18,6 +18,7 @@ public class DetectionConfigIndex extends AbstractIndexEntity {
   String name;
   boolean active;
   String createdBy;
+  String cron;
 
   public String getName() {
     return name;
@@ -42,4 +43,12 @@ public class DetectionConfigIndex extends AbstractIndexEntity {
   public void setCreatedBy(String createdBy) {
     this.createdBy = createdBy;
   }
+
+  public String getCron() {
+    return cron;
+  }
+
+  public void setCron(String cron) {
+    this.cron = cron;
+  }
 }
@@ -19,14 +19,44 @@ import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import ai.startree.thirdeye.spi.json.ThirdEyeSerialization;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GenericJsonEntityDtoMapper {
 
-  public static final ObjectMapper OBJECT_MAPPER = ThirdEyeSerialization.getObjectMapper();
+  /**
+   * Mapper for the json of persisted entities. The blackbird module replaces the reflection based
+   * access to the properties of the entities with generated accessors.
+   */
+  public static final ObjectMapper OBJECT_MAPPER = ThirdEyeSerialization.getObjectMapper()
+      .copy()
+      .registerModule(new BlackbirdModule());
+
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+  /**
+   * Returns a reader of the json of the given class. Readers are created once per class and
+   * reuse their resolved deserializer.
+   */
+  public static ObjectReader readerFor(final Class<?> clazz) {
+    return READERS.computeIfAbsent(clazz, OBJECT_MAPPER::readerFor);
+  }
+
+  /**
+   * Returns a writer of the json of the given class. Writers are created once per class and
+   * reuse their resolved serializer. Use the runtime class of the value to write.
+   */
+  public static ObjectWriter writerFor(final Class<?> clazz) {
+    return WRITERS.computeIfAbsent(clazz, OBJECT_MAPPER::writerFor);
+  }
 
   public static <E extends AbstractDTO> String toJsonString(final E pojo)
       throws JsonProcessingException {
-    return OBJECT_MAPPER.writeValueAsString(pojo);
+    return writerFor(pojo.getClass()).writeValueAsString(pojo);
   }
 
   public static <E extends AbstractDTO> GenericJsonEntity toGenericJsonEntity(final E pojo)
@@ -50,7 +80,7 @@ public class GenericJsonEntityDtoMapper {
   public static <DtoT extends AbstractDTO> DtoT toDto(final GenericJsonEntity entity,
       final Class<DtoT> beanClass)
       throws JsonProcessingException {
-    DtoT dto = OBJECT_MAPPER.readValue(entity.getJsonVal(), beanClass);
+    final DtoT dto = readerFor(beanClass).readValue(entity.getJsonVal());
     dto
         .setId(entity.getId())
         .setVersion(entity.getVersion())
@@ -97,6 +97,34 @@ public class SqlQueryBuilder {
 
   public PreparedStatement createInsertStatement(final Connection conn, final String tableName,
       final AbstractEntity entity) throws Exception {
+    final PreparedStatement preparedStatement = prepareInsertStatement(conn, tableName);
+    setInsertParameters(conn, preparedStatement, tableName, entity);
+    return preparedStatement;
+  }
+
+  /**
+   * Creates a single insert statement with one batch entry per entity. All entities must be of
+   * the same class.
+   */
+  public PreparedStatement createBatchInsertStatement(final Connection conn,
+      final List<? extends AbstractEntity> entities) throws Exception {
+    final String tableName = requireNonNull(entityMappingHolder.tableToEntityNameMap.inverse()
+        .get(entities.get(0).getClass().getSimpleName()));
+    final PreparedStatement preparedStatement = prepareInsertStatement(conn, tableName);
+    try {
+      for (final AbstractEntity entity : entities) {
+        setInsertParameters(conn, preparedStatement, tableName, entity);
+        preparedStatement.addBatch();
+      }
+    } catch (final Exception e) {
+      preparedStatement.close();
+      throw e;
+    }
+    return preparedStatement;
+  }
+
+  private PreparedStatement prepareInsertStatement(final Connection conn, final String tableName)
+      throws Exception {
     if (!insertSqlMap.containsKey(tableName)) {
       final String insertSql = generateInsertSql(tableName,
           entityMappingHolder.columnInfoPerTable.get(tableName.toLowerCase()));
@@ -104,8 +132,12 @@ public class SqlQueryBuilder {
     }
 
     final String sql = insertSqlMap.get(tableName);
-    final PreparedStatement preparedStatement =
-        conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+    return conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+  }
+
+  private void setInsertParameters(final Connection conn,
+      final PreparedStatement preparedStatement, final String tableName,
+      final AbstractEntity entity) throws Exception {
     final LinkedHashMap<String, ColumnInfo> columnInfoMap =
         entityMappingHolder.columnInfoPerTable.get(tableName);
     int parameterIndex = 1;
@@ -128,19 +160,68 @@ public class SqlQueryBuilder {
         }
       }
     }
-    return preparedStatement;
   }
 
   public PreparedStatement createUpdateStatement(final Connection connection, final AbstractEntity entity,
       final Set<String> fieldsToUpdate, final Predicate predicate) throws Exception {
     final String tableName =
         entityMappingHolder.tableToEntityNameMap.inverse().get(entity.getClass().getSimpleName());
+    final List<Pair<String, Object>> parametersList = new ArrayList<>();
+    final String sql = generateUpdateSql(tableName, entity, fieldsToUpdate, predicate,
+        parametersList);
+    final PreparedStatement prepareStatement = connection.prepareStatement(sql);
+    setParameters(prepareStatement, tableName, parametersList);
+    return prepareStatement;
+  }
+
+  /**
+   * Creates batched update statements that update each entity by id. An update only sets the
+   * non-null columns of an entity, so entities are grouped by the resulting SQL and each group
+   * shares one statement. All entities must be of the same class.
+   *
+   * @return statements mapped to the indices of their entities in batch order
+   */
+  public Map<PreparedStatement, List<Integer>> createBatchUpdateStatements(
+      final Connection connection, final List<? extends AbstractEntity> entities,
+      final String idColumn) throws Exception {
+    final String tableName = entityMappingHolder.tableToEntityNameMap.inverse()
+        .get(entities.get(0).getClass().getSimpleName());
+    final Map<String, PreparedStatement> statementsBySql = new HashMap<>();
+    final Map<PreparedStatement, List<Integer>> statements = new LinkedHashMap<>();
+    try {
+      for (int i = 0; i < entities.size(); i++) {
+        final AbstractEntity entity = entities.get(i);
+        final List<Pair<String, Object>> parametersList = new ArrayList<>();
+        final String sql = generateUpdateSql(tableName, entity, null,
+            Predicate.EQ(idColumn, entity.getId()), parametersList);
+
+        PreparedStatement prepareStatement = statementsBySql.get(sql);
+        if (prepareStatement == null) {
+          prepareStatement = connection.prepareStatement(sql);
+          statementsBySql.put(sql, prepareStatement);
+          statements.put(prepareStatement, new ArrayList<>());
+        }
+        setParameters(prepareStatement, tableName, parametersList);
+        prepareStatement.addBatch();
+        statements.get(prepareStatement).add(i);
+      }
+    } catch (final Exception e) {
+      for (final PreparedStatement prepareStatement : statements.keySet()) {
+        prepareStatement.close();
+      }
+      throw e;
+    }
+    return statements;
+  }
+
+  private String generateUpdateSql(final String tableName, final AbstractEntity entity,
+      final Set<String> fieldsToUpdate, final Predicate predicate,
+      final List<Pair<String, Object>> parametersList) throws Exception {
     final LinkedHashMap<String, ColumnInfo> columnInfoMap =
         entityMappingHolder.columnInfoPerTable.get(tableName);
 
     final StringBuilder sqlBuilder = new StringBuilder("UPDATE " + tableName + " SET ");
     String delim = "";
-    final List<Pair<String, Object>> parametersList = new ArrayList<>();
     for (final ColumnInfo columnInfo : columnInfoMap.values()) {
       final String columnNameInDB = columnInfo.getColumnNameInDB();
       if (!AUTO_UPDATE_COLUMN_SET.contains(columnNameInDB)
@@ -164,14 +245,19 @@ public class SqlQueryBuilder {
     final StringBuilder whereClause = new StringBuilder(" WHERE ");
     generateWhereClause(entityNameToDBNameMapping, predicate, parametersList, whereClause);
     sqlBuilder.append(whereClause);
+    return sqlBuilder.toString();
+  }
+
+  private void setParameters(final PreparedStatement prepareStatement, final String tableName,
+      final List<Pair<String, Object>> parametersList) throws Exception {
+    final LinkedHashMap<String, ColumnInfo> columnInfoMap =
+        entityMappingHolder.columnInfoPerTable.get(tableName);
     int parameterIndex = 1;
-    final PreparedStatement prepareStatement = connection.prepareStatement(sqlBuilder.toString());
     for (final Pair<String, Object> paramEntry : parametersList) {
       final String dbFieldName = paramEntry.getKey();
       final ColumnInfo info = columnInfoMap.get(dbFieldName);
       prepareStatement.setObject(parameterIndex++, paramEntry.getValue(), info.getSqlType());
     }
-    return prepareStatement;
   }
 
   public PreparedStatement createDeleteStatement(final Connection connection,
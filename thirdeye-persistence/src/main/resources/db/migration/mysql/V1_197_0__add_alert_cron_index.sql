@@ -0,0 +1,22 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+-- Add cron to the alert index so that the detection scheduler does not read the alert json
+ALTER TABLE detection_config_index ADD COLUMN cron VARCHAR(256) DEFAULT NULL;
+
+-- Backfill the cron of existing alerts from their json
+UPDATE detection_config_index i
+    JOIN generic_json_entity g ON g.id = i.base_id
+SET i.cron = JSON_UNQUOTE(JSON_EXTRACT(g.json_val, '$.cron'))
+WHERE JSON_TYPE(JSON_EXTRACT(g.json_val, '$.cron')) = 'STRING';
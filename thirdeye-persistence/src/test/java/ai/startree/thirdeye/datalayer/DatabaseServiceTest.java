@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntity;
+import ai.startree.thirdeye.datalayer.util.GenericResultSetMapper;
+import ai.startree.thirdeye.datalayer.util.SqlQueryBuilder;
+import com.codahale.metrics.MetricRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+public class DatabaseServiceTest {
+
+  private static DatabaseService databaseService(final long... generatedKeys)
+      throws Exception {
+    final ResultSet generatedKeysResultSet = mock(ResultSet.class);
+    final AtomicInteger row = new AtomicInteger(-1);
+    when(generatedKeysResultSet.next())
+        .thenAnswer(invocation -> row.incrementAndGet() < generatedKeys.length);
+    when(generatedKeysResultSet.getLong(1))
+        .thenAnswer(invocation -> generatedKeys[row.get()]);
+    final PreparedStatement statement = mock(PreparedStatement.class);
+    when(statement.getGeneratedKeys()).thenReturn(generatedKeysResultSet);
+    final SqlQueryBuilder sqlQueryBuilder = mock(SqlQueryBuilder.class);
+    when(sqlQueryBuilder.createBatchInsertStatement(any(), anyList())).thenReturn(statement);
+
+    return new DatabaseService(sqlQueryBuilder,
+        mock(GenericResultSetMapper.class),
+        new MetricRegistry());
+  }
+
+  @Test
+  public void testSaveAllReturnsGeneratedKeysInOrder() throws Exception {
+    final DatabaseService databaseService = databaseService(11L, 12L, 13L);
+    final List<GenericJsonEntity> entities = List.of(new GenericJsonEntity(),
+        new GenericJsonEntity(),
+        new GenericJsonEntity());
+
+    assertThat(databaseService.saveAll(entities, mock(Connection.class)))
+        .containsExactly(11L, 12L, 13L);
+  }
+
+  @Test
+  public void testSaveAllFailsWhenGeneratedKeysAreMissing() throws Exception {
+    final DatabaseService databaseService = databaseService(11L);
+    final List<GenericJsonEntity> entities = List.of(new GenericJsonEntity(),
+        new GenericJsonEntity());
+
+    assertThatThrownBy(() -> databaseService.saveAll(entities, mock(Connection.class)))
+        .isInstanceOf(SQLException.class)
+        .hasMessageContaining("1 generated keys for 2 entities");
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.bao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.datalayer.MySqlTestDatabase;
+import ai.startree.thirdeye.spi.datalayer.AlertSchedule;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class TestAlertManager {
+
+  private AlertManager alertManager;
+
+  @BeforeClass
+  void beforeClass() {
+    alertManager = MySqlTestDatabase.sharedInjector().getInstance(AlertManager.class);
+  }
+
+  @AfterClass(alwaysRun = true)
+  void afterClass() {
+    alertManager.findAll().forEach(alertManager::delete);
+  }
+
+  @Test
+  public void testFindAllSchedules() {
+    final AlertDTO active = new AlertDTO().setName("scheduled-active")
+        .setCron("0 0 * * * ? *")
+        .setActive(true);
+    final AlertDTO inactive = new AlertDTO().setName("scheduled-inactive")
+        .setCron("0 15 * * * ? *")
+        .setActive(false);
+    alertManager.save(active);
+    alertManager.save(inactive);
+
+    Map<Long, AlertSchedule> schedules = alertManager.findAllSchedules().stream()
+        .collect(Collectors.toMap(AlertSchedule::id, Function.identity()));
+    assertThat(schedules.get(active.getId()).cron()).isEqualTo("0 0 * * * ? *");
+    assertThat(schedules.get(active.getId()).active()).isTrue();
+    assertThat(schedules.get(inactive.getId()).cron()).isEqualTo("0 15 * * * ? *");
+    assertThat(schedules.get(inactive.getId()).active()).isFalse();
+
+    // the index follows the updates of the alert
+    alertManager.update(active.setCron("0 30 * * * ? *"));
+    schedules = alertManager.findAllSchedules().stream()
+        .collect(Collectors.toMap(AlertSchedule::id, Function.identity()));
+    assertThat(schedules.get(active.getId()).cron()).isEqualTo("0 30 * * * ? *");
+    assertThat(schedules.get(active.getId()).updateTime()).isNotNull();
+  }
+}
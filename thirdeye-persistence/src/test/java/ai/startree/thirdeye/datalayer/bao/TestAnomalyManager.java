@@ -405,6 +405,73 @@ public class TestAnomalyManager {
     Assert.assertEquals(readChildren.get(1).getChildren().iterator().next().getEndTime(), 1800);
   }
 
+  @Test
+  public void testFindByIdsDecoratesAnomalyTrees() {
+    final AnomalyDTO grandChild = anomaly(1600, 1800);
+    final AnomalyDTO child1 = anomaly(1500, 2000);
+    child1.setChildren(new HashSet<>(Collections.singletonList(grandChild)));
+    final AnomalyDTO parent1 = anomaly(1000, 2000);
+    parent1.setChildren(new HashSet<>(Collections.singletonList(child1)));
+    final AnomalyDTO child2 = anomaly(3000, 3500);
+    final AnomalyDTO parent2 = anomaly(3000, 4000);
+    parent2.setChildren(new HashSet<>(Collections.singletonList(child2)));
+    final long parent1Id = anomalyManager.save(parent1);
+    final long parent2Id = anomalyManager.save(parent2);
+    provideFeedbackToAnomaly(parent1Id, AnomalyFeedbackType.ANOMALY, "tree feedback");
+
+    final List<AnomalyDTO> read = anomalyManager.findByIds(Arrays.asList(parent1Id, parent2Id));
+    Assert.assertEquals(read.size(), 2);
+
+    final AnomalyDTO readParent1 = findAnomalyById(read, parent1Id);
+    Assert.assertEquals(readParent1.getChildren().size(), 1);
+    final AnomalyDTO readChild1 = readParent1.getChildren().iterator().next();
+    Assert.assertEquals((long) readChild1.getId(), (long) child1.getId());
+    Assert.assertEquals(readChild1.getChildren().size(), 1);
+    final AnomalyDTO readGrandChild = readChild1.getChildren().iterator().next();
+    Assert.assertEquals((long) readGrandChild.getId(), (long) grandChild.getId());
+    Assert.assertTrue(readGrandChild.getChildren().isEmpty());
+    Assert.assertEquals(readGrandChild.getFeedback().getComment(), "tree feedback");
+
+    final AnomalyDTO readParent2 = findAnomalyById(read, parent2Id);
+    Assert.assertNull(readParent2.getFeedback());
+    Assert.assertEquals(collectIds(readParent2.getChildren()),
+        Collections.singleton(child2.getId()));
+
+    anomalyManager.delete(readParent1);
+    anomalyManager.delete(readParent2);
+  }
+
+  @Test
+  public void testSaveAllWithAlertInSingleTransaction() {
+    final AlertDTO alert = mockDetectionConfig().setLastTimestamp(1000L);
+    final long alertId = detectionConfigDAO.save(alert);
+
+    final AnomalyDTO child1 = anomaly(1000, 1500).setDetectionConfigId(alertId);
+    final AnomalyDTO child2 = anomaly(1500, 2000).setDetectionConfigId(alertId);
+    final AnomalyDTO parent = anomaly(1000, 2000).setDetectionConfigId(alertId);
+    parent.setChildren(new HashSet<>(Arrays.asList(child1, child2)));
+    final AnomalyDTO single = anomaly(3000, 4000).setDetectionConfigId(alertId);
+
+    alert.setLastTimestamp(4000L);
+    Assert.assertTrue(anomalyManager.saveAll(Arrays.asList(parent, single), alert));
+
+    Assert.assertNotNull(parent.getId());
+    Assert.assertNotNull(child1.getId());
+    Assert.assertNotNull(child2.getId());
+    Assert.assertNotNull(single.getId());
+
+    final AnomalyDTO read = anomalyManager.findById(parent.getId());
+    Assert.assertFalse(read.isChild());
+    Assert.assertEquals(collectIds(read.getChildren()),
+        new HashSet<>(Arrays.asList(child1.getId(), child2.getId())));
+    read.getChildren().forEach(child -> Assert.assertTrue(child.isChild()));
+    Assert.assertEquals(detectionConfigDAO.findById(alertId).getLastTimestamp(), 4000L);
+
+    anomalyManager.delete(read);
+    anomalyManager.deleteById(single.getId());
+    detectionConfigDAO.deleteById(alertId);
+  }
+
   @Test
   public void testUpdateToAnomalyHierarchy() {
     final AnomalyDTO parent = new AnomalyDTO();
@@ -15,9 +15,16 @@ package ai.startree.thirdeye.datalayer.bao;
 
 import ai.startree.thirdeye.datalayer.DatalayerTestUtils;
 import ai.startree.thirdeye.datalayer.MySqlTestDatabase;
+import ai.startree.thirdeye.datalayer.dao.GenericPojoDao;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import com.google.common.base.Ticker;
+import com.google.inject.Injector;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -68,6 +75,40 @@ public class TestDatasetConfigManager {
   }
 
   @Test(dependsOnMethods = {"testFindByDataset"})
+  public void testCachedEntitiesAreNotShared() {
+    final DatasetConfigDTO datasetConfig = datasetConfigDAO.findByDataset(collection1);
+    datasetConfig.setRealtime(true);
+    Assert.assertFalse(datasetConfigDAO.findByDataset(collection1).isRealtime());
+  }
+
+  @Test(dependsOnMethods = {"testCachedEntitiesAreNotShared"})
+  public void testCacheRevalidatesOtherProcessWrites() {
+    final Injector injector = MySqlTestDatabase.sharedInjector();
+    final GenericPojoDao genericPojoDao = injector.getInstance(GenericPojoDao.class);
+    final ManualTicker ticker = new ManualTicker();
+    final EntityCache<DatasetConfigDTO> entityCache = new EntityCache<>(genericPojoDao,
+        DatasetConfigDTO.class,
+        Duration.ofSeconds(30),
+        ticker);
+    final Predicate predicate = Predicate.EQ("dataset", collection1);
+    Assert.assertEquals(entityCache.findByPredicate(predicate).size(), 1);
+    Assert.assertNull(entityCache.findByPredicate(predicate).get(0).getOwners());
+
+    // write from another process: it does not go through the manager, so the cache is not
+    // invalidated, but the update time of the index row changes
+    final DatasetConfigDTO datasetConfig = genericPojoDao.get(datasetConfigId1,
+        DatasetConfigDTO.class);
+    datasetConfig.setOwners(Set.of("owner"));
+    Assert.assertEquals(genericPojoDao.update(datasetConfig), 1);
+
+    // served from the cache until the revalidation interval has elapsed
+    Assert.assertNull(entityCache.findByPredicate(predicate).get(0).getOwners());
+    ticker.advance(Duration.ofSeconds(31));
+    Assert.assertEquals(entityCache.findByPredicate(predicate).get(0).getOwners(),
+        Set.of("owner"));
+  }
+
+  @Test(dependsOnMethods = {"testCacheRevalidatesOtherProcessWrites"})
   public void testUpdate() {
     DatasetConfigDTO datasetConfig = datasetConfigDAO.findById(datasetConfigId1);
     Assert.assertNotNull(datasetConfig);
@@ -85,4 +126,18 @@ public class TestDatasetConfigManager {
     DatasetConfigDTO datasetConfig = datasetConfigDAO.findById(datasetConfigId2);
     Assert.assertNull(datasetConfig);
   }
+
+  private static class ManualTicker extends Ticker {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    private void advance(final Duration duration) {
+      nanos.addAndGet(duration.toNanos());
+    }
+  }
 }
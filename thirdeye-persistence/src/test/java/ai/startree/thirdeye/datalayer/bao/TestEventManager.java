@@ -17,7 +17,9 @@ import ai.startree.thirdeye.datalayer.MySqlTestDatabase;
 import ai.startree.thirdeye.spi.datalayer.bao.EventManager;
 import ai.startree.thirdeye.spi.datalayer.dto.EventDTO;
 import ai.startree.thirdeye.spi.events.EventType;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import org.testng.Assert;
@@ -79,4 +81,34 @@ public class TestEventManager {
     EventDTO testEventDTO = eventDAO.findById(testEventId);
     Assert.assertNull(testEventDTO);
   }
+
+  @Test(dependsOnMethods = {"testDelete"})
+  public void testBatchSaveUpdateDelete() {
+    List<EventDTO> events = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      EventDTO eventDTO = new EventDTO();
+      eventDTO.setName("batch" + i);
+      eventDTO.setEventType(EventType.HOLIDAY.name());
+      eventDTO.setStartTime(i);
+      eventDTO.setEndTime(i + 10);
+      events.add(eventDTO);
+    }
+
+    List<Long> ids = eventDAO.saveAll(events);
+    Assert.assertEquals(ids.size(), 3);
+    Assert.assertEquals(new HashSet<>(ids).size(), 3);
+    Assert.assertEquals(eventDAO.findById(ids.get(1)).getName(), "batch1");
+
+    for (EventDTO eventDTO : events) {
+      eventDTO.setStartTime(eventDTO.getStartTime() + 100);
+      eventDTO.setEndTime(eventDTO.getEndTime() + 100);
+    }
+    Assert.assertEquals(eventDAO.update(events), 3);
+    List<EventDTO> updated = eventDAO
+        .findEventsBetweenTimeRange(100, 110, EventType.HOLIDAY.name());
+    Assert.assertEquals(updated.size(), 3);
+
+    Assert.assertEquals(eventDAO.deleteAll(events), 3);
+    Assert.assertTrue(eventDAO.findByIds(ids).isEmpty());
+  }
 }
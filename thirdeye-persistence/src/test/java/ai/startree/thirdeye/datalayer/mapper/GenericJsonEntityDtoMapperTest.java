@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.mapper;
+
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.readerFor;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.toJsonString;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
+import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AnomalyFeedbackDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.PlanNodeBean;
+import ai.startree.thirdeye.spi.datalayer.dto.TaskDTO;
+import ai.startree.thirdeye.spi.detection.AnomalyFeedbackType;
+import ai.startree.thirdeye.spi.json.ThirdEyeSerialization;
+import ai.startree.thirdeye.spi.task.TaskStatus;
+import ai.startree.thirdeye.spi.task.TaskType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class GenericJsonEntityDtoMapperTest {
+
+  // the mapper used for entity json before the cached readers and writers
+  private static final ObjectMapper PREVIOUS_MAPPER = ThirdEyeSerialization.getObjectMapper();
+
+  private static AlertDTO alert() {
+    final AlertDTO alert = new AlertDTO()
+        .setName("alert")
+        .setDescription("description")
+        .setCron("0 0 * * * ? *")
+        .setActive(true)
+        .setLastTimestamp(1_000L)
+        .setTemplate(new AlertTemplateDTO()
+            .setName("template")
+            .setNodes(List.of(new PlanNodeBean()
+                .setName("root")
+                .setType("AnomalyDetector")
+                .setParams(TemplatableMap.fromValueMap(Map.of("type", "${detector}"))))))
+        .setTemplateProperties(Map.of("detector", "THRESHOLD", "max", 10.5));
+    alert.setId(1L);
+    return alert;
+  }
+
+  private static AnomalyDTO anomaly() {
+    final AnomalyDTO anomaly = new AnomalyDTO()
+        .setDetectionConfigId(1L)
+        .setMetric("metric")
+        .setCollection("dataset")
+        .setStartTime(1_000L)
+        .setEndTime(2_000L)
+        .setAvgCurrentVal(3.5)
+        .setAvgBaselineVal(Double.NaN)
+        .setScore(0.25)
+        .setProperties(Map.of("key", "value"))
+        .setChildIds(Set.of(3L))
+        .setFeedback(new AnomalyFeedbackDTO()
+            .setFeedbackType(AnomalyFeedbackType.ANOMALY)
+            .setComment("comment"));
+    anomaly.setId(2L);
+    return anomaly;
+  }
+
+  private static TaskDTO task() {
+    final TaskDTO task = new TaskDTO()
+        .setTaskType(TaskType.DETECTION)
+        .setStatus(TaskStatus.WAITING)
+        .setJobName("DETECTION_1")
+        .setRefId(1L)
+        .setStartTime(1_000L)
+        .setTaskInfo("{\"configId\":1,\"start\":0,\"end\":1000}")
+        .setLastActive(new Timestamp(1_000L));
+    task.setId(3L);
+    return task;
+  }
+
+  @DataProvider
+  public Object[][] entities() {
+    return new Object[][]{{alert()}, {anomaly()}, {task()}};
+  }
+
+  @Test(dataProvider = "entities")
+  public void testJsonIsIdenticalToPreviousMapper(final AbstractDTO dto) throws Exception {
+    assertThat(toJsonString(dto)).isEqualTo(PREVIOUS_MAPPER.writeValueAsString(dto));
+  }
+
+  @Test(dataProvider = "entities")
+  public void testReadsJsonOfPreviousMapper(final AbstractDTO dto) throws Exception {
+    final String json = PREVIOUS_MAPPER.writeValueAsString(dto);
+
+    final AbstractDTO read = readerFor(dto.getClass()).readValue(json);
+
+    assertThat(read).isInstanceOf(dto.getClass());
+    assertThat(writerFor(read.getClass()).writeValueAsString(read)).isEqualTo(json);
+    assertThat(PREVIOUS_MAPPER.writeValueAsString(read)).isEqualTo(json);
+  }
+}
@@ -37,9 +37,8 @@ import ai.startree.thirdeye.spi.detection.Pattern;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Interval;
 import org.joda.time.Period;
@@ -54,11 +53,6 @@ import org.slf4j.LoggerFactory;
 public class MeanVarianceRuleDetector implements AnomalyDetector<MeanVarianceRuleDetectorSpec> {
 
   private static final Logger LOG = LoggerFactory.getLogger(MeanVarianceRuleDetector.class);
-  private static final Set<Period> SUPPORTED_SEASONALITIES = Set.of(
-      Period.days(7), // weekly seasonality
-      Period.days(1), // daily seasonality
-      Period.ZERO     // special value for no seasonality
-  );
 
   private Pattern pattern;
   private double lowerSensitivity;
@@ -67,7 +61,8 @@ public class MeanVarianceRuleDetector implements AnomalyDetector<MeanVarianceRul
   private double upperBoundMultiplier;
   private int lookback;
   private MeanVarianceRuleDetectorSpec spec;
-  private Period seasonality = Period.ZERO; // PT0S: special period for no seasonality
+  private long seasonalityMillis = 0; // 0: no seasonality
+  private DateTimeZone timezone = DateTimeZone.UTC;
 
   private double metricMaximumValue;
   private double metricMinimumValue;
@@ -127,8 +122,8 @@ public class MeanVarianceRuleDetector implements AnomalyDetector<MeanVarianceRul
       checkArgument(spec.getMonitoringGranularity() != null,
           "monitoringGranularity is required when seasonalityPeriod is used");
       final Period seasonality = isoPeriod(spec.getSeasonalityPeriod());
-      checkArgument(SUPPORTED_SEASONALITIES.contains(seasonality),
-          "Unsupported period %s. Supported periods are P7D and P1D, or PTOS for no seasonality.",
+      checkArgument(seasonality.getYears() == 0 && seasonality.getMonths() == 0,
+          "Unsupported period %s. Seasonality must have a fixed length, eg P7D or P1D, or PT0S for no seasonality.",
           seasonality);
       int minimumLookbackRequired =
           2 * computeSteps(spec.getSeasonalityPeriod(), spec.getMonitoringGranularity());
@@ -140,7 +135,12 @@ public class MeanVarianceRuleDetector implements AnomalyDetector<MeanVarianceRul
               spec.getSeasonalityPeriod(),
               minimumLookbackRequired));
 
-      this.seasonality = seasonality;
+      this.seasonalityMillis = seasonality.toStandardDuration().getMillis();
+      checkArgument(seasonalityMillis >= 0, "Seasonality period must not be negative: %s",
+          seasonality);
+    }
+    if (spec.getTimezone() != null) {
+      this.timezone = DateTimeZone.forID(spec.getTimezone());
     }
 
     checkArgument(lookback >= 5, "Lookback is %s points. Lookback should be greater than 5 points.",
@@ -199,25 +199,54 @@ public class MeanVarianceRuleDetector implements AnomalyDetector<MeanVarianceRul
           detectionInterval.getStartMillis(), inputTimes.sliceFrom(Math.max(0,inputTimes.size()-10)).toString());
     }
 
-    // todo cyril compute mean and std in a single pass
-    // https://nestedsoftware.com/2018/03/20/calculating-a-moving-average-on-streaming-data-5a7k.22879.html
-    // https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Welford's_online_algorithm
+    // the lookback window of point k is [k - lookback, k). It slides by one point per step: mean
+    // and variance are maintained incrementally, with one accumulator per seasonal bucket.
+    final double[] values = inputDF.getDoubles(COL_VALUE).values();
+    final int[] buckets = buildBuckets(inputTimes);
+    final BucketStats[] stats = new BucketStats[buckets.length == 0 ? 0 : max(buckets) + 1];
     final boolean applyMask = inputDF.contains(COL_MASK);
+    final BooleanSeries mask = applyMask ? inputDF.getBooleans(COL_MASK) : null;
+    // points that contribute to the baseline of the points after them
+    final boolean[] isTraining = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      isTraining[i] = !DoubleSeries.isNull(values[i])
+          && !(applyMask && BooleanSeries.isTrue(mask.getBoolean(i)));
+    }
+
+    int windowStart = 0;
+    int windowEnd = 0;
+    int rebuildStart = 0;
     for (int k = firstDetectionIndex; k < size; k++) {
-      if (applyMask && BooleanSeries.isTrue(inputDF.getBoolean(COL_MASK, k))) {
+      if (applyMask && BooleanSeries.isTrue(mask.getBoolean(k))) {
         // this point is masked - skip it
         continue;
       }
-      final long forecastTime = inputTimes.getLong(k);
-      final DataFrame lookbackDf = getLookbackDf(inputDF, forecastTime);
-      final DoubleSeries periodMask = buildPeriodMask(lookbackDf, forecastTime);
-      DoubleSeries maskedValues = lookbackDf.getDoubles(COL_VALUE).multiply(periodMask);
-      if (applyMask) {
-        // todo cyril perf - COL_MASK.fillNull().not() can be computed once outside of the loop
-        maskedValues = maskedValues.filter(lookbackDf.getBooleans(COL_MASK).fillNull().not());
+      final int lookbackStart = k - lookback;
+      checkArgument(lookbackStart >= 0,
+          "Invalid index. Insufficient data to compute mean/variance on lookback. index: %s",
+          lookbackStart);
+      if (lookbackStart >= windowEnd || lookbackStart - rebuildStart >= lookback) {
+        // no overlap with the previous window, or all the values of the last rebuilt window have
+        // left: rebuild to re-center the accumulators on the current values. Amortized O(1)
+        Arrays.fill(stats, null);
+        windowStart = lookbackStart;
+        windowEnd = lookbackStart;
+        rebuildStart = lookbackStart;
       }
-      double mean = maskedValues.mean().value();
-      double std = maskedValues.std().value();
+      for (; windowEnd < k; windowEnd++) {
+        if (isTraining[windowEnd]) {
+          bucketStats(stats, buckets[windowEnd]).add(values[windowEnd]);
+        }
+      }
+      for (; windowStart < lookbackStart; windowStart++) {
+        if (isTraining[windowStart]) {
+          stats[buckets[windowStart]].remove(values[windowStart]);
+        }
+      }
+
+      final BucketStats bucket = stats[buckets[k]];
+      double mean = bucket == null ? DoubleSeries.NULL : bucket.mean();
+      double std = bucket == null ? DoubleSeries.NULL : bucket.std();
       if (Double.isNaN(mean)) {
         // mean and std can be null if all values are masked or null
         mean = 0.0;
@@ -243,48 +272,93 @@ public class MeanVarianceRuleDetector implements AnomalyDetector<MeanVarianceRul
     return resultDF;
   }
 
-  private DoubleSeries buildPeriodMask(final DataFrame lookbackDf, final long forecastTime) {
-    if (seasonality.equals(Period.ZERO)) {
-      // no seasonality --> no mask
-      return DoubleSeries.fillValues(lookbackDf.size(), 1);
+  /**
+   * Returns the seasonal bucket of each point. Two points are in the same bucket if they are at
+   * the same position in the seasonality period, in local time.
+   */
+  private int[] buildBuckets(final LongSeries times) {
+    final int[] buckets = new int[times.size()];
+    if (seasonalityMillis == 0) {
+      // no seasonality --> a single bucket
+      return buckets;
     }
-    // fixme cyril this implem does not not fail at DST - but datetimeZone is hardcoded to UTC so not DST
-    DateTime forecastDateTime = new DateTime(forecastTime, DateTimeZone.UTC);
-    DoubleSeries.Builder mask = DoubleSeries.builder();
-    LongSeries lookbackEpochs = lookbackDf.get(COL_TIME).getLongs();
-    for (int idx = 0; idx < lookbackEpochs.size(); idx++) {
-      DateTime lookbackDateTime = new DateTime(lookbackEpochs.get(idx), DateTimeZone.UTC);
-      mask.addValues(isSeasonalityMatch(forecastDateTime, lookbackDateTime) ? 1. : null);
+    final Map<Long, Integer> bucketIds = new HashMap<>();
+    for (int i = 0; i < buckets.length; i++) {
+      final long epoch = times.getLong(i);
+      final long localMillis = epoch + timezone.getOffset(epoch);
+      final long position = Math.floorMod(localMillis, seasonalityMillis);
+      buckets[i] = bucketIds.computeIfAbsent(position, p -> bucketIds.size());
     }
-    return mask.build();
+    return buckets;
   }
 
-  private boolean isSeasonalityMatch(final DateTime dt1, final DateTime dt2) {
-    final boolean isSameTimeInDay =
-        dt1.getHourOfDay() == dt2.getHourOfDay() && dt1.getMinuteOfHour() == dt2.getMinuteOfHour()
-            && dt1.getSecondOfMinute() == dt2.getSecondOfMinute()
-            && dt1.getMillisOfSecond() == dt2.getMillisOfSecond();
-    if (seasonality.equals(Period.days(7))) {
-      return isSameTimeInDay && dt1.getDayOfWeek() == dt2.getDayOfWeek();
-    } else if (seasonality.equals(Period.days(1))) {
-      return isSameTimeInDay;
-    } else {
-      throw new UnsupportedOperationException();
+  private static int max(final int[] values) {
+    int max = values[0];
+    for (final int v : values) {
+      max = Math.max(max, v);
     }
+    return max;
   }
 
-  private DataFrame getLookbackDf(final DataFrame inputDF, final long endTimeMillis) {
-    final int indexEnd = inputDF.getLongs(COL_TIME).find(endTimeMillis);
-    checkArgument(indexEnd != -1,
-        "Could not find index of endTime %s. endTime should exist in inputDf. This should not happen.", endTimeMillis);
-    final int indexStart = indexEnd - lookback;
-    checkArgument(indexStart >= 0,
-        "Invalid index. Insufficient data to compute mean/variance on lookback. index: "
-            + indexStart);
-    return inputDF.slice(indexStart, indexEnd);
+  private static BucketStats bucketStats(final BucketStats[] stats, final int bucket) {
+    if (stats[bucket] == null) {
+      stats[bucket] = new BucketStats();
+    }
+    return stats[bucket];
   }
 
   private double bounded(final double val) {
     return Math.min(metricMaximumValue, Math.max(val, metricMinimumValue));
   }
+
+  /**
+   * Running count, sum and sum of squares of the values of a bucket, supporting removal.
+   * Values are shifted by the first value added to limit the loss of precision of the sum of
+   * squares. The shift is fixed: the window is rebuilt periodically so that it stays close to
+   * the values in the window.
+   */
+  private static class BucketStats {
+
+    private double shift = Double.NaN;
+    private int count;
+    private double sum;
+    private double sumSquares;
+
+    private void add(final double value) {
+      if (count == 0) {
+        shift = value;
+        sum = 0;
+        sumSquares = 0;
+      }
+      final double shifted = value - shift;
+      count++;
+      sum += shifted;
+      sumSquares += shifted * shifted;
+    }
+
+    private void remove(final double value) {
+      final double shifted = value - shift;
+      count--;
+      sum -= shifted;
+      sumSquares -= shifted * shifted;
+    }
+
+    private double mean() {
+      if (count == 0) {
+        return DoubleSeries.NULL;
+      }
+      return shift + sum / count;
+    }
+
+    /**
+     * Sample standard deviation. Consistent with {@link DoubleSeries#std()}.
+     */
+    private double std() {
+      if (count <= 1) {
+        return DoubleSeries.NULL;
+      }
+      final double variance = (sumSquares - sum * sum / count) / (count - 1);
+      return Math.sqrt(Math.max(variance, 0));
+    }
+  }
 }
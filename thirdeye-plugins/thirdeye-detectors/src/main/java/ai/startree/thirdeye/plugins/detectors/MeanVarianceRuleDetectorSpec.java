@@ -26,8 +26,10 @@ public class MeanVarianceRuleDetectorSpec extends AbstractSpec {
   private Pattern pattern = Pattern.UP_OR_DOWN;
   /**Lookback period in ISO-8601 format eg P1D. Used with monitoringGranularity to compute lookback in steps.*/
   private String lookbackPeriod = null;
-  /**Biggest period in ISO-8601 format. Possible values are P7D and P1D. Used to take into account seasonality when computing mean-variance.*/
+  /**Biggest period in ISO-8601 format, eg P7D or P1D. Must have a fixed length. Used to take into account seasonality when computing mean-variance.*/
   private String seasonalityPeriod = null;
+  /**Timezone in which the seasonality is applied, eg America/Los_Angeles. Defaults to UTC.*/
+  private String timezone = null;
 
   // TODO CYRIL add tests for this feature
   private Double upperSensitivity;
@@ -85,6 +87,15 @@ public class MeanVarianceRuleDetectorSpec extends AbstractSpec {
     return this;
   }
 
+  public String getTimezone() {
+    return timezone;
+  }
+
+  public MeanVarianceRuleDetectorSpec setTimezone(final String timezone) {
+    this.timezone = timezone;
+    return this;
+  }
+
   public Double getUpperSensitivity() {
     return upperSensitivity;
   }
@@ -29,6 +29,7 @@ import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
 import java.util.HashMap;
 import java.util.Map;
 import org.assertj.core.data.Offset;
+import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Interval;
 import org.testng.annotations.Test;
@@ -423,6 +424,44 @@ public class MeanVarianceRuleDetectorTest {
     assertThat(outputAnomalySeries).isEqualTo(expectedAnomalySeries);
   }
 
+  @Test
+  public void testDailySeasonalityInTimezoneAcrossDst() {
+    // hourly data in Los Angeles - DST starts on March 13 2022: the day has 23 hours
+    final DateTimeZone timezone = DateTimeZone.forID("America/Los_Angeles");
+    final DateTime start = new DateTime(2022, 3, 11, 0, 0, timezone);
+    final DateTime end = new DateTime(2022, 3, 15, 0, 0, timezone);
+    final LongSeries.Builder times = LongSeries.builder();
+    final DoubleSeries.Builder values = DoubleSeries.builder();
+    for (DateTime t = start; t.isBefore(end); t = t.plusHours(1)) {
+      times.addValues(t.getMillis());
+      // the value only depends on the local hour of day
+      values.addValues((double) t.getHourOfDay());
+    }
+    final DataFrame currentDf = new DataFrame()
+        .addSeries(Constants.COL_TIME, times.build())
+        .addSeries(Constants.COL_VALUE, values.build());
+    final Map<String, DataTable> timeSeriesMap = new HashMap<>();
+    timeSeriesMap.put(AnomalyDetector.KEY_CURRENT, SimpleDataTable.fromDataFrame(currentDf));
+
+    final MeanVarianceRuleDetectorSpec spec = new MeanVarianceRuleDetectorSpec();
+    spec.setMonitoringGranularity("PT1H");
+    spec.setLookbackPeriod("P2D");
+    spec.setSeasonalityPeriod("P1D");
+    spec.setTimezone(timezone.getID());
+    final MeanVarianceRuleDetector detector = new MeanVarianceRuleDetector();
+    detector.init(spec);
+
+    final Interval interval = new Interval(new DateTime(2022, 3, 14, 0, 0, timezone), end);
+    final DataFrame outputDf = detector.runDetection(interval, timeSeriesMap).getDataFrame();
+
+    // the baseline of each point is the value at the same local time on the previous days
+    final int firstDetectionIndex = outputDf.size() - 24;
+    for (int i = firstDetectionIndex; i < outputDf.size(); i++) {
+      assertThat(outputDf.getDouble(Constants.COL_VALUE, i))
+          .isEqualTo(outputDf.getDouble(Constants.COL_CURRENT, i));
+    }
+  }
+
   @Test
   public void testWithWeeklySeasonality() {
     final DataFrame historicalData = new DataFrame()
@@ -499,6 +538,55 @@ public class MeanVarianceRuleDetectorTest {
     assertThat(outputAnomalySeries).isEqualTo(expectedAnomalySeries);
   }
 
+  @Test
+  public void testBoundsAfterLevelShiftDoNotDependOnValuesThatLeftTheLookback() {
+    // a huge level followed by small values: the rolling sums must not keep the precision loss
+    // of the values that left the lookback window
+    final int size = 200;
+    final int levelShiftSize = 10;
+    final long[] times = new long[size];
+    final double[] shiftedValues = new double[size];
+    final double[] values = new double[size];
+    for (int i = 0; i < size; i++) {
+      times[i] = DECEMBER_18_2020 + i * 86400000L;
+      values[i] = 100. + (i % 3) * 10.;
+      shiftedValues[i] = i < levelShiftSize ? 1e12 + i : values[i];
+    }
+    final Interval interval = new Interval(times[10], times[size - 1] + 86400000L,
+        DateTimeZone.UTC);
+
+    final DataFrame shiftedOutput = runDetection(interval, times, shiftedValues);
+    final DataFrame expectedOutput = runDetection(interval, times, values);
+
+    final int firstUnaffectedIndex = levelShiftSize + 10;
+    for (int i = firstUnaffectedIndex; i < size; i++) {
+      assertThat(shiftedOutput.getDouble(Constants.COL_VALUE, i))
+          .isCloseTo(expectedOutput.getDouble(Constants.COL_VALUE, i), Offset.offset(1e-6));
+      assertThat(shiftedOutput.getDouble(Constants.COL_UPPER_BOUND, i))
+          .isCloseTo(expectedOutput.getDouble(Constants.COL_UPPER_BOUND, i), Offset.offset(1e-6));
+      assertThat(shiftedOutput.getDouble(Constants.COL_LOWER_BOUND, i))
+          .isCloseTo(expectedOutput.getDouble(Constants.COL_LOWER_BOUND, i), Offset.offset(1e-6));
+    }
+  }
+
+  private static DataFrame runDetection(final Interval interval, final long[] times,
+      final double[] values) {
+    final DataFrame currentDf = new DataFrame()
+        .addSeries(Constants.COL_TIME, times)
+        .addSeries(Constants.COL_VALUE, values);
+    final Map<String, DataTable> timeSeriesMap = new HashMap<>();
+    timeSeriesMap.put(AnomalyDetector.KEY_CURRENT, SimpleDataTable.fromDataFrame(currentDf));
+
+    final MeanVarianceRuleDetectorSpec spec = new MeanVarianceRuleDetectorSpec();
+    spec.setMonitoringGranularity("P1D");
+    spec.setLookbackPeriod("P10D");
+    spec.setSensitivity(0);
+    final MeanVarianceRuleDetector detector = new MeanVarianceRuleDetector();
+    detector.init(spec);
+
+    return detector.runDetection(interval, timeSeriesMap).getDataFrame();
+  }
+
   @Test
   public void testComputeLookbackStepsWithDayGranularity() {
     String period = "P14D";
@@ -18,6 +18,10 @@ import ai.startree.thirdeye.plugins.datasource.pinot.resultset.ThirdEyeResultSet
 import ai.startree.thirdeye.plugins.datasource.pinot.resultset.ThirdEyeResultSetGroup;
 import ai.startree.thirdeye.plugins.datasource.pinot.resultset.ThirdEyeResultSetMetaData;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.dataframe.Series;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
 import ai.startree.thirdeye.spi.detection.v2.ColumnType;
 import ai.startree.thirdeye.spi.detection.v2.ColumnType.ColumnDataType;
 import ai.startree.thirdeye.spi.util.Pair;
@@ -75,111 +79,134 @@ public class PinotQueryExecutor extends CacheLoader<PinotQuery, ThirdEyeResultSe
   }
 
   private static ColumnType getColumnTypeFromPinotResultSet(final ResultSet resultSet,
-      final String columnName) {
-    for (int i = 0; i < resultSet.getColumnCount(); i++) {
-      if (columnName.equalsIgnoreCase(resultSet.getColumnName(i))) {
-        try {
-          final ColumnType columnType = ColumnType.pinotTypeToColumnType(
-              resultSet.getColumnDataType(i));
-          // todo cyril - remove this - temporary adding log to understand when a client has a FLOAT column type
-          if (columnType.getType().equals(ColumnDataType.FLOAT)) {
-            LOG.info(
-                "\"" + resultSet.getColumnName(i) + "\" column returned by Pinot is of type FLOAT");
-          }
-          return columnType;
-        } catch (final Throwable e) {
-          // Pinot client doesn't provide type for pql, so default to DOUBLE type for metric column.
-          return new ColumnType(ColumnDataType.DOUBLE);
-        }
+      final int columnIdx) {
+    try {
+      final ColumnType columnType = ColumnType.pinotTypeToColumnType(
+          resultSet.getColumnDataType(columnIdx));
+      // todo cyril - remove this - temporary adding log to understand when a client has a FLOAT column type
+      if (columnType.getType().equals(ColumnDataType.FLOAT)) {
+        LOG.info("\"" + resultSet.getColumnName(columnIdx)
+            + "\" column returned by Pinot is of type FLOAT");
       }
+      return columnType;
+    } catch (final Throwable e) {
+      // Pinot client doesn't provide type for pql, so default to DOUBLE type for metric column.
+      return new ColumnType(ColumnDataType.DOUBLE);
     }
-    // Pinot client doesn't provide type for groupKeys, so default to String type.
-    return new ColumnType(ColumnDataType.STRING);
   }
 
-  /**
-   * Constructs a {@link ThirdEyeDataFrameResultSet} from any Pinot's {@link ResultSet}.
-   *
-   * @param resultSet A result set from Pinot.
-   * @return an unified {@link ThirdEyeDataFrameResultSet}.
-   */
-  private static ThirdEyeDataFrameResultSet fromPinotResultSet(final ResultSet resultSet) {
-    // Build the meta data of this result set
-    final List<String> groupKeyColumnNames = new ArrayList<>();
-    final List<ColumnType> groupKeyColumnTypes = new ArrayList<>();
-    int groupByColumnCount = 0;
+  private static int getGroupKeyLength(final ResultSet resultSet) {
     try {
-      groupByColumnCount = resultSet.getGroupKeyLength();
+      return resultSet.getGroupKeyLength();
     } catch (final Exception e) {
       // Only happens when result set is GroupByResultSet type and contains empty result.
       // In this case, we have to use brutal force to count the number of group by columns.
+      int groupByColumnCount = 0;
       while (true) {
         try {
           resultSet.getGroupKeyColumnName(groupByColumnCount);
           ++groupByColumnCount;
         } catch (final Exception breakSignal) {
-          break;
+          return groupByColumnCount;
         }
       }
     }
+  }
+
+  /**
+   * Constructs a {@link ThirdEyeDataFrameResultSet} from any Pinot's {@link ResultSet}.
+   *
+   * <p>Metric columns are decoded directly into typed series using the column data types of the
+   * response schema. Group keys are always decoded as strings.
+   *
+   * @param resultSet A result set from Pinot.
+   * @return an unified {@link ThirdEyeDataFrameResultSet}.
+   */
+  @VisibleForTesting
+  static ThirdEyeDataFrameResultSet fromPinotResultSet(final ResultSet resultSet) {
+    final int rowCount = resultSet.getRowCount();
+    final DataFrame dataFrame = new DataFrame();
+
+    final int groupByColumnCount = getGroupKeyLength(resultSet);
+    final List<String> groupKeyColumnNames = new ArrayList<>(groupByColumnCount);
+    final List<ColumnType> groupKeyColumnTypes = new ArrayList<>(groupByColumnCount);
     for (int groupKeyColumnIdx = 0; groupKeyColumnIdx < groupByColumnCount; groupKeyColumnIdx++) {
       final String columnName = resultSet.getGroupKeyColumnName(groupKeyColumnIdx);
       groupKeyColumnNames.add(columnName);
       // Default to String type for all groupKeys
       groupKeyColumnTypes.add(new ColumnType(ColumnDataType.STRING));
+      dataFrame.addSeries(columnName, decodeGroupKeys(resultSet, groupKeyColumnIdx, rowCount));
     }
-    final List<String> metricColumnNames = new ArrayList<>();
-    final List<ColumnType> metricColumnTypes = new ArrayList<>();
-    for (int columnIdx = 0; columnIdx < resultSet.getColumnCount(); columnIdx++) {
+
+    final int metricColumnCount = resultSet.getColumnCount();
+    final List<String> metricColumnNames = new ArrayList<>(metricColumnCount);
+    final List<ColumnType> metricColumnTypes = new ArrayList<>(metricColumnCount);
+    for (int columnIdx = 0; columnIdx < metricColumnCount; columnIdx++) {
       final String columnName = resultSet.getColumnName(columnIdx);
+      final ColumnType columnType = getColumnTypeFromPinotResultSet(resultSet, columnIdx);
       metricColumnNames.add(columnName);
-      metricColumnTypes.add(getColumnTypeFromPinotResultSet(resultSet, columnName));
+      metricColumnTypes.add(columnType);
+      dataFrame.addSeries(columnName,
+          decodeColumn(resultSet, columnIdx, columnType.getType(), rowCount));
     }
+
     final ThirdEyeResultSetMetaData thirdEyeResultSetMetaData =
         new ThirdEyeResultSetMetaData(groupKeyColumnNames,
             metricColumnNames,
             groupKeyColumnTypes,
             metricColumnTypes);
+    return new ThirdEyeDataFrameResultSet(thirdEyeResultSetMetaData, dataFrame);
+  }
 
-    // Build the DataFrame - FIXME CYRIL - this is not necessary to build a DataFrame at this point
-    final List<String> columnNameWithDataType = new ArrayList<>();
-    //   Always cast dimension values to STRING type
-    for (final String groupColumnName : thirdEyeResultSetMetaData.getGroupKeyColumnNames()) {
-      columnNameWithDataType.add(groupColumnName + ":STRING");
-    }
-    columnNameWithDataType.addAll(thirdEyeResultSetMetaData.getMetricColumnNames());
-    final DataFrame.Builder dfBuilder = DataFrame.builder(columnNameWithDataType);
-    final int rowCount = resultSet.getRowCount();
-    final int metricColumnCount = resultSet.getColumnCount();
-    final int totalColumnCount = groupByColumnCount + metricColumnCount;
-    // Dump the values in ResultSet to the DataFrame
+  private static Series decodeGroupKeys(final ResultSet resultSet, final int groupKeyColumnIdx,
+      final int rowCount) {
+    final String[] values = new String[rowCount];
     for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
-      final String[] columnsOfTheRow = new String[totalColumnCount];
-      // GroupBy column value(i.e., dimension values)
-      for (int groupByColumnIdx = 0; groupByColumnIdx < groupByColumnCount; groupByColumnIdx++) {
-        String valueString = null;
-        try {
-          valueString = resultSet.getGroupKeyString(rowIdx, groupByColumnIdx);
-        } catch (final Exception e) {
-          // Do nothing and subsequently insert a null value to the current series.
-        }
-        columnsOfTheRow[groupByColumnIdx] = valueString;
+      try {
+        values[rowIdx] = resultSet.getGroupKeyString(rowIdx, groupKeyColumnIdx);
+      } catch (final Exception e) {
+        // Do nothing and subsequently insert a null value to the current series.
       }
-      // Metric column's value
-      for (int metricColumnIdx = 0; metricColumnIdx < metricColumnCount; metricColumnIdx++) {
-        String valueString = null;
-        try {
-          valueString = resultSet.getString(rowIdx, metricColumnIdx);
-        } catch (final Exception e) {
-          // Do nothing and subsequently insert a null value to the current series.
+    }
+    return StringSeries.buildEncodedFrom(values);
+  }
+
+  private static Series decodeColumn(final ResultSet resultSet, final int columnIdx,
+      final ColumnDataType type, final int rowCount) {
+    switch (type) {
+      case INT:
+      case LONG:
+        final long[] longValues = new long[rowCount];
+        for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
+          try {
+            longValues[rowIdx] = resultSet.getLong(rowIdx, columnIdx);
+          } catch (final Exception e) {
+            longValues[rowIdx] = LongSeries.NULL;
+          }
         }
-        columnsOfTheRow[metricColumnIdx + groupByColumnCount] = valueString;
-      }
-      dfBuilder.append(columnsOfTheRow);
+        return LongSeries.buildFrom(longValues);
+      case FLOAT:
+      case DOUBLE:
+        final double[] doubleValues = new double[rowCount];
+        for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
+          try {
+            doubleValues[rowIdx] = resultSet.getDouble(rowIdx, columnIdx);
+          } catch (final Exception e) {
+            doubleValues[rowIdx] = DoubleSeries.NULL;
+          }
+        }
+        return DoubleSeries.buildFrom(doubleValues);
+      default:
+        final String[] stringValues = new String[rowCount];
+        for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
+          try {
+            stringValues[rowIdx] = resultSet.getString(rowIdx, columnIdx);
+          } catch (final Exception e) {
+            // Do nothing and subsequently insert a null value to the current series.
+          }
+        }
+        return StringSeries.buildEncodedFrom(stringValues);
     }
-    final DataFrame dataFrame = dfBuilder.build();
-    // Build ThirdEye's result set
-    return new ThirdEyeDataFrameResultSet(thirdEyeResultSetMetaData, dataFrame);
   }
 
   private static List<Pair<Integer, Integer>> rowColCounts(final ResultSetGroup resultSetGroup) {
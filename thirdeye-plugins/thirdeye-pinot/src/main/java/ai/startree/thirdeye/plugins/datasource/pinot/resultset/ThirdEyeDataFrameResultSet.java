@@ -13,7 +13,9 @@
  */
 package ai.startree.thirdeye.plugins.datasource.pinot.resultset;
 
+import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.Series;
 import ai.startree.thirdeye.spi.detection.v2.ColumnType;
 import com.google.common.base.Preconditions;
 import java.sql.ResultSet;
@@ -70,12 +72,39 @@ public class ThirdEyeDataFrameResultSet extends AbstractThirdEyeResultSet {
     return thirdEyeResultSetMetaData.getMetricColumnTypes().get(columnIdx);
   }
 
+  @Override
+  public Boolean getBoolean(final int rowIdx, final int columnIdx) {
+    final Series series = metricSeries(columnIdx);
+    return series.isNull(rowIdx) ? null : BooleanSeries.booleanValueOf(series.getBoolean(rowIdx));
+  }
+
+  @Override
+  public Integer getInteger(final int rowIdx, final int columnIdx) {
+    final Series series = metricSeries(columnIdx);
+    return series.isNull(rowIdx) ? null : Math.toIntExact(series.getLong(rowIdx));
+  }
+
+  @Override
+  public Long getLong(final int rowIdx, final int columnIdx) {
+    final Series series = metricSeries(columnIdx);
+    return series.isNull(rowIdx) ? null : series.getLong(rowIdx);
+  }
+
+  @Override
+  public Double getDouble(final int rowIdx, final int columnIdx) {
+    final Series series = metricSeries(columnIdx);
+    return series.isNull(rowIdx) ? null : series.getDouble(rowIdx);
+  }
+
   @Override
   public String getString(int rowIdx, int columnIdx) {
+    return metricSeries(columnIdx).getString(rowIdx);
+  }
+
+  private Series metricSeries(final int columnIdx) {
     Preconditions.checkPositionIndexes(0, columnIdx,
         thirdEyeResultSetMetaData.getMetricColumnNames().size() - 1);
-    return dataFrame.get(thirdEyeResultSetMetaData.getMetricColumnNames().get(columnIdx))
-        .getString(rowIdx);
+    return dataFrame.get(thirdEyeResultSetMetaData.getMetricColumnNames().get(columnIdx));
   }
 
   @Override
@@ -15,8 +15,12 @@ package ai.startree.thirdeye.plugins.datasource.pinot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import ai.startree.thirdeye.plugins.datasource.pinot.resultset.ThirdEyeDataFrameResultSet;
+import ai.startree.thirdeye.spi.detection.v2.ColumnType.ColumnDataType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.apache.pinot.client.ResultTableResultSet;
 import org.testng.annotations.Test;
 
 public class PinotQueryExecutorTest {
@@ -56,4 +60,25 @@ public class PinotQueryExecutorTest {
     assertThat(output).isEqualTo(expectedOptionString+BASE_QUERY);
 
   }
+
+  @Test
+  public void testFromPinotResultSetDecodesTypedColumns() throws Exception {
+    final String response = "{\"dataSchema\": {"
+        + "\"columnNames\": [\"ts\", \"value\", \"country\"],"
+        + "\"columnDataTypes\": [\"LONG\", \"DOUBLE\", \"STRING\"]},"
+        + "\"rows\": [[1000, 1.5, \"us\"], [2000, null, \"fr\"], [3000, 3.0, \"us\"]]}";
+    final ResultTableResultSet resultSet = new ResultTableResultSet(
+        new ObjectMapper().readTree(response));
+
+    final ThirdEyeDataFrameResultSet output = PinotQueryExecutor.fromPinotResultSet(resultSet);
+
+    assertThat(output.getRowCount()).isEqualTo(3);
+    assertThat(output.getColumnType(0).getType()).isEqualTo(ColumnDataType.LONG);
+    assertThat(output.getColumnType(1).getType()).isEqualTo(ColumnDataType.DOUBLE);
+    assertThat(output.getColumnType(2).getType()).isEqualTo(ColumnDataType.STRING);
+    assertThat(output.getLong(1, 0)).isEqualTo(2000L);
+    assertThat(output.getDouble(0, 1)).isEqualTo(1.5);
+    assertThat(output.getDouble(1, 1)).isNull();
+    assertThat(output.getString(2, 2)).isEqualTo("us");
+  }
 }
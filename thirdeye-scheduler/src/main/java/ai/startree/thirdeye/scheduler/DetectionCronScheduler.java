@@ -19,19 +19,21 @@ import static ai.startree.thirdeye.spi.util.ExecutorUtils.shutdownExecutionServi
 import static ai.startree.thirdeye.spi.util.TimeUtils.maximumTriggersPerMinute;
 
 import ai.startree.thirdeye.scheduler.job.DetectionPipelineJob;
+import ai.startree.thirdeye.spi.datalayer.AlertSchedule;
 import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
-import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
-import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
 import ai.startree.thirdeye.spi.task.TaskType;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
 import org.quartz.JobBuilder;
@@ -92,23 +94,32 @@ public class DetectionCronScheduler implements Runnable {
   @Override
   public void run() {
     try {
-      alertManager.findAll().forEach(this::processAlert);
-      processScheduledJobs();
+      // index-only read: alerts are not deserialized
+      final List<AlertSchedule> alertSchedules = alertManager.findAllSchedules();
+      if (alertSchedules == null) {
+        // jobs are stopped when their alert is missing: never sync against a failed read
+        LOG.error("Could not read the alert schedules. Skipping this sync.");
+        return;
+      }
+      final Map<Long, AlertSchedule> schedules = alertSchedules.stream()
+          .collect(Collectors.toMap(AlertSchedule::id, Function.identity()));
+      schedules.values().forEach(this::processAlert);
+      processScheduledJobs(schedules);
     } catch (final SchedulerException e) {
       LOG.error("Error while scheduling detection pipeline", e);
     }
   }
 
-  private void processAlert(final AlertDTO alert) {
-    if (!alert.isActive()) {
-      LOG.debug("Alert: " + alert.getId() + " is inactive. Skipping.");
+  private void processAlert(final AlertSchedule alert) {
+    if (!alert.active()) {
+      LOG.debug("Alert: " + alert.id() + " is inactive. Skipping.");
       return;
     }
 
     // add or update
     try {
       // Schedule detection jobs
-      final String jobKeyString = getJobKey(alert.getId(), TaskType.DETECTION);
+      final String jobKeyString = getJobKey(alert.id(), TaskType.DETECTION);
       final JobKey alertJobKey = new JobKey(jobKeyString, QUARTZ_DETECTION_GROUPER);
       final JobDetail detectionJob = JobBuilder.newJob(DetectionPipelineJob.class)
           .withIdentity(alertJobKey)
@@ -124,21 +135,22 @@ public class DetectionCronScheduler implements Runnable {
         startJob(alert, detectionJob);
       }
     } catch (final Exception e) {
-      LOG.error("Error creating/updating job key for detection config {}", alert.getId());
+      LOG.error("Error creating/updating job key for detection config {}", alert.id());
     }
   }
 
-  private void processScheduledJobs() throws SchedulerException {
+  private void processScheduledJobs(final Map<Long, AlertSchedule> schedules)
+      throws SchedulerException {
     final Set<JobKey> scheduledJobs = getScheduledJobs();
     for (final JobKey jobKey : scheduledJobs) {
       try {
         final Long id = getIdFromJobKey(jobKey.getName());
-        final AlertDTO detectionDTO = alertManager.findById(id);
-        if (detectionDTO == null) {
+        final AlertSchedule schedule = schedules.get(id);
+        if (schedule == null) {
           LOG.info("Found a scheduled detection config task, but not found in the database {}",
               id);
           stopJob(jobKey);
-        } else if (!detectionDTO.isActive()) {
+        } else if (!schedule.active()) {
           LOG.info("Found a scheduled detection config task, but has been deactivated {}", id);
           stopJob(jobKey);
         }
@@ -148,7 +160,8 @@ public class DetectionCronScheduler implements Runnable {
     }
   }
 
-  private void restartJob(final AlertDTO config, final JobDetail job) throws SchedulerException {
+  private void restartJob(final AlertSchedule config, final JobDetail job)
+      throws SchedulerException {
     stopJob(job.getKey());
     startJob(config, job);
   }
@@ -162,13 +175,13 @@ public class DetectionCronScheduler implements Runnable {
     scheduler.shutdown();
   }
 
-  public void startJob(final AbstractDTO config, final JobDetail job) throws SchedulerException {
-    final String cron = ((AlertDTO) config).getCron();
+  public void startJob(final AlertSchedule config, final JobDetail job) throws SchedulerException {
+    final String cron = config.cron();
     final int maxTriggersPerMinute = maximumTriggersPerMinute(cron);
     if (maxTriggersPerMinute > DETECTION_SCHEDULER_CRON_MAX_TRIGGERS_PER_MINUTE) {
       LOG.warn(
           "Scheduling a detection job for alert {} that can trigger up to {} times per minute. The limit is {}."
-              + "This will be forbidden and throw an exception in the future. Please update the cron {}", config.getId(),
+              + "This will be forbidden and throw an exception in the future. Please update the cron {}", config.id(),
           maxTriggersPerMinute, DETECTION_SCHEDULER_CRON_MAX_TRIGGERS_PER_MINUTE, cron);
     }
     final CronScheduleBuilder cronScheduleBuilder = CronScheduleBuilder
@@ -196,15 +209,16 @@ public class DetectionCronScheduler implements Runnable {
   }
 
   @SuppressWarnings("unchecked")
-  private boolean isJobUpdated(final AlertDTO config, final JobKey key) throws SchedulerException {
+  private boolean isJobUpdated(final AlertSchedule config, final JobKey key)
+      throws SchedulerException {
     final List<Trigger> triggers = (List<Trigger>) scheduler.getTriggersOfJob(key);
     final CronTrigger cronTrigger = (CronTrigger) triggers.get(0);
     final String cronInSchedule = cronTrigger.getCronExpression();
 
-    if (!config.getCron().equals(cronInSchedule)) {
+    if (!config.cron().equals(cronInSchedule)) {
       LOG.info("Cron expression for detection pipeline {} has been changed from {}  to {}. "
               + "Restarting schedule",
-          config.getId(), cronInSchedule, config.getCron());
+          config.id(), cronInSchedule, config.cron());
       return true;
     }
     return false;
@@ -205,11 +205,13 @@ public class HolidayEventsLoader implements Runnable {
 
   public void mergeWithExistingHolidays(Map<String, List<EventDTO>> holidayNameToHolidayEvent,
       List<EventDTO> existingEvents) {
+    List<EventDTO> eventsToDelete = new ArrayList<>();
+    List<EventDTO> eventsToUpdate = new ArrayList<>();
     for (EventDTO existingEvent : existingEvents) {
       String holidayName = existingEvent.getName();
       if (!holidayNameToHolidayEvent.containsKey(holidayName)) {
         // If a event disappears, delete the event
-        eventManager.delete(existingEvent);
+        eventsToDelete.add(existingEvent);
       } else {
         // If an existing event shows up again, overwrite with new time and country code.
         List<EventDTO> eventList = holidayNameToHolidayEvent.get(holidayName);
@@ -218,7 +220,7 @@ public class HolidayEventsLoader implements Runnable {
         existingEvent.setStartTime(newEvent.getStartTime());
         existingEvent.setEndTime(newEvent.getEndTime());
         existingEvent.setTargetDimensionMap(newEvent.getTargetDimensionMap());
-        eventManager.update(existingEvent);
+        eventsToUpdate.add(existingEvent);
 
         if (eventList.isEmpty()) {
           holidayNameToHolidayEvent.remove(holidayName);
@@ -227,10 +229,20 @@ public class HolidayEventsLoader implements Runnable {
     }
 
     // Add all remaining new events into the database
+    List<EventDTO> eventsToCreate = new ArrayList<>();
     for (List<EventDTO> eventDTOList : holidayNameToHolidayEvent.values()) {
-      for (EventDTO eventDTO : eventDTOList) {
-        eventManager.save(eventDTO);
-      }
+      eventsToCreate.addAll(eventDTOList);
+    }
+
+    // write in batches rather than one transaction per event
+    if (!eventsToDelete.isEmpty()) {
+      eventManager.deleteAll(eventsToDelete);
+    }
+    if (!eventsToUpdate.isEmpty()) {
+      eventManager.update(eventsToUpdate);
+    }
+    if (!eventsToCreate.isEmpty()) {
+      eventManager.saveAll(eventsToCreate);
     }
   }
 
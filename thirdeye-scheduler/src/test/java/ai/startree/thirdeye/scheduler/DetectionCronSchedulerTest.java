@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.scheduler.job.DetectionPipelineJob;
+import ai.startree.thirdeye.spi.datalayer.AlertSchedule;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.task.TaskType;
+import java.util.List;
+import org.quartz.JobBuilder;
+import org.quartz.JobKey;
+import org.testng.annotations.Test;
+
+public class DetectionCronSchedulerTest {
+
+  private static final long ALERT_ID = 1L;
+
+  @Test
+  public void testRunKeepsJobsWhenSchedulesCannotBeRead() throws Exception {
+    final AlertManager alertManager = mock(AlertManager.class);
+    final DetectionCronScheduler detectionCronScheduler = new DetectionCronScheduler(
+        new ThirdEyeSchedulerConfiguration(),
+        alertManager);
+    try {
+      final JobKey jobKey = new JobKey(
+          detectionCronScheduler.getJobKey(ALERT_ID, TaskType.DETECTION),
+          DetectionCronScheduler.QUARTZ_DETECTION_GROUPER);
+      detectionCronScheduler.startJob(new AlertSchedule(ALERT_ID, "0 0 * * * ?", true, null),
+          JobBuilder.newJob(DetectionPipelineJob.class).withIdentity(jobKey).build());
+
+      when(alertManager.findAllSchedules()).thenReturn(null);
+      detectionCronScheduler.run();
+      assertThat(detectionCronScheduler.getScheduledJobs()).containsExactly(jobKey);
+
+      when(alertManager.findAllSchedules()).thenReturn(List.of());
+      detectionCronScheduler.run();
+      assertThat(detectionCronScheduler.getScheduledJobs()).isEmpty();
+    } finally {
+      detectionCronScheduler.shutdown();
+    }
+  }
+}
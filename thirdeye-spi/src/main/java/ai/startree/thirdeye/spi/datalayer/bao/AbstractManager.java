@@ -16,12 +16,27 @@ package ai.startree.thirdeye.spi.datalayer.bao;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface AbstractManager<E extends AbstractDTO> {
 
   Long save(E entity);
 
+  /**
+   * Save all entities. Entities without id are created, the others are updated.
+   *
+   * @param entities entities to save
+   * @return the ids of the entities, in order. null for entities that could not be created.
+   */
+  default List<Long> saveAll(final List<E> entities) {
+    final List<Long> ids = new ArrayList<>(entities.size());
+    for (final E entity : entities) {
+      ids.add(save(entity));
+    }
+    return ids;
+  }
+
   int update(E entity);
 
   int update(List<E> entities);
@@ -46,6 +61,14 @@ public interface AbstractManager<E extends AbstractDTO> {
 
   int deleteByIds(List<Long> ids);
 
+  default int deleteAll(final List<E> entities) {
+    final List<Long> ids = new ArrayList<>(entities.size());
+    for (final E entity : entities) {
+      ids.add(entity.getId());
+    }
+    return deleteByIds(ids);
+  }
+
   int deleteByPredicate(Predicate predicate);
 
   int deleteRecordsOlderThanDays(int days);
@@ -13,12 +13,22 @@
  */
 package ai.startree.thirdeye.spi.datalayer.bao;
 
+import ai.startree.thirdeye.spi.datalayer.AlertSchedule;
 import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface AlertManager extends AbstractManager<AlertDTO> {
 
   List<AlertDTO> findAllActive();
 
   Long countActive();
+
+  /**
+   * Returns the scheduling fields of all alerts. Reads the alert index only: alerts are not
+   * deserialized.
+   *
+   * @return the schedules of all alerts. null if they could not be read.
+   */
+  @Nullable List<AlertSchedule> findAllSchedules();
 }
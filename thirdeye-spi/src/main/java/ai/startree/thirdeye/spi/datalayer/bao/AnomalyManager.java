@@ -15,6 +15,7 @@ package ai.startree.thirdeye.spi.datalayer.bao;
 
 import ai.startree.thirdeye.spi.datalayer.AnomalyFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
 import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
 import java.util.List;
 
@@ -26,6 +27,16 @@ public interface AnomalyManager extends AbstractManager<AnomalyDTO> {
 
   void updateAnomalyFeedback(AnomalyDTO entity);
 
+  /**
+   * Saves new and existing anomalies with their children, and updates the alert, in a single
+   * transaction. Either all writes are committed or none.
+   *
+   * @param anomalies anomalies to save
+   * @param alert alert to update, typically with an advanced lastTimestamp
+   * @return true if the writes were committed
+   */
+  boolean saveAll(List<AnomalyDTO> anomalies, AlertDTO alert);
+
   AnomalyDTO convertMergeAnomalyDTO2Bean(AnomalyDTO entity);
 
   List<AnomalyDTO> decorate(List<AnomalyDTO> anomalyDTOList);
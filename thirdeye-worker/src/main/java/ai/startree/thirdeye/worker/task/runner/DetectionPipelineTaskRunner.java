@@ -159,14 +159,21 @@ public class DetectionPipelineTaskRunner implements TaskRunner {
         detectionInterval.getEndMillis(),
         alert.getLastTimestamp());
 
+    final long previousLastTimestamp = alert.getLastTimestamp();
     alert.setLastTimestamp(newLastTimestamp);
-    // TODO CYRIL: lastTimestamp and updateTime are used by consumers to known when an alert has run
-    //  to improve consistency the anomaly save and the update of the alert should be in a single
-    //  transaction this would also improve failure cases
-    optional(result.getAnomalies())
-        .orElse(Collections.emptyList())
-        .forEach(anomalyManager::save);
-    alertManager.update(alert);
+    // lastTimestamp and updateTime are used by consumers to know when an alert has run: the
+    // anomalies and the alert are saved in a single transaction
+    final boolean saved = anomalyManager.saveAll(
+        optional(result.getAnomalies()).orElse(Collections.emptyList()),
+        alert);
+    if (!saved) {
+      alert.setLastTimestamp(previousLastTimestamp);
+      throw new IllegalStateException(String.format(
+          "Failed to persist detection results for alert id %d between %s and %s",
+          alert.getId(),
+          detectionInterval.getStart(),
+          detectionInterval.getEnd()));
+    }
 
     LOG.info("Completed detection task for id {} between {} and {}. Detected {} anomalies.",
         alert.getId(),